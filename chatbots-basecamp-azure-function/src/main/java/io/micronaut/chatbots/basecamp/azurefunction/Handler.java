@@ -57,7 +57,9 @@ public class Handler extends AzureFunction {
         HttpRequestMessage<Query> request,
         ExecutionContext context) {
         info("Executing Function: " + getClass().getName(), context);
-        return dispatcher.dispatch(null, request.getBody())
+        return dispatcher.dispatchAsync(null, request.getBody())
+            .toCompletableFuture()
+            .join()
             .map(rsp -> request.createResponseBuilder(HttpStatus.OK)
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_HTML)
                 .body(rsp)
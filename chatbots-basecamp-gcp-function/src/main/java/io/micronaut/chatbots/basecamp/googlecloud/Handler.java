@@ -53,7 +53,7 @@ public class Handler extends FunctionInitializer implements HttpFunction {
             LOG.warn("could not serialize request to Query");
             statusCode = HttpStatus.UNPROCESSABLE_ENTITY.getCode();
         } else {
-            Optional<String> htmlOptional = dispatcher.dispatch(null, query);
+            Optional<String> htmlOptional = dispatcher.dispatchAsync(null, query).toCompletableFuture().join();
             if (htmlOptional.isPresent()) {
                 String html = htmlOptional.get();
                 response.setContentType(MediaType.TEXT_HTML);
@@ -27,6 +27,8 @@ import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Post;
 import io.micronaut.http.annotation.Produces;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Defines a route to handle the Basecamp Chatbot webhook.
  * @author Sergio del Amo
@@ -48,13 +50,15 @@ public class BasecampController {
 
     /**
      * @param update Basecamp Message
-     * @return HTTP Response. It could 200 OK with an empty body if the request is handle asynchronously or a 200 with the response payload if the request is handled synchronously.
+     * @return HTTP Response. It could 200 OK with an empty body if the request is handle asynchronously or a 200 with the response payload if the request is handled synchronously. The response completes once the handler completes without blocking the event loop.
      */
     @Produces(MediaType.TEXT_HTML)
     @Post
-    public HttpResponse<String> callback(@Body Query update) {
-        return dispatcher.dispatch(null, update)
-            .map(HttpResponse::ok)
-            .orElseGet(HttpResponse::ok);
+    public CompletableFuture<HttpResponse<String>> callback(@Body Query update) {
+        return dispatcher.dispatchAsync(null, update)
+            .toCompletableFuture()
+            .thenApply(htmlOptional -> htmlOptional
+                .<HttpResponse<String>>map(HttpResponse::ok)
+                .orElseGet(HttpResponse::ok));
     }
 }
@@ -0,0 +1,23 @@
+plugins {
+    id("io.micronaut.build.internal.chatbots-base")
+    id("java")
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmh(projects.micronautChatbotsTelegramCore)
+    jmh(mnSerde.micronaut.serde.jackson)
+    jmhRuntimeOnly(mnLogging.logback.classic)
+}
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(17))
+    }
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    profilers.add("gc")
+    resultFormat.set("JSON")
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.benchmarks;
+
+import io.micronaut.chatbots.core.DefaultDispatcher;
+import io.micronaut.chatbots.core.DispatchContext;
+import io.micronaut.chatbots.core.Handler;
+import io.micronaut.chatbots.core.SlashCommandHandler;
+import io.micronaut.chatbots.core.SlashCommandParser;
+import io.micronaut.chatbots.telegram.api.MessageEntity;
+import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.chatbots.telegram.api.send.Send;
+import io.micronaut.chatbots.telegram.api.send.SendMessage;
+import io.micronaut.chatbots.telegram.core.SendMessageUtils;
+import io.micronaut.chatbots.telegram.core.TelegramBotConfiguration;
+import io.micronaut.chatbots.telegram.core.TelegramSlashCommandParser;
+import io.micronaut.chatbots.telegram.core.TelegramSpaceParser;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Measures {@link DefaultDispatcher#dispatch} of a slash command and of a plain text message.
+ * Handlers are either {@link SlashCommandHandler}s, which the dispatcher indexes by command, or plain {@link Handler}s which check the command in {@link Handler#canHandle}.
+ * The last handler accepts any message.
+ */
+@State(Scope.Benchmark)
+public class DispatcherBenchmark {
+
+    @Param({"1", "50", "500"})
+    int handlers;
+
+    @Param({"command", "generic"})
+    String kind;
+
+    private DefaultDispatcher<TelegramBotConfiguration, Update, Send> dispatcher;
+    private Update command;
+    private Update text;
+
+    @Setup
+    public void setup() throws IOException {
+        TelegramSlashCommandParser slashCommandParser = new TelegramSlashCommandParser();
+        TelegramSpaceParser spaceParser = new TelegramSpaceParser();
+        List<Handler<TelegramBotConfiguration, Update, Send>> list = new ArrayList<>(handlers);
+        for (int i = 1; i < handlers; i++) {
+            String name = commandName(i);
+            list.add("command".equals(kind)
+                ? new BenchmarkCommandHandler(name, slashCommandParser, spaceParser)
+                : new BenchmarkGenericHandler(name, slashCommandParser, spaceParser));
+        }
+        list.add(new CatchAllHandler(spaceParser));
+        dispatcher = new DefaultDispatcher<>(list);
+        try (ApplicationContext applicationContext = ApplicationContext.run()) {
+            JsonMapper jsonMapper = applicationContext.getBean(JsonMapper.class);
+            command = jsonMapper.readValue(Payloads.load("command"), Update.class);
+            text = jsonMapper.readValue(Payloads.load("text"), Update.class);
+        }
+        String commandText = handlers > 1 ? commandName(handlers - 1) : "/about";
+        setCommand(command, commandText);
+        String expected = handlers > 1 ? commandText : CatchAllHandler.TEXT;
+        Optional<Send> output = dispatcher.dispatch(null, command);
+        if (!(output.orElse(null) instanceof SendMessage sendMessage) || !expected.equals(sendMessage.getText())) {
+            throw new IllegalStateException("Dispatching " + commandText + " replied " + output + " instead of " + expected);
+        }
+    }
+
+    /**
+     * Replaces the text of the message and its bot_command entity, which {@link TelegramSlashCommandParser} locates the command with.
+     */
+    private static void setCommand(Update update, String commandText) {
+        update.getMessage().setText(commandText);
+        MessageEntity entity = update.getMessage().getEntities().get(0);
+        entity.setOffset(0);
+        entity.setLength(commandText.length());
+    }
+
+    /**
+     * Commands are zero padded so that no command is a prefix of another one.
+     */
+    private static String commandName(int i) {
+        return String.format("/command%03d", i);
+    }
+
+    @Benchmark
+    public Optional<Send> dispatchCommand() {
+        return dispatcher.dispatch(null, command);
+    }
+
+    @Benchmark
+    public Optional<Send> dispatchText() {
+        return dispatcher.dispatch(null, text);
+    }
+
+    /**
+     * Handler indexed by the dispatcher.
+     */
+    static final class BenchmarkCommandHandler implements SlashCommandHandler<TelegramBotConfiguration, Update, Send> {
+        private final String command;
+        private final SlashCommandParser<Update> slashCommandParser;
+        private final TelegramSpaceParser spaceParser;
+
+        BenchmarkCommandHandler(String command, SlashCommandParser<Update> slashCommandParser, TelegramSpaceParser spaceParser) {
+            this.command = command;
+            this.slashCommandParser = slashCommandParser;
+            this.spaceParser = spaceParser;
+        }
+
+        @Override
+        public String getCommand() {
+            return command;
+        }
+
+        @Override
+        public SlashCommandParser<Update> getSlashCommandParser() {
+            return slashCommandParser;
+        }
+
+        @Override
+        public boolean canHandle(TelegramBotConfiguration bot, Update input) {
+            return canHandle(DispatchContext.of(bot, input));
+        }
+
+        @Override
+        public boolean canHandle(DispatchContext<TelegramBotConfiguration, Update> context) {
+            return context.getSlashCommand(slashCommandParser).filter(slashCommand -> slashCommand.startsWith(command)).isPresent();
+        }
+
+        @Override
+        public Optional<Send> handle(TelegramBotConfiguration bot, Update input) {
+            return handle(DispatchContext.of(bot, input));
+        }
+
+        @Override
+        public Optional<Send> handle(DispatchContext<TelegramBotConfiguration, Update> context) {
+            return SendMessageUtils.compose(context, spaceParser, command, null).map(Send.class::cast);
+        }
+    }
+
+    /**
+     * Handler which parses the command itself, as handlers written before the dispatcher indexed commands.
+     */
+    static final class BenchmarkGenericHandler implements Handler<TelegramBotConfiguration, Update, Send> {
+        private final String command;
+        private final SlashCommandParser<Update> slashCommandParser;
+        private final TelegramSpaceParser spaceParser;
+
+        BenchmarkGenericHandler(String command, SlashCommandParser<Update> slashCommandParser, TelegramSpaceParser spaceParser) {
+            this.command = command;
+            this.slashCommandParser = slashCommandParser;
+            this.spaceParser = spaceParser;
+        }
+
+        @Override
+        public boolean canHandle(TelegramBotConfiguration bot, Update input) {
+            return slashCommandParser.parse(input).filter(slashCommand -> slashCommand.startsWith(command)).isPresent();
+        }
+
+        @Override
+        public Optional<Send> handle(TelegramBotConfiguration bot, Update input) {
+            return SendMessageUtils.compose(spaceParser, input, command).map(Send.class::cast);
+        }
+    }
+
+    /**
+     * Handler which accepts any message.
+     */
+    static final class CatchAllHandler implements Handler<TelegramBotConfiguration, Update, Send> {
+        static final String TEXT = "I don't know how to handle your query";
+
+        private final TelegramSpaceParser spaceParser;
+
+        CatchAllHandler(TelegramSpaceParser spaceParser) {
+            this.spaceParser = spaceParser;
+        }
+
+        @Override
+        public boolean canHandle(TelegramBotConfiguration bot, Update input) {
+            return true;
+        }
+
+        @Override
+        public Optional<Send> handle(TelegramBotConfiguration bot, Update input) {
+            return SendMessageUtils.compose(spaceParser, input, TEXT).map(Send.class::cast);
+        }
+    }
+}
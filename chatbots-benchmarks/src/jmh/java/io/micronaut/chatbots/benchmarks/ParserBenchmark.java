@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.benchmarks;
+
+import io.micronaut.chatbots.telegram.api.Chat;
+import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.chatbots.telegram.core.TelegramSlashCommandParser;
+import io.micronaut.chatbots.telegram.core.TelegramSpaceParser;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Measures {@link TelegramSlashCommandParser} and {@link TelegramSpaceParser}.
+ */
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+
+    @Param({"text", "command", "channel_post"})
+    String payload;
+
+    private final TelegramSlashCommandParser slashCommandParser = new TelegramSlashCommandParser();
+    private final TelegramSpaceParser spaceParser = new TelegramSpaceParser();
+    private Update update;
+
+    @Setup
+    public void setup() throws IOException {
+        try (ApplicationContext applicationContext = ApplicationContext.run()) {
+            update = applicationContext.getBean(JsonMapper.class).readValue(Payloads.load(payload), Update.class);
+        }
+    }
+
+    @Benchmark
+    public Optional<String> slashCommand() {
+        return slashCommandParser.parse(update);
+    }
+
+    @Benchmark
+    public Optional<Chat> space() {
+        return spaceParser.parse(update);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Loads the Telegram webhook payloads of the benchmark corpus.
+ */
+final class Payloads {
+
+    private Payloads() {
+    }
+
+    /**
+     *
+     * @param name Payload name. E.g. text
+     * @return The bytes of {@code updates/<name>.json}
+     */
+    static byte[] load(String name) {
+        try (InputStream inputStream = Payloads.class.getResourceAsStream("/updates/" + name + ".json")) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("No payload named " + name);
+            }
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.benchmarks;
+
+import io.micronaut.chatbots.telegram.api.Chat;
+import io.micronaut.chatbots.telegram.api.send.ParseMode;
+import io.micronaut.chatbots.telegram.api.send.SendMessage;
+import io.micronaut.chatbots.telegram.core.SendMessageUtils;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+
+/**
+ * Measures the serialization of the {@link SendMessage} returned to Telegram in the webhook response.
+ */
+@State(Scope.Benchmark)
+public class SendMessageSerializationBenchmark {
+
+    private ApplicationContext applicationContext;
+    private JsonMapper jsonMapper;
+    private SendMessage sendMessage;
+
+    @Setup
+    public void setup() {
+        applicationContext = ApplicationContext.run();
+        jsonMapper = applicationContext.getBean(JsonMapper.class);
+        Chat chat = new Chat();
+        chat.setId(613021175L);
+        sendMessage = SendMessageUtils.compose(chat,
+            "Bot developed with 💙 using [Micronaut](https://micronaut.io)",
+            ParseMode.MARKDOWN);
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return jsonMapper.writeValueAsBytes(sendMessage);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.benchmarks;
+
+import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+
+/**
+ * Measures the deserialization of Telegram webhook payloads into {@link Update} with Micronaut Serialization.
+ */
+@State(Scope.Benchmark)
+public class UpdateDeserializationBenchmark {
+
+    @Param({"text", "command", "photo", "callback_query", "channel_post"})
+    String payload;
+
+    private ApplicationContext applicationContext;
+    private JsonMapper jsonMapper;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        applicationContext = ApplicationContext.run();
+        jsonMapper = applicationContext.getBean(JsonMapper.class);
+        bytes = Payloads.load(payload);
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Update deserialize() throws IOException {
+        return jsonMapper.readValue(bytes, Update.class);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A {@link Handler} which handles requests without blocking the calling thread. E.g. a handler which queries a database or calls a remote service.
+ * The synchronous {@link #handle} methods wait for {@link #handleAsync} to complete. Thus, they should only be used where blocking is acceptable.
+ * @param <B> The Bot configuration
+ * @param <I> input type.
+ * @param <O> output type.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public interface AsyncHandler<B extends BotConfiguration, I, O> extends Handler<B, I, O> {
+
+    @Override
+    @NonNull
+    CompletionStage<Optional<O>> handleAsync(@NonNull @NotNull DispatchContext<B, I> context);
+
+    @Override
+    @NonNull
+    default Optional<O> handle(@Nullable B bot,
+                               @NonNull @NotNull I input) {
+        return handle(DispatchContext.of(bot, input));
+    }
+
+    @Override
+    @NonNull
+    default Optional<O> handle(@NonNull @NotNull DispatchContext<B, I> context) {
+        return handleAsync(context).toCompletableFuture().join();
+    }
+}
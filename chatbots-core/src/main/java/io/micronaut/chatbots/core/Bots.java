@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a {@link Handler} bean, or a method annotated with {@link OnCommand}, to the bots with the supplied names.
+ * The names are matched against {@link BotConfiguration#getName()}. E.g. the name of a Telegram bot configured under {@code micronaut.chatbots.telegram.bots.<name>}.
+ * Handlers without this annotation handle requests for every bot.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Bots {
+
+    /**
+     *
+     * @return Names of the bots the handler serves.
+     */
+    String[] value();
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+/**
+ * Statistics of a bounded cache, such as the cache of static command resources.
+ * @param hitCount Number of lookups answered by the cache. For static command resources, it includes lookups of resources known not to exist
+ * @param missCount Number of lookups which loaded the value. E.g. by reading the classpath
+ * @param evictionCount Number of entries evicted because the cache was full or because the entry expired
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public record CacheStatistics(long hitCount, long missCount, long evictionCount) {
+}
@@ -19,6 +19,7 @@ import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.Toggleable;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -38,9 +39,51 @@ public interface ChatbotsConfiguration extends Toggleable {
     List<FileExtension> getPossibleStaticCommandExtensions();
 
     /**
-     * @return The resources' folder where static commands should be searched for.
+     * @return The resources' folder where static commands should be searched for. A folder prefixed with {@code file:} is a file system folder.
      */
     @NonNull
     String getFolder();
 
+    /**
+     * @return Maximum time a webhook waits for the handler's output. Once elapsed, the webhook is acknowledged without a response and the output is handed to {@link LateDelivery}. Null if the webhook waits for the handler to complete.
+     * @since 1.3.0
+     */
+    @Nullable
+    default Duration getDeadline() {
+        return null;
+    }
+
+    /**
+     * @return Whether the handlers which are candidates to handle a request are asked concurrently whether they can handle it. The first handler in order which can handle the request still wins.
+     * @since 1.3.0
+     */
+    default boolean isParallelCanHandle() {
+        return false;
+    }
+
+    /**
+     * @return Maximum number of static command resources kept in memory.
+     * @since 1.3.0
+     */
+    default int getCacheMaximumSize() {
+        return ChatbotsConfigurationProperties.DEFAULT_CACHE_MAXIMUM_SIZE;
+    }
+
+    /**
+     * @return Maximum number of static command resources known not to exist kept in memory.
+     * @since 1.3.0
+     */
+    default int getNotFoundCacheMaximumSize() {
+        return ChatbotsConfigurationProperties.DEFAULT_NOT_FOUND_CACHE_MAXIMUM_SIZE;
+    }
+
+    /**
+     * @return How long a static command resource is known not to exist before the classpath is read again.
+     * @since 1.3.0
+     */
+    @NonNull
+    default Duration getNotFoundCacheTtl() {
+        return ChatbotsConfigurationProperties.DEFAULT_NOT_FOUND_CACHE_TTL;
+    }
+
 }
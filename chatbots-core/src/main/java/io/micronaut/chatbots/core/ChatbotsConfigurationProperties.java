@@ -20,7 +20,9 @@ import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.StringUtils;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -43,6 +45,30 @@ public class ChatbotsConfigurationProperties implements ChatbotsConfiguration {
     @SuppressWarnings("WeakerAccess")
     public static final boolean DEFAULT_ENABLED = true;
 
+    /**
+     * The default parallel can handle value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_PARALLEL_CAN_HANDLE = false;
+
+    /**
+     * The default maximum number of static command resources kept in memory.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_CACHE_MAXIMUM_SIZE = 500;
+
+    /**
+     * The default maximum number of static command resources known not to exist kept in memory.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_NOT_FOUND_CACHE_MAXIMUM_SIZE = 100;
+
+    /**
+     * The default duration a static command resource is known not to exist.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final Duration DEFAULT_NOT_FOUND_CACHE_TTL = Duration.ofMinutes(1);
+
     private boolean enabled = DEFAULT_ENABLED;
 
     @NonNull
@@ -52,6 +78,18 @@ public class ChatbotsConfigurationProperties implements ChatbotsConfiguration {
     @Nullable
     private List<FileExtension> possibleStaticCommandExtensions = Arrays.asList(FileExtension.values());
 
+    @Nullable
+    private Duration deadline;
+
+    private boolean parallelCanHandle = DEFAULT_PARALLEL_CAN_HANDLE;
+
+    private int cacheMaximumSize = DEFAULT_CACHE_MAXIMUM_SIZE;
+
+    private int notFoundCacheMaximumSize = DEFAULT_NOT_FOUND_CACHE_MAXIMUM_SIZE;
+
+    @NonNull
+    private Duration notFoundCacheTtl = DEFAULT_NOT_FOUND_CACHE_TTL;
+
     @Override
     public boolean isEnabled() {
         return this.enabled;
@@ -73,7 +111,7 @@ public class ChatbotsConfigurationProperties implements ChatbotsConfiguration {
     }
 
     /**
-     * The folder to look for bot commands.
+     * The folder to look for bot commands. Prefix it with `file:` to read the commands from the file system and reload them when they change. Default value ({@value #DEFAULT_FOLDER}).
      *
      * @param folder The folder
      */
@@ -97,4 +135,81 @@ public class ChatbotsConfigurationProperties implements ChatbotsConfiguration {
     public void setPossibleStaticCommandExtensions(@Nullable List<FileExtension> possibleStaticCommandExtensions) {
         this.possibleStaticCommandExtensions = possibleStaticCommandExtensions;
     }
+
+    @Override
+    @Nullable
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Maximum time a webhook waits for the handler's output. Once elapsed, the webhook is acknowledged without a response and the output is handed to {@link LateDelivery}. Default value null, the webhook waits for the handler to complete.
+     *
+     * @param deadline Maximum time a webhook waits for the handler's output
+     * @since 1.3.0
+     */
+    public void setDeadline(@Nullable Duration deadline) {
+        this.deadline = deadline;
+    }
+
+    @Override
+    public boolean isParallelCanHandle() {
+        return parallelCanHandle;
+    }
+
+    /**
+     * Whether the handlers which are candidates to handle a request are asked concurrently, in the blocking executor, whether they can handle it. The first handler in order which can handle the request still wins. Default value ({@value #DEFAULT_PARALLEL_CAN_HANDLE}).
+     *
+     * @param parallelCanHandle Whether to evaluate canHandle concurrently
+     * @since 1.3.0
+     */
+    public void setParallelCanHandle(boolean parallelCanHandle) {
+        this.parallelCanHandle = parallelCanHandle;
+    }
+
+    @Override
+    public int getCacheMaximumSize() {
+        return cacheMaximumSize;
+    }
+
+    /**
+     * Maximum number of static command resources kept in memory. Default value ({@value #DEFAULT_CACHE_MAXIMUM_SIZE}).
+     *
+     * @param cacheMaximumSize Maximum number of static command resources kept in memory
+     * @since 1.3.0
+     */
+    public void setCacheMaximumSize(@Positive int cacheMaximumSize) {
+        this.cacheMaximumSize = cacheMaximumSize;
+    }
+
+    @Override
+    public int getNotFoundCacheMaximumSize() {
+        return notFoundCacheMaximumSize;
+    }
+
+    /**
+     * Maximum number of static command resources known not to exist kept in memory. Default value ({@value #DEFAULT_NOT_FOUND_CACHE_MAXIMUM_SIZE}).
+     *
+     * @param notFoundCacheMaximumSize Maximum number of static command resources known not to exist kept in memory
+     * @since 1.3.0
+     */
+    public void setNotFoundCacheMaximumSize(@Positive int notFoundCacheMaximumSize) {
+        this.notFoundCacheMaximumSize = notFoundCacheMaximumSize;
+    }
+
+    @Override
+    @NonNull
+    public Duration getNotFoundCacheTtl() {
+        return notFoundCacheTtl;
+    }
+
+    /**
+     * How long a static command resource is known not to exist before the classpath is read again. Default value 1 minute.
+     *
+     * @param notFoundCacheTtl How long a static command resource is known not to exist
+     * @since 1.3.0
+     */
+    public void setNotFoundCacheTtl(@NonNull Duration notFoundCacheTtl) {
+        this.notFoundCacheTtl = notFoundCacheTtl;
+    }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.function.Consumer;
+
+/**
+ * Watches a file system folder of command resources with a {@link WatchService} in a daemon thread.
+ * It reports the name of every file created, modified or deleted in the folder. If events were lost, it reports that every file may have changed.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Internal
+final class CommandFolderWatcher implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommandFolderWatcher.class);
+    private static final String THREAD_NAME = "chatbots-command-folder-watcher";
+
+    private final Path folder;
+    private final WatchService watchService;
+    private final Consumer<String> onChange;
+    private final Runnable onOverflow;
+
+    private CommandFolderWatcher(@NonNull Path folder,
+                                 @NonNull WatchService watchService,
+                                 @NonNull Consumer<String> onChange,
+                                 @NonNull Runnable onOverflow) {
+        this.folder = folder;
+        this.watchService = watchService;
+        this.onChange = onChange;
+        this.onOverflow = onOverflow;
+    }
+
+    /**
+     *
+     * @param folder Folder to watch
+     * @param onChange Invoked with the name of a file which changed
+     * @param onOverflow Invoked if events were lost
+     * @return A running watcher
+     * @throws IOException If the folder cannot be watched
+     */
+    @NonNull
+    static CommandFolderWatcher watch(@NonNull Path folder,
+                                      @NonNull Consumer<String> onChange,
+                                      @NonNull Runnable onOverflow) throws IOException {
+        WatchService watchService = folder.getFileSystem().newWatchService();
+        try {
+            folder.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException | RuntimeException e) {
+            watchService.close();
+            throw e;
+        }
+        CommandFolderWatcher watcher = new CommandFolderWatcher(folder, watchService, onChange, onOverflow);
+        Thread thread = new Thread(watcher::run, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+        return watcher;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void run() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+            for (WatchEvent<?> event : key.pollEvents()) {
+                try {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        onOverflow.run();
+                    } else if (event.context() instanceof Path file) {
+                        onChange.accept(file.toString());
+                    }
+                } catch (RuntimeException e) {
+                    LOG.warn("Error reloading command resources of folder {}", folder, e);
+                }
+            }
+            if (!key.reset()) {
+                LOG.warn("Command resources folder {} is no longer accessible and will not be watched", folder);
+                return;
+            }
+        }
+    }
+}
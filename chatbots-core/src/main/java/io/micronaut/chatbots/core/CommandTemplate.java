@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.beans.BeanWrapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * A command resource compiled into literal segments and placeholders. E.g. {@code Hi {firstName}, you have {tasks} tasks}.
+ * A placeholder is an identifier enclosed in braces. Two consecutive opening braces render a single opening brace, so a placeholder can be written literally.
+ * Any other brace is part of the literal text.
+ * Templates are immutable and are meant to be compiled once and rendered many times.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public final class CommandTemplate {
+
+    private static final char OPEN = '{';
+    private static final char CLOSE = '}';
+    private static final int PLACEHOLDER_CAPACITY = 16;
+
+    /**
+     * Literal segments. The literal at index i precedes the placeholder at index i, the last literal follows the last placeholder.
+     */
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int capacity;
+
+    private CommandTemplate(String[] literals, String[] placeholders) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int length = placeholders.length * PLACEHOLDER_CAPACITY;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.capacity = length;
+    }
+
+    /**
+     *
+     * @param text Template text
+     * @return The compiled template
+     */
+    @NonNull
+    public static CommandTemplate compile(@NonNull String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int literalStart = 0;
+        int i = 0;
+        while (i < text.length()) {
+            if (text.charAt(i) != OPEN) {
+                i++;
+            } else if (i + 1 < text.length() && text.charAt(i + 1) == OPEN) {
+                literal.append(text, literalStart, i + 1);
+                i += 2;
+                literalStart = i;
+            } else {
+                int end = placeholderEnd(text, i + 1);
+                if (end == -1) {
+                    i++;
+                } else {
+                    literals.add(literal(literal, text, literalStart, i));
+                    placeholders.add(text.substring(i + 1, end));
+                    i = end + 1;
+                    literalStart = i;
+                }
+            }
+        }
+        literals.add(literal(literal, text, literalStart, text.length()));
+        return new CommandTemplate(literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    /**
+     *
+     * @return The names of the placeholders in order of appearance.
+     */
+    @NonNull
+    public List<String> getPlaceholders() {
+        return Collections.unmodifiableList(Arrays.asList(placeholders));
+    }
+
+    /**
+     * Renders the template. Placeholders without a value render as an empty string.
+     * @param model A {@link Map} keyed by placeholder name or a bean annotated with {@link io.micronaut.core.annotation.Introspected} whose properties are named after the placeholders.
+     * @return The rendered text
+     */
+    @NonNull
+    public String render(@NonNull Object model) {
+        return render(model, UnaryOperator.identity());
+    }
+
+    /**
+     * Renders the template. Placeholders without a value render as an empty string.
+     * @param model A {@link Map} keyed by placeholder name or a bean annotated with {@link io.micronaut.core.annotation.Introspected} whose properties are named after the placeholders.
+     * @param escaper Escapes the values of the placeholders, e.g. for the markup the rendered text is sent with. Literals are not escaped.
+     * @return The rendered text
+     */
+    @NonNull
+    public String render(@NonNull Object model, @NonNull UnaryOperator<String> escaper) {
+        if (placeholders.length == 0) {
+            return literals[0];
+        }
+        if (model instanceof Map<?, ?> map) {
+            return render(map::get, escaper);
+        }
+        BeanWrapper<Object> wrapper = BeanWrapper.getWrapper(model);
+        return render(name -> wrapper.getProperty(name, Object.class).orElse(null), escaper);
+    }
+
+    /**
+     * Renders the template. Placeholders without a value render as an empty string.
+     * @param values Resolves the value of a placeholder by name.
+     * @return The rendered text
+     */
+    @NonNull
+    public String render(@NonNull Function<String, ?> values) {
+        return render(values, UnaryOperator.identity());
+    }
+
+    /**
+     * Renders the template. Placeholders without a value render as an empty string.
+     * @param values Resolves the value of a placeholder by name.
+     * @param escaper Escapes the values of the placeholders, e.g. for the markup the rendered text is sent with. Literals are not escaped.
+     * @return The rendered text
+     */
+    @NonNull
+    public String render(@NonNull Function<String, ?> values, @NonNull UnaryOperator<String> escaper) {
+        if (placeholders.length == 0) {
+            return literals[0];
+        }
+        StringBuilder sb = new StringBuilder(capacity);
+        for (int i = 0; i < placeholders.length; i++) {
+            sb.append(literals[i]);
+            Object value = values.apply(placeholders[i]);
+            if (value != null) {
+                sb.append(escaper.apply(value.toString()));
+            }
+        }
+        return sb.append(literals[placeholders.length]).toString();
+    }
+
+    /**
+     *
+     * @param literal Escaped part of the literal read so far
+     * @param text Template text
+     * @param start Start index of the rest of the literal
+     * @param end End index of the literal
+     * @return The literal. The supplied builder is cleared.
+     */
+    @NonNull
+    private static String literal(@NonNull StringBuilder literal, @NonNull String text, int start, int end) {
+        if (literal.isEmpty()) {
+            return text.substring(start, end);
+        }
+        String result = literal.append(text, start, end).toString();
+        literal.setLength(0);
+        return result;
+    }
+
+    /**
+     *
+     * @param text Template text
+     * @param start Index after an opening brace
+     * @return The index of the closing brace of a placeholder starting at the supplied index or -1 if there is no placeholder.
+     */
+    private static int placeholderEnd(@NonNull String text, int start) {
+        if (start >= text.length() || !isIdentifierStart(text.charAt(start))) {
+            return -1;
+        }
+        for (int i = start + 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == CLOSE) {
+                return i;
+            }
+            if (!isIdentifierPart(c)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return isIdentifierStart(c) || (c >= '0' && c <= '9');
+    }
+}
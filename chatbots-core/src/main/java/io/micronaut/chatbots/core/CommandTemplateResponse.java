@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * A command resource compiled into a {@link CommandTemplate}.
+ * @param extension File extension of the resource
+ * @param template Compiled template
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public record CommandTemplateResponse(@NonNull FileExtension extension, @NonNull CommandTemplate template) {
+
+    /**
+     *
+     * @param model A {@link java.util.Map} keyed by placeholder name or an introspected bean.
+     * @return The command response rendered with the supplied model.
+     */
+    @NonNull
+    public CommandResponse render(@NonNull Object model) {
+        return new CommandResponse(extension, template.render(model));
+    }
+
+    /**
+     *
+     * @param model A {@link java.util.Map} keyed by placeholder name or an introspected bean.
+     * @param escaper Escapes the values of the placeholders for the markup of the extension.
+     * @return The command response rendered with the supplied model.
+     */
+    @NonNull
+    public CommandResponse render(@NonNull Object model, @NonNull UnaryOperator<String> escaper) {
+        return new CommandResponse(extension, template.render(model, escaper));
+    }
+}
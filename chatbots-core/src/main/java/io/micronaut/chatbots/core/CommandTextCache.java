@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of static command resources keyed by path.
+ * Resources found are kept in a cache whose size is bounded. Once full, a resource is only admitted if it is accessed more frequently than the least recently used entry, which is evicted. Thus, a burst of one-off lookups does not flush popular commands.
+ * Resources known not to exist are kept in a separate, smaller cache and expire. Thus, random commands sent by users don't grow the memory and don't flush resources found.
+ * Every change increments the generation of the resource's path. A resource read while a change of its path is notified is not kept, because it may have been read before the change. Generations are striped by the hash of the path, so they don't grow the memory.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Internal
+final class CommandTextCache {
+
+    /**
+     * Number of generation counters. A power of two.
+     */
+    private static final int GENERATION_STRIPES = 64;
+
+    private final ConcurrentLinkedHashMap<String, String> found;
+    private final ConcurrentLinkedHashMap<String, Long> notFound;
+    private final FrequencySketch sketch;
+    private final long notFoundTtlNanos;
+    private final LongSupplier nanoTime;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    /**
+     *
+     * @param maximumSize Maximum number of resources found kept
+     * @param notFoundMaximumSize Maximum number of resources known not to exist kept
+     * @param notFoundTtl How long a resource is known not to exist
+     * @param nanoTime Time source
+     */
+    CommandTextCache(int maximumSize,
+                     int notFoundMaximumSize,
+                     @NonNull Duration notFoundTtl,
+                     @NonNull LongSupplier nanoTime) {
+        this.found = new ConcurrentLinkedHashMap.Builder<String, String>()
+            .maximumWeightedCapacity(maximumSize)
+            .listener((key, value) -> evictions.increment())
+            .build();
+        this.notFound = new ConcurrentLinkedHashMap.Builder<String, Long>()
+            .maximumWeightedCapacity(notFoundMaximumSize)
+            .listener((key, value) -> evictions.increment())
+            .build();
+        this.sketch = new FrequencySketch(maximumSize);
+        this.notFoundTtlNanos = notFoundTtl.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     *
+     * @param path Resource path
+     * @param loader Reads the resource if it is not cached
+     * @return The text of the resource or an empty optional if it does not exist
+     */
+    @NonNull
+    Optional<String> get(@NonNull String path, @NonNull Function<String, Optional<String>> loader) {
+        sketch.increment(path);
+        String text = found.get(path);
+        if (text != null) {
+            hits.increment();
+            return Optional.of(text);
+        }
+        Long expiration = notFound.get(path);
+        if (expiration != null) {
+            if (nanoTime.getAsLong() - expiration < 0) {
+                hits.increment();
+                return Optional.empty();
+            }
+            if (notFound.remove(path, expiration)) {
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        int stripe = stripe(path);
+        long loadGeneration = generations.get(stripe);
+        Optional<String> result = loader.apply(path);
+        if (result.isPresent()) {
+            String loaded = result.get();
+            if (admit(path)) {
+                found.put(path, loaded);
+                if (generations.get(stripe) != loadGeneration) {
+                    found.remove(path, loaded);
+                }
+            }
+        } else if (notFoundTtlNanos > 0) {
+            Long loadedExpiration = nanoTime.getAsLong() + notFoundTtlNanos;
+            notFound.put(path, loadedExpiration);
+            if (generations.get(stripe) != loadGeneration) {
+                notFound.remove(path, loadedExpiration);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reloads a resource which changed. Only a resource which is cached, either found or known not to exist, is reloaded. Thus, changes never grow the cache.
+     * A resource which is not cached may be being read by {@link #get}. The change increments the generation of the path first, so that such a read is not kept.
+     * @param path Resource path
+     * @param loader Reads the resource
+     */
+    void refresh(@NonNull String path, @NonNull Function<String, Optional<String>> loader) {
+        generations.incrementAndGet(stripe(path));
+        if (!found.containsKey(path) && !notFound.containsKey(path)) {
+            return;
+        }
+        Optional<String> result = loader.apply(path);
+        if (result.isPresent()) {
+            notFound.remove(path);
+            found.put(path, result.get());
+        } else {
+            found.remove(path);
+            if (notFoundTtlNanos > 0) {
+                notFound.put(path, nanoTime.getAsLong() + notFoundTtlNanos);
+            }
+        }
+    }
+
+    /**
+     * Discards every cached resource.
+     */
+    void invalidateAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        found.clear();
+        notFound.clear();
+    }
+
+    /**
+     *
+     * @return Statistics of the cache
+     */
+    @NonNull
+    CacheStatistics getStatistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private static int stripe(@NonNull String path) {
+        int hash = path.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    /**
+     *
+     * @param path Resource path
+     * @return Whether the resource is kept. If the cache is full, only if it is accessed more frequently than the entry which would be evicted.
+     */
+    private boolean admit(@NonNull String path) {
+        if (found.size() < found.capacity()) {
+            return true;
+        }
+        Iterator<String> victims = found.ascendingKeySetWithLimit(1).iterator();
+        return !victims.hasNext() || sketch.frequency(path) > sketch.frequency(victims.next());
+    }
+}
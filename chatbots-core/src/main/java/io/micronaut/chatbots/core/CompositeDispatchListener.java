@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * {@link DispatchListener} which notifies several listeners in order.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Internal
+final class CompositeDispatchListener implements DispatchListener {
+
+    private final DispatchListener[] listeners;
+
+    private CompositeDispatchListener(DispatchListener[] listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     *
+     * @param listeners Listeners
+     * @return null if there are no listeners, the listener if there is only one, or a composite listener otherwise.
+     */
+    @Nullable
+    static DispatchListener of(@NonNull List<DispatchListener> listeners) {
+        if (listeners.isEmpty()) {
+            return null;
+        }
+        if (listeners.size() == 1) {
+            return listeners.get(0);
+        }
+        return new CompositeDispatchListener(listeners.toArray(new DispatchListener[0]));
+    }
+
+    @Override
+    public void onCanHandle(@NonNull DispatchContext<?, ?> context,
+                            @NonNull Handler<?, ?, ?> handler,
+                            boolean result,
+                            long nanos) {
+        for (DispatchListener listener : listeners) {
+            listener.onCanHandle(context, handler, result, nanos);
+        }
+    }
+
+    @Override
+    public void onHandle(@NonNull DispatchContext<?, ?> context,
+                         @NonNull Handler<?, ?, ?> handler,
+                         long nanos,
+                         @Nullable Throwable error) {
+        for (DispatchListener listener : listeners) {
+            listener.onHandle(context, handler, nanos, error);
+        }
+    }
+
+    @Override
+    public void onDispatch(@NonNull DispatchContext<?, ?> context,
+                           @Nullable Handler<?, ?, ?> handler,
+                           int canHandleCalls) {
+        for (DispatchListener listener : listeners) {
+            listener.onDispatch(context, handler, canHandleCalls);
+        }
+    }
+}
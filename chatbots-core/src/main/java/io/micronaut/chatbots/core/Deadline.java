@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the time a request waits for a handler's output. The handler runs on an executor, thus a slow synchronous handler does not hold the calling thread. If the handler has not completed once the deadline elapses, the request completes with an empty output and the handler's eventual output is handed to {@link LateDelivery}.
+ * @param <B> The Bot configuration
+ * @param <I> input type.
+ * @param <O> output type.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+final class Deadline<B extends BotConfiguration, I, O> {
+    private final long timeoutNanos;
+    private final LateDelivery<B, I, O> lateDelivery;
+    private final Executor executor;
+
+    /**
+     *
+     * @param timeout Maximum time to wait for the handler's output
+     * @param lateDelivery Receives the output of handlers which complete after the deadline
+     * @param executor Executor where handlers run
+     */
+    Deadline(@NonNull Duration timeout,
+             @NonNull LateDelivery<B, I, O> lateDelivery,
+             @NonNull Executor executor) {
+        this.timeoutNanos = timeout.toNanos();
+        this.lateDelivery = lateDelivery;
+        this.executor = executor;
+    }
+
+    /**
+     *
+     * @param context dispatch context
+     * @param handling Invokes the handler
+     * @return a {@link DeadlineFuture} which completes with the handler's output or with an empty output once the deadline elapses. It settles once the handler completes.
+     */
+    @NonNull
+    CompletionStage<Optional<O>> apply(@NonNull DispatchContext<B, I> context,
+                                       @NonNull Supplier<CompletionStage<Optional<O>>> handling) {
+        DeadlineFuture<Optional<O>> response = new DeadlineFuture<>();
+        CompletableFuture.supplyAsync(handling, executor)
+            .thenCompose(stage -> stage)
+            .whenComplete((output, error) -> {
+                try {
+                    if (error == null ? response.complete(output) : response.completeExceptionally(error)) {
+                        return;
+                    }
+                    if (error != null) {
+                        lateDelivery.onError(context, error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                    } else {
+                        output.ifPresent(o -> lateDelivery.deliver(context, o));
+                    }
+                } finally {
+                    response.settle();
+                }
+            });
+        response.completeOnTimeout(Optional.empty(), timeoutNanos, TimeUnit.NANOSECONDS);
+        return response;
+    }
+}
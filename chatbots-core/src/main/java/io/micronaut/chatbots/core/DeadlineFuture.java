@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A future which may complete before the work it stands for, e.g. a dispatch which completes with an empty output once its deadline elapses while the handler keeps running.
+ * {@link #settled()} completes once the work completes. {@link SerialLaneExecutor} starts the next task of a lane once the stage of the previous task settles, thus a late handler does not run concurrently with the next task of its lane.
+ * @param <T> result type
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public final class DeadlineFuture<T> extends CompletableFuture<T> {
+
+    private final CompletableFuture<Void> settled = new CompletableFuture<>();
+
+    /**
+     *
+     * @return A stage which completes once the work the future stands for completes, whether normally or exceptionally.
+     */
+    @NonNull
+    public CompletionStage<Void> settled() {
+        return settled.minimalCompletionStage();
+    }
+
+    /**
+     * Marks the work the future stands for as complete.
+     */
+    public void settle() {
+        settled.complete(null);
+    }
+
+    /**
+     *
+     * @param stage Stage
+     * @return A stage which completes once the work of the supplied stage completes. For a {@link DeadlineFuture}, its {@link #settled()} stage, otherwise once the supplied stage completes, whether normally or exceptionally.
+     */
+    @NonNull
+    public static CompletionStage<Void> settled(@NonNull CompletionStage<?> stage) {
+        if (stage instanceof DeadlineFuture<?> deadlineFuture) {
+            return deadlineFuture.settled();
+        }
+        return stage.handle((value, error) -> null);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.convert.value.MutableConvertibleValues;
+import io.micronaut.core.convert.value.MutableConvertibleValuesMap;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Default implementation of {@link DispatchContext}. Memoized values are kept in concurrent maps, so the context may be shared by handlers evaluated in different threads.
+ * @param <B> The Bot configuration
+ * @param <I> input type.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Internal
+final class DefaultDispatchContext<B extends BotConfiguration, I> implements DispatchContext<B, I> {
+
+    @Nullable
+    private final B bot;
+
+    @NonNull
+    private final I input;
+
+    private final Map<SlashCommandParser<I>, Optional<SlashCommand>> commands = new ConcurrentHashMap<>(2);
+
+    private final Map<SpaceParser<I, ?>, Optional<?>> spaces = new ConcurrentHashMap<>(2);
+
+    private final Map<KindParser<I, ?>, Optional<?>> kinds = new ConcurrentHashMap<>(2);
+
+    private volatile MutableConvertibleValues<Object> attributes;
+
+    DefaultDispatchContext(@Nullable B bot, @NonNull I input) {
+        this.bot = bot;
+        this.input = input;
+    }
+
+    @Override
+    @Nullable
+    public B getBot() {
+        return bot;
+    }
+
+    @Override
+    @NonNull
+    public I getInput() {
+        return input;
+    }
+
+    @Override
+    @NonNull
+    public Optional<SlashCommand> getParsedSlashCommand(@NonNull SlashCommandParser<I> parser) {
+        return commands.computeIfAbsent(parser, p -> p.parseCommand(bot, input));
+    }
+
+    @Override
+    @NonNull
+    public Optional<String> getSlashCommand(@NonNull SlashCommandParser<I> parser) {
+        return getParsedSlashCommand(parser).map(SlashCommand::toString);
+    }
+
+    @Override
+    @NonNull
+    public Optional<String> getCommand(@NonNull SlashCommandParser<I> parser) {
+        return getParsedSlashCommand(parser).map(command -> command.getCommand().toString());
+    }
+
+    @Override
+    @NonNull
+    public Optional<String> getCommandArguments(@NonNull SlashCommandParser<I> parser) {
+        return getParsedSlashCommand(parser)
+            .filter(SlashCommand::hasArguments)
+            .map(command -> command.getArguments().toString());
+    }
+
+    @Override
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public <S> Optional<S> getSpace(@NonNull SpaceParser<I, S> parser) {
+        return (Optional<S>) spaces.computeIfAbsent(parser, p -> parser.parse(input));
+    }
+
+    @Override
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public <K> Optional<K> getKind(@NonNull KindParser<I, K> parser) {
+        return (Optional<K>) kinds.computeIfAbsent(parser, p -> parser.parse(input));
+    }
+
+    @Override
+    @NonNull
+    public MutableConvertibleValues<Object> getAttributes() {
+        MutableConvertibleValues<Object> result = attributes;
+        if (result == null) {
+            synchronized (this) {
+                result = attributes;
+                if (result == null) {
+                    result = new MutableConvertibleValuesMap<>(new ConcurrentHashMap<>(4));
+                    attributes = result;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -15,15 +15,46 @@
  */
 package io.micronaut.chatbots.core;
 
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.BeanRegistration;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.type.ArgumentCoercible;
+import io.micronaut.inject.InjectionPoint;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import jakarta.validation.constraints.NotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 
 /**
- * Iterates through every {@link Handler} in odered and dispatch the message to the first which can handle the request.
+ * Dispatches the message to the first {@link Handler}, in order, which can handle the request.
+ * Every handler asked to handle a request shares the same {@link DispatchContext}.
+ * Besides handler beans, it dispatches to the bean methods annotated with {@link OnCommand} whose bot configuration, input and output types match the type arguments the dispatcher is injected with. If the type arguments are not known, a method is only asked to handle inputs and bots of the types it declares.
+ * {@link SlashCommandHandler}s are indexed by command and {@link KindHandler}s by kind when the dispatcher is created. Thus, for a given input, only the command handlers whose command matches the parsed slash command, the kind handlers accepting the input's kind and the handlers which declare neither are asked whether they can handle the request.
+ * A chain of handlers is computed per bot name mentioned in a {@link Bots} annotation when the dispatcher is created. Thus, handlers restricted to other bots are never asked whether they can handle the request.
+ * If {@link ChatbotsConfiguration#isParallelCanHandle()} is enabled, the candidates are asked concurrently, in the blocking executor, whether they can handle the request.
+ * {@link #dispatchAsync(DispatchContext)} runs handlers which are not {@link AsyncHandler}s on the blocking executor, thus a synchronous handler does not hold the calling thread, e.g. an event loop. {@link AsyncHandler}s are invoked on the calling thread.
+ * If {@link ChatbotsConfiguration#getDeadline()} is set, {@link #dispatchAsync(DispatchContext)} looks for the handler and runs it on the blocking executor and completes with an empty output once the deadline elapses. Thus, the deadline bounds the time spent asking the candidates whether they can handle the request too. The handler's eventual output is handed to {@link LateDelivery}.
  * @param <B> The Bot configuration
  * @param <I> input type.
  * @param <O> output type.
@@ -33,19 +64,325 @@ import java.util.Optional;
 @Singleton
 public class DefaultDispatcher<B extends BotConfiguration, I, O> implements Dispatcher<B, I, O> {
 
-    private final List<Handler<B, I, O>> handlers;
+    /**
+     * Handlers which are not restricted to any bot. Used for requests without a bot or for a bot not mentioned by any {@link Bots} annotation.
+     */
+    private final HandlerChain<B, I, O> defaultChain;
+
+    /**
+     * Handler chains keyed by bot name.
+     */
+    private final Map<String, HandlerChain<B, I, O>> botChains;
+
+    /**
+     * Listener to notify or null if there are no listeners.
+     */
+    @Nullable
+    private final DispatchListener listener;
+
+    /**
+     * Deadline applied to asynchronous dispatches or null if dispatches wait for the handler to complete.
+     */
+    @Nullable
+    private final Deadline<B, I, O> deadline;
 
+    /**
+     * Executor where candidates are asked whether they can handle the request or null to ask them one after another.
+     */
+    @Nullable
+    private final ExecutorService canHandleExecutor;
+
+    /**
+     * Executor where asynchronous dispatches run handlers which are not {@link AsyncHandler}s or null to run them on the calling thread.
+     */
+    @Nullable
+    private final Executor handlerExecutor;
+
+    /**
+     *
+     * @param handlers Handler beans, ordered.
+     * @param onCommandMethodProcessor Handlers of the methods annotated with {@link OnCommand}
+     * @param listeners Dispatch listeners
+     * @param configuration Chatbots configuration
+     * @param lateDelivery Receives the output of handlers which complete after the deadline
+     * @param blockingExecutor Executor where asynchronous dispatches run handlers which are not {@link AsyncHandler}s and where candidates are asked whether they can handle the request if parallel can handle is enabled
+     * @param injectionPoint Injection point of the dispatcher. Its type arguments select the methods annotated with {@link OnCommand} the dispatcher invokes.
+     * @since 1.3.0
+     */
+    @Inject
+    public DefaultDispatcher(List<BeanRegistration<Handler<B, I, O>>> handlers,
+                             OnCommandMethodProcessor onCommandMethodProcessor,
+                             List<DispatchListener> listeners,
+                             ChatbotsConfiguration configuration,
+                             LateDelivery<B, I, O> lateDelivery,
+                             @Named(TaskExecutors.BLOCKING) BeanProvider<ExecutorService> blockingExecutor,
+                             @Nullable InjectionPoint<?> injectionPoint) {
+        this(partition(merge(handlers, onCommandMethodProcessor.getHandlers(), typeArguments(injectionPoint))),
+            CompositeDispatchListener.of(listeners),
+            deadline(configuration.getDeadline(), lateDelivery, blockingExecutor),
+            configuration.isParallelCanHandle() ? blockingExecutor.get() : null,
+            blockingExecutor.get());
+    }
+
+    /**
+     *
+     * @param handlers Handler beans, ordered.
+     * @param onCommandMethodProcessor Handlers of the methods annotated with {@link OnCommand}
+     * @param listeners Dispatch listeners
+     * @param typeArguments The bot configuration, input and output types of the dispatcher. Only the methods annotated with {@link OnCommand} which match them are invoked.
+     * @since 1.3.0
+     */
+    public DefaultDispatcher(List<BeanRegistration<Handler<B, I, O>>> handlers,
+                             OnCommandMethodProcessor onCommandMethodProcessor,
+                             List<DispatchListener> listeners,
+                             Argument<?>... typeArguments) {
+        this(partition(merge(handlers, onCommandMethodProcessor.getHandlers(), typeArguments)), CompositeDispatchListener.of(listeners), null, null, null);
+    }
+
+    /**
+     *
+     * @param handlers Handlers, ordered.
+     */
     public DefaultDispatcher(List<Handler<B, I, O>> handlers) {
-        this.handlers = handlers;
+        this(handlers, null, null);
+    }
+
+    /**
+     *
+     * @param handlers Handlers, ordered.
+     * @param deadline Deadline applied to asynchronous dispatches
+     * @param canHandleExecutor Executor where candidates are asked whether they can handle the request
+     */
+    DefaultDispatcher(List<Handler<B, I, O>> handlers,
+                      @Nullable Deadline<B, I, O> deadline,
+                      @Nullable ExecutorService canHandleExecutor) {
+        this(handlers, deadline, canHandleExecutor, null);
+    }
+
+    /**
+     *
+     * @param handlers Handlers, ordered.
+     * @param deadline Deadline applied to asynchronous dispatches
+     * @param canHandleExecutor Executor where candidates are asked whether they can handle the request
+     * @param handlerExecutor Executor where asynchronous dispatches run handlers which are not {@link AsyncHandler}s
+     */
+    DefaultDispatcher(List<Handler<B, I, O>> handlers,
+                      @Nullable Deadline<B, I, O> deadline,
+                      @Nullable ExecutorService canHandleExecutor,
+                      @Nullable Executor handlerExecutor) {
+        this(new Routes<>(new HandlerChain<>(handlers), Collections.emptyMap()), null, deadline, canHandleExecutor, handlerExecutor);
+    }
+
+    private DefaultDispatcher(Routes<B, I, O> routes,
+                              @Nullable DispatchListener listener,
+                              @Nullable Deadline<B, I, O> deadline,
+                              @Nullable ExecutorService canHandleExecutor,
+                              @Nullable Executor handlerExecutor) {
+        this.defaultChain = routes.defaultChain();
+        this.botChains = routes.botChains();
+        this.listener = listener;
+        this.deadline = deadline;
+        this.canHandleExecutor = canHandleExecutor;
+        this.handlerExecutor = handlerExecutor;
+    }
+
+    @Nullable
+    private static <B extends BotConfiguration, I, O> Deadline<B, I, O> deadline(@Nullable Duration timeout,
+                                                                                 LateDelivery<B, I, O> lateDelivery,
+                                                                                 BeanProvider<ExecutorService> blockingExecutor) {
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            return null;
+        }
+        return new Deadline<>(timeout, lateDelivery, blockingExecutor.get());
+    }
+
+    /**
+     *
+     * @param injectionPoint Injection point of the dispatcher
+     * @return The type arguments of the injection point. E.g. the bot configuration, input and output types of a {@code Dispatcher<TelegramBotConfiguration, Update, Send>} argument. Empty if the dispatcher is not created for a {@link Dispatcher} injection point. E.g. if it is retrieved from the bean context.
+     */
+    @NonNull
+    private static Argument<?>[] typeArguments(@Nullable InjectionPoint<?> injectionPoint) {
+        if (injectionPoint instanceof ArgumentCoercible<?> argumentCoercible) {
+            Argument<?> argument = argumentCoercible.asArgument();
+            if (Dispatcher.class.isAssignableFrom(argument.getType())) {
+                return argument.getTypeParameters();
+            }
+        }
+        return Argument.ZERO_ARGUMENTS;
+    }
+
+    /**
+     * Merges the handler beans with the handlers of the methods annotated with {@link OnCommand} which match the dispatcher's type arguments. Otherwise, a dispatcher would invoke a method declared for another input type. The sort is stable, thus handler beans keep the order resolved by the bean context and precede method handlers with the same order.
+     */
+    @SuppressWarnings("unchecked")
+    private static <B extends BotConfiguration, I, O> List<RegisteredHandler<B, I, O>> merge(List<BeanRegistration<Handler<B, I, O>>> registrations,
+                                                                                             List<SlashCommandHandler<?, ?, ?>> methodHandlers,
+                                                                                             Argument<?>[] typeArguments) {
+        List<RegisteredHandler<B, I, O>> result = new ArrayList<>(registrations.size() + methodHandlers.size());
+        for (BeanRegistration<Handler<B, I, O>> registration : registrations) {
+            result.add(new RegisteredHandler<>(registration.getOrder(),
+                registration.getBean(),
+                Set.copyOf(Arrays.asList(registration.getBeanDefinition().stringValues(Bots.class)))));
+        }
+        boolean merged = false;
+        for (SlashCommandHandler<?, ?, ?> methodHandler : methodHandlers) {
+            Set<String> bots = Collections.emptySet();
+            if (methodHandler instanceof OnCommandMethodHandler<?, ?, ?> onCommandMethodHandler) {
+                if (!onCommandMethodHandler.matches(typeArguments)) {
+                    continue;
+                }
+                bots = onCommandMethodHandler.getBots();
+            }
+            result.add(new RegisteredHandler<>(methodHandler.getOrder(), (Handler<B, I, O>) methodHandler, bots));
+            merged = true;
+        }
+        if (merged) {
+            result.sort(Comparator.comparingInt(RegisteredHandler::order));
+        }
+        return result;
+    }
+
+    /**
+     * Computes the chain of handlers of every bot mentioned by a {@link Bots} annotation, and the default chain with the handlers which are not restricted to any bot.
+     */
+    private static <B extends BotConfiguration, I, O> Routes<B, I, O> partition(List<RegisteredHandler<B, I, O>> handlers) {
+        Set<String> botNames = new LinkedHashSet<>();
+        List<Handler<B, I, O>> unrestricted = new ArrayList<>(handlers.size());
+        for (RegisteredHandler<B, I, O> handler : handlers) {
+            botNames.addAll(handler.bots());
+            if (handler.bots().isEmpty()) {
+                unrestricted.add(handler.handler());
+            }
+        }
+        if (botNames.isEmpty()) {
+            return new Routes<>(new HandlerChain<>(unrestricted), Collections.emptyMap());
+        }
+        Map<String, HandlerChain<B, I, O>> botChains = new HashMap<>(botNames.size() * 2);
+        for (String botName : botNames) {
+            List<Handler<B, I, O>> chain = new ArrayList<>(handlers.size());
+            for (RegisteredHandler<B, I, O> handler : handlers) {
+                if (handler.bots().isEmpty() || handler.bots().contains(botName)) {
+                    chain.add(handler.handler());
+                }
+            }
+            botChains.put(botName, new HandlerChain<>(chain));
+        }
+        return new Routes<>(new HandlerChain<>(unrestricted), Collections.unmodifiableMap(botChains));
     }
 
     @Override
     @NonNull
     public Optional<O> dispatch(@Nullable B bot,
                                 @NonNull @NotNull I input) {
-        return handlers.stream()
-            .filter(handler -> handler.canHandle(bot, input))
-            .findFirst()
-            .flatMap(bioHandler -> bioHandler.handle(bot, input));
+        return dispatch(DispatchContext.of(bot, input));
+    }
+
+    @Override
+    @NonNull
+    public Optional<O> dispatch(@NonNull @NotNull DispatchContext<B, I> context) {
+        return chain(context.getBot()).findHandler(context, listener, canHandleExecutor)
+            .flatMap(handler -> handle(handler, context));
+    }
+
+    @Override
+    @NonNull
+    public CompletionStage<Optional<O>> dispatchAsync(@NonNull @NotNull DispatchContext<B, I> context) {
+        if (deadline != null) {
+            return deadline.apply(context, () -> findAndHandleAsync(context));
+        }
+        try {
+            Optional<Handler<B, I, O>> handler = chain(context.getBot()).findHandler(context, listener, canHandleExecutor);
+            if (handler.isEmpty()) {
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+            if (handlerExecutor == null || handler.get() instanceof AsyncHandler) {
+                return handleAsync(handler.get(), context);
+            }
+            return CompletableFuture.supplyAsync(() -> handleAsync(handler.get(), context), handlerExecutor)
+                .thenCompose(Function.identity());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Looks for the handler and invokes it. Used by dispatches with a deadline, thus the time spent asking the candidates whether they can handle the request counts towards the deadline.
+     * @param context dispatch context
+     * @return a stage which completes with the handler's output or empty if no handler can handle the request
+     */
+    @NonNull
+    private CompletionStage<Optional<O>> findAndHandleAsync(@NonNull DispatchContext<B, I> context) {
+        Optional<Handler<B, I, O>> handler = chain(context.getBot()).findHandler(context, listener, canHandleExecutor);
+        return handler.isPresent()
+            ? handleAsync(handler.get(), context)
+            : CompletableFuture.completedFuture(Optional.empty());
+    }
+
+    @NonNull
+    private Optional<O> handle(@NonNull Handler<B, I, O> handler,
+                               @NonNull DispatchContext<B, I> context) {
+        if (listener == null) {
+            return handler.handle(context);
+        }
+        long start = System.nanoTime();
+        try {
+            Optional<O> output = handler.handle(context);
+            listener.onHandle(context, handler, System.nanoTime() - start, null);
+            return output;
+        } catch (RuntimeException e) {
+            listener.onHandle(context, handler, System.nanoTime() - start, e);
+            throw e;
+        }
+    }
+
+    @NonNull
+    private CompletionStage<Optional<O>> handleAsync(@NonNull Handler<B, I, O> handler,
+                                                     @NonNull DispatchContext<B, I> context) {
+        if (listener == null) {
+            return handler.handleAsync(context);
+        }
+        DispatchListener dispatchListener = listener;
+        long start = System.nanoTime();
+        CompletionStage<Optional<O>> stage;
+        try {
+            stage = handler.handleAsync(context);
+        } catch (RuntimeException e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+        return stage.whenComplete((output, error) ->
+            dispatchListener.onHandle(context, handler, System.nanoTime() - start, error instanceof CompletionException && error.getCause() != null ? error.getCause() : error));
+    }
+
+    @NonNull
+    private HandlerChain<B, I, O> chain(@Nullable B bot) {
+        if (bot == null || botChains.isEmpty()) {
+            return defaultChain;
+        }
+        return botChains.getOrDefault(bot.getName(), defaultChain);
+    }
+
+    /**
+     * Handler with its effective order and the bots it is restricted to.
+     * @param order Order of the handler
+     * @param handler Handler
+     * @param bots Names of the bots the handler is restricted to. Empty if the handler serves every bot.
+     * @param <B> The Bot configuration
+     * @param <I> input type.
+     * @param <O> output type.
+     */
+    private record RegisteredHandler<B extends BotConfiguration, I, O>(int order, Handler<B, I, O> handler, Set<String> bots) {
+    }
+
+    /**
+     * Handler chains computed when the dispatcher is created.
+     * @param defaultChain Handlers which are not restricted to any bot
+     * @param botChains Handler chains keyed by bot name
+     * @param <B> The Bot configuration
+     * @param <I> input type.
+     * @param <O> output type.
+     */
+    private record Routes<B extends BotConfiguration, I, O>(HandlerChain<B, I, O> defaultChain,
+                                                            Map<String, HandlerChain<B, I, O>> botChains) {
     }
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.NonNull;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link LateDelivery} which discards the output of handlers which completed after the deadline.
+ * @param <B> The Bot configuration
+ * @param <I> input type.
+ * @param <O> output type.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Singleton
+public class DefaultLateDelivery<B extends BotConfiguration, I, O> implements LateDelivery<B, I, O> {
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultLateDelivery.class);
+
+    @Override
+    public void deliver(@NonNull DispatchContext<B, I> context, @NonNull O output) {
+        if (LOG.isWarnEnabled()) {
+            LOG.warn("Discarding the output of a handler which completed after the deadline. Register a bean of type {} to deliver it", LateDelivery.class.getName());
+        }
+    }
+
+    @Override
+    public void onError(@NonNull DispatchContext<B, I> context, @NonNull Throwable error) {
+        if (LOG.isErrorEnabled()) {
+            LOG.error("Handler failed after the deadline", error);
+        }
+    }
+}
@@ -20,37 +20,109 @@ import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.io.ResourceResolver;
 import io.micronaut.core.io.scan.ClassPathResourceLoader;
+import io.micronaut.core.io.service.SoftServiceLoader;
 import io.micronaut.core.util.StringUtils;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Singleton;
 
 import jakarta.validation.constraints.NotBlank;
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.net.JarURLConnection;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.zip.CRC32;
 
 /**
  * Users {@link io.micronaut.core.io.ResourceLoader} to load a static resource associated with a command.
  * For a command such as /help
+ * If a {@link StaticCommandCatalog} generated at compilation time covers the configured folder, the commands are served from the catalog. The first time a command is served, its catalog text is verified against the classpath resource, comparing the size and CRC of a jar entry or the content of other resources. A command missing from the catalog or whose resource differs from the catalog, e.g. because its resource changed after the catalog was generated, is read from the classpath.
+ * Otherwise, resources read from the classpath are kept in a bounded cache. Resources known not to exist are kept in a separate, smaller cache and expire.
+ * Resources are read verbatim and decoded as UTF-8.
+ * Resources requested as a {@link CommandTemplate} are compiled once and kept in a bounded cache.
+ * If the folder is prefixed with {@code file:}, resources are read from the file system instead, and the folder is watched, so that cached resources are reloaded when their files change.
  * @author Sergio del Amo
  * @since 1.0.0
  */
 @Requires(beans = {ChatbotsConfiguration.class, ResourceResolver.class})
 @Singleton
 public class DefaultTextResourceLoader implements TextResourceLoader {
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultTextResourceLoader.class);
+    private static final String FILE_PREFIX = "file:";
+    private static final int MAX_PRESIZED_LENGTH = Integer.MAX_VALUE - 8;
     private static final String SLASH = "/";
     private static final String EMPTY = "";
     private static final String DOT = ".";
-    private final ConcurrentHashMap<String, String> commandText = new ConcurrentHashMap<>();
+    private final CommandTextCache commandText;
+    private final ConcurrentLinkedHashMap<String, CommandTemplate> templates;
     private final ResourceResolver resourceResolver;
     private final ChatbotsConfiguration chatbotsConfiguration;
 
+    /**
+     * Resources of the configured folder keyed by path or null if no {@link StaticCommandCatalog} covers the folder.
+     */
+    @Nullable
+    private final Map<String, String> catalog;
+
+    /**
+     * Whether the catalog text of a resource path matches the classpath resource, keyed by resource path.
+     */
+    private final Map<String, Boolean> verifiedCatalog = new ConcurrentHashMap<>();
+
+    /**
+     * File system folder of the resources or null if resources are read from the classpath.
+     */
+    @Nullable
+    private final Path fileSystemFolder;
+
+    @Nullable
+    private final CommandFolderWatcher watcher;
+
     public DefaultTextResourceLoader(ChatbotsConfiguration chatbotsConfiguration,
                                      ResourceResolver resourceResolver) {
+        this(chatbotsConfiguration, resourceResolver, SoftServiceLoader.load(StaticCommandCatalog.class).collectAll());
+    }
+
+    /**
+     *
+     * @param chatbotsConfiguration Chatbots configuration
+     * @param resourceResolver Resource resolver
+     * @param catalogs Static command catalogs
+     * @since 1.3.0
+     */
+    DefaultTextResourceLoader(ChatbotsConfiguration chatbotsConfiguration,
+                              ResourceResolver resourceResolver,
+                              List<StaticCommandCatalog> catalogs) {
         this.resourceResolver = resourceResolver;
         this.chatbotsConfiguration = chatbotsConfiguration;
+        this.catalog = catalog(normalizeFolder(chatbotsConfiguration.getFolder()), catalogs);
+        this.commandText = new CommandTextCache(chatbotsConfiguration.getCacheMaximumSize(),
+            chatbotsConfiguration.getNotFoundCacheMaximumSize(),
+            chatbotsConfiguration.getNotFoundCacheTtl(),
+            System::nanoTime);
+        this.templates = new ConcurrentLinkedHashMap.Builder<String, CommandTemplate>()
+            .maximumWeightedCapacity(chatbotsConfiguration.getCacheMaximumSize())
+            .build();
+        String folder = normalizeFolder(chatbotsConfiguration.getFolder());
+        this.fileSystemFolder = folder.startsWith(FILE_PREFIX)
+            ? Path.of(folder.substring(FILE_PREFIX.length())).toAbsolutePath().normalize()
+            : null;
+        this.watcher = fileSystemFolder != null ? watch(folder, fileSystemFolder) : null;
     }
 
     @Override
@@ -59,10 +131,27 @@ public class DefaultTextResourceLoader implements TextResourceLoader {
         if (chatbotsConfiguration.getPossibleStaticCommandExtensions() == null) {
             return Optional.empty();
         }
+        if (catalog != null) {
+            Optional<CommandResponse> response = composeCommandResponse(command, this::catalogText);
+            if (response.isPresent()) {
+                return response;
+            }
+        }
+        return composeCommandResponse(command, path -> commandText.get(path, this::loadText).orElse(EMPTY));
+    }
+
+    /**
+     *
+     * @param command Command. E.g. /help
+     * @param texts Returns the text of a resource path or an empty string if it does not exist
+     * @return The response of the first possible extension with text
+     */
+    @NonNull
+    private Optional<CommandResponse> composeCommandResponse(@NonNull String command, @NonNull Function<String, String> texts) {
         for (FileExtension fileExtension : chatbotsConfiguration.getPossibleStaticCommandExtensions()) {
             for (String ext : fileExtension.getExtensions()) {
                 String path = normalizeFolder(chatbotsConfiguration.getFolder()) + removeLeadingSlash(command) + DOT + ext;
-                String text = commandText.computeIfAbsent(path, s -> textFromPath(s).orElse(EMPTY));
+                String text = texts.apply(path);
                 if (StringUtils.isNotEmpty(text)) {
                     return Optional.of(new CommandResponse(fileExtension, text));
                 }
@@ -71,14 +160,132 @@ public class DefaultTextResourceLoader implements TextResourceLoader {
         return Optional.empty();
     }
 
+    /**
+     *
+     * @param path Resource path
+     * @return The catalog text of the resource path or an empty string if the catalog does not hold it or it differs from the classpath resource
+     */
+    @NonNull
+    private String catalogText(@NonNull String path) {
+        String text = catalog.get(path);
+        if (text == null) {
+            return EMPTY;
+        }
+        if (verifiedCatalog.computeIfAbsent(path, p -> matchesClasspath(p, text))) {
+            return text;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * A jar entry is compared by size and CRC, thus it is not read. Other resources are read and compared.
+     * @param path Resource path
+     * @param text Catalog text of the resource
+     * @return Whether the classpath resource exists and has the supplied text
+     */
+    private boolean matchesClasspath(@NonNull String path, @NonNull String text) {
+        boolean matches = resourceResolver.getLoader(ClassPathResourceLoader.class)
+            .flatMap(loader -> loader.getResource(path))
+            .map(url -> {
+                try {
+                    URLConnection connection = url.openConnection();
+                    if (connection instanceof JarURLConnection jarConnection) {
+                        JarEntry entry = jarConnection.getJarEntry();
+                        if (entry != null && entry.getCrc() != -1) {
+                            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                            CRC32 crc = new CRC32();
+                            crc.update(bytes);
+                            return entry.getSize() == bytes.length && entry.getCrc() == crc.getValue();
+                        }
+                    }
+                    try (InputStream inputStream = connection.getInputStream()) {
+                        return text.equals(readFromInputStream(inputStream, connection.getContentLengthLong()));
+                    }
+                } catch (IOException e) {
+                    return false;
+                }
+            })
+            .orElse(false);
+        if (!matches) {
+            LOG.warn("Static command resource {} differs from the static command catalog generated at compilation time, reading it from the classpath. Recompile to refresh the catalog", path);
+        }
+        return matches;
+    }
+
+    @Override
+    @NonNull
+    public Optional<CommandTemplateResponse> composeCommandTemplate(@NonNull @NotBlank String command) {
+        return composeCommandResponse(command)
+            .map(response -> new CommandTemplateResponse(response.extension(),
+                templates.computeIfAbsent(response.text(), CommandTemplate::compile)));
+    }
+
+    /**
+     *
+     * @return Statistics of the cache of resources read from the classpath
+     * @since 1.3.0
+     */
+    @NonNull
+    public CacheStatistics getCacheStatistics() {
+        return commandText.getStatistics();
+    }
+
+    /**
+     * Stops watching the file system folder of the resources.
+     * @since 1.3.0
+     */
+    @PreDestroy
+    public void close() {
+        if (watcher != null) {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                LOG.warn("Error closing the watcher of the command resources folder {}", fileSystemFolder, e);
+            }
+        }
+    }
+
+    @Nullable
+    private CommandFolderWatcher watch(@NonNull String folder, @NonNull Path path) {
+        try {
+            return CommandFolderWatcher.watch(path,
+                fileName -> commandText.refresh(folder + fileName, this::loadText),
+                commandText::invalidateAll);
+        } catch (IOException e) {
+            LOG.warn("Command resources folder {} cannot be watched. Changes will not be reloaded", path, e);
+            return null;
+        }
+    }
+
+    @NonNull
+    private Optional<String> loadText(@NonNull String path) {
+        return (fileSystemFolder != null ? textFromFile(path) : textFromPath(path))
+            .filter(StringUtils::isNotEmpty);
+    }
+
+    @Nullable
+    private static Map<String, String> catalog(@NonNull String folder, @NonNull List<StaticCommandCatalog> catalogs) {
+        Map<String, String> result = null;
+        for (StaticCommandCatalog staticCommandCatalog : catalogs) {
+            if (folder.equals(staticCommandCatalog.getFolder())) {
+                if (result == null) {
+                    result = new HashMap<>();
+                }
+                result.putAll(staticCommandCatalog.getResources());
+            }
+        }
+        return result;
+    }
+
     @NonNull
     private Optional<String> textFromPath(@NonNull String path) {
         return resourceResolver.getLoader(ClassPathResourceLoader.class)
                 .flatMap(loader ->  loader.getResource(path))
                 .flatMap(url -> {
                     try {
-                        try (InputStream inputStream = url.openConnection().getInputStream()) {
-                            return Optional.of(readFromInputStream(inputStream));
+                        URLConnection connection = url.openConnection();
+                        try (InputStream inputStream = connection.getInputStream()) {
+                            return Optional.of(readFromInputStream(inputStream, connection.getContentLengthLong()));
                         }
                     } catch (IOException e) {
                         return Optional.empty();
@@ -87,16 +294,46 @@ public class DefaultTextResourceLoader implements TextResourceLoader {
     }
 
     @NonNull
-    private String readFromInputStream(InputStream inputStream)
-            throws IOException {
-        StringBuilder resultStringBuilder = new StringBuilder();
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(inputStream))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                resultStringBuilder.append(line).append("\n");
-            }
+    private Optional<String> textFromFile(@NonNull String path) {
+        Path file;
+        try {
+            file = Path.of(path.substring(FILE_PREFIX.length())).toAbsolutePath().normalize();
+        } catch (InvalidPathException e) {
+            return Optional.empty();
+        }
+        if (!file.startsWith(fileSystemFolder)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            LOG.debug("Error reading command resource {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reads a resource verbatim as UTF-8. If its size is known, the bytes are read into a single array of that size.
+     * @param inputStream Input stream
+     * @param size Size of the resource or -1 if unknown
+     * @return The text of the resource
+     * @throws IOException If the resource cannot be read
+     */
+    @NonNull
+    private static String readFromInputStream(@NonNull InputStream inputStream, long size) throws IOException {
+        if (size < 0 || size > MAX_PRESIZED_LENGTH) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        byte[] bytes = inputStream.readNBytes((int) size);
+        byte[] remaining = inputStream.readAllBytes();
+        if (remaining.length > 0) {
+            byte[] all = Arrays.copyOf(bytes, bytes.length + remaining.length);
+            System.arraycopy(remaining, 0, all, bytes.length, remaining.length);
+            bytes = all;
         }
-        return resultStringBuilder.toString();
+        return new String(bytes, StandardCharsets.UTF_8);
     }
 
     @NonNull
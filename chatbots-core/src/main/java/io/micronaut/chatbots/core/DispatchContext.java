@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.attr.MutableAttributeHolder;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Optional;
+
+/**
+ * Per request context shared by every {@link Handler} asked to handle an input.
+ * It memoizes the facts derived from the input, such as the slash command or the space, so that each parser runs at most once per request no matter how many handlers inspect the input.
+ * @param <B> The Bot configuration
+ * @param <I> input type.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public interface DispatchContext<B extends BotConfiguration, I> extends MutableAttributeHolder {
+
+    /**
+     *
+     * @return bot being asked to handle the input
+     */
+    @Nullable
+    B getBot();
+
+    /**
+     *
+     * @return input to the request handlers
+     */
+    @NonNull
+    I getInput();
+
+    /**
+     * Parses the slash command of the input into the command and its arguments. The result is memoized per parser.
+     * @param parser Slash command parser
+     * @return The slash command split into the command and its arguments
+     */
+    @NonNull
+    Optional<SlashCommand> getParsedSlashCommand(@NonNull SlashCommandParser<I> parser);
+
+    /**
+     * Parses the slash command of the input. The result is memoized per parser.
+     * @param parser Slash command parser
+     * @return The slash command. E.g. /help me
+     */
+    @NonNull
+    Optional<String> getSlashCommand(@NonNull SlashCommandParser<I> parser);
+
+    /**
+     *
+     * @param parser Slash command parser
+     * @return The command part of the slash command, up to the first whitespace. E.g. /help
+     */
+    @NonNull
+    Optional<String> getCommand(@NonNull SlashCommandParser<I> parser);
+
+    /**
+     *
+     * @param parser Slash command parser
+     * @return The arguments of the slash command, the text after the command. Empty if the command has no arguments.
+     */
+    @NonNull
+    Optional<String> getCommandArguments(@NonNull SlashCommandParser<I> parser);
+
+    /**
+     * Parses the space of the input. The result is memoized per parser.
+     * @param parser Space parser
+     * @param <S> The Space
+     * @return The space associated with the input
+     */
+    @NonNull
+    <S> Optional<S> getSpace(@NonNull SpaceParser<I, S> parser);
+
+    /**
+     * Derives the kind of the input. The result is memoized per parser.
+     * @param parser Kind parser
+     * @param <K> kind type.
+     * @return The kind of the input
+     */
+    @NonNull
+    <K> Optional<K> getKind(@NonNull KindParser<I, K> parser);
+
+    /**
+     *
+     * @param bot bot being asked to handle the input
+     * @param input input to the request handlers
+     * @param <B> The Bot configuration
+     * @param <I> input type.
+     * @return A new context for the request
+     */
+    @NonNull
+    static <B extends BotConfiguration, I> DispatchContext<B, I> of(@Nullable B bot,
+                                                                    @NonNull @NotNull I input) {
+        return new DefaultDispatchContext<>(bot, input);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * Observes how {@link DefaultDispatcher} dispatches requests. E.g. to record metrics.
+ * Listeners are invoked on the dispatching thread and must not block. When there are no listener beans, the dispatcher does not measure anything.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public interface DispatchListener {
+
+    /**
+     * Invoked after a handler has been asked whether it can handle the request.
+     * @param context dispatch context
+     * @param handler handler which was asked
+     * @param result value returned by {@link Handler#canHandle(DispatchContext)}
+     * @param nanos time taken by {@link Handler#canHandle(DispatchContext)} in nanoseconds
+     */
+    default void onCanHandle(@NonNull DispatchContext<?, ?> context,
+                             @NonNull Handler<?, ?, ?> handler,
+                             boolean result,
+                             long nanos) {
+    }
+
+    /**
+     * Invoked once the handler chosen for the request has completed.
+     * @param context dispatch context
+     * @param handler handler which handled the request
+     * @param nanos time taken to complete the handler's output in nanoseconds
+     * @param error exception thrown by the handler or null if it completed successfully
+     */
+    default void onHandle(@NonNull DispatchContext<?, ?> context,
+                          @NonNull Handler<?, ?, ?> handler,
+                          long nanos,
+                          @Nullable Throwable error) {
+    }
+
+    /**
+     * Invoked once the dispatcher has looked for a handler for the request.
+     * @param context dispatch context
+     * @param handler handler which can handle the request or null if no handler can handle it
+     * @param canHandleCalls number of handlers asked whether they can handle the request
+     */
+    default void onDispatch(@NonNull DispatchContext<?, ?> context,
+                            @Nullable Handler<?, ?, ?> handler,
+                            int canHandleCalls) {
+    }
+
+    /**
+     *
+     * @param handler Handler
+     * @return A name identifying the handler. The class name for handler beans and the class and method name for methods annotated with {@link OnCommand}.
+     */
+    @NonNull
+    static String nameOf(@NonNull Handler<?, ?, ?> handler) {
+        if (handler instanceof OnCommandMethodHandler<?, ?, ?> methodHandler) {
+            return methodHandler.getName();
+        }
+        return handler.getClass().getName();
+    }
+}
@@ -20,6 +20,8 @@ import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import jakarta.validation.constraints.NotNull;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * @author Sergio del Amo
@@ -34,4 +36,40 @@ public interface Dispatcher<B extends BotConfiguration, I, O> {
     @NonNull
     Optional<O> dispatch(@Nullable B bot,
                          @NonNull @NotNull I input);
+
+    /**
+     * Dispatches the input of the supplied context.
+     * @param context dispatch context shared by every handler for the current request
+     * @return output of the handler which handled the request
+     * @since 1.3.0
+     */
+    @NonNull
+    default Optional<O> dispatch(@NonNull @NotNull DispatchContext<B, I> context) {
+        return dispatch(context.getBot(), context.getInput());
+    }
+
+    /**
+     * Dispatches the input without blocking the calling thread.
+     * @param bot bot being asked to handle the input
+     * @param input input to the request handlers
+     * @return a stage which completes with the output of the handler which handled the request
+     * @since 1.3.0
+     */
+    @NonNull
+    default CompletionStage<Optional<O>> dispatchAsync(@Nullable B bot,
+                                                       @NonNull @NotNull I input) {
+        return dispatchAsync(DispatchContext.of(bot, input));
+    }
+
+    /**
+     * Dispatches the input of the supplied context without blocking the calling thread.
+     * By default, it completes with the result of {@link #dispatch(DispatchContext)}.
+     * @param context dispatch context shared by every handler for the current request
+     * @return a stage which completes with the output of the handler which handled the request
+     * @since 1.3.0
+     */
+    @NonNull
+    default CompletionStage<Optional<O>> dispatchAsync(@NonNull @NotNull DispatchContext<B, I> context) {
+        return CompletableFuture.completedFuture(dispatch(context));
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Approximate access frequency of keys. A count-min sketch of 4-bit counters which are halved once the number of increments reaches ten times the cache size, thus old popularity fades.
+ * It is lock free. Counters are read without synchronization and incremented with compare-and-set, so concurrent lookups never wait for each other. Halving the counters races with concurrent increments, which may be lost, and that is acceptable for an estimate.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Internal
+final class FrequencySketch {
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAXIMUM_COUNT = 15;
+    private static final int MINIMUM_SIZE = 16;
+
+    private final AtomicLongArray table;
+    private final int tableMask;
+    private final int sampleSize;
+    private final AtomicInteger increments = new AtomicInteger();
+
+    /**
+     *
+     * @param maximumSize Maximum number of entries of the cache
+     */
+    FrequencySketch(int maximumSize) {
+        int size = Math.max(maximumSize, MINIMUM_SIZE);
+        int tableSize = Integer.highestOneBit(size - 1) << 1;
+        this.table = new AtomicLongArray(tableSize);
+        this.tableMask = tableSize - 1;
+        this.sampleSize = 10 * size;
+    }
+
+    /**
+     *
+     * @param key Key
+     * @return Estimated number of recent accesses of the key, up to 15
+     */
+    int frequency(@NonNull Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAXIMUM_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            frequency = Math.min(frequency, count(hash, i));
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access of the key.
+     * @param key Key
+     */
+    void increment(@NonNull Object key) {
+        int hash = spread(key.hashCode());
+        boolean incremented = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            incremented |= increment(index(hash, i), shift(hash, i));
+        }
+        if (incremented && increments.incrementAndGet() == sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Increments a counter unless it reached the maximum count.
+     * @param index Slot of the counter
+     * @param shift Position of the counter in the slot
+     * @return Whether the counter was incremented
+     */
+    private boolean increment(int index, int shift) {
+        long mask = (long) MAXIMUM_COUNT << shift;
+        long current = table.getOpaque(index);
+        while ((current & mask) != mask) {
+            long witness = table.compareAndExchange(index, current, current + (1L << shift));
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
+        }
+        return false;
+    }
+
+    /**
+     * Halves every counter. Only the thread whose increment reaches the sample size resets the counters.
+     */
+    private void reset() {
+        for (int i = 0; i < table.length(); i++) {
+            table.getAndUpdate(i, slot -> (slot >>> 1) & RESET_MASK);
+        }
+        increments.addAndGet(-(sampleSize - sampleSize / 2));
+    }
+
+    private int count(int hash, int row) {
+        return (int) ((table.getOpaque(index(hash, row)) >>> shift(hash, row)) & MAXIMUM_COUNT);
+    }
+
+    private int index(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    /**
+     * Every row uses a different 4-bit counter of the 16 in a slot.
+     */
+    private static int shift(int hash, int row) {
+        return ((hash >>> (row << 3)) & MAXIMUM_COUNT) << 2;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
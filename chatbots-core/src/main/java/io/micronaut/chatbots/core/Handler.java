@@ -20,6 +20,8 @@ import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.order.Ordered;
 import jakarta.validation.constraints.NotNull;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Request handlers are responsible for handling one or more types of incoming requests.
@@ -48,4 +50,37 @@ public interface Handler<B extends BotConfiguration, I, O> extends Ordered {
     @NonNull
     Optional<O> handle(@Nullable B bot,
                        @NonNull @NotNull I input);
+
+    /**
+     * Returns true if the handler can dispatch the current request. Override it to use the facts memoized by the context instead of parsing the input again.
+     * @param context dispatch context shared by every handler for the current request
+     * @return true if the handler is capable of handling the current request
+     * @since 1.3.0
+     */
+    default boolean canHandle(@NonNull @NotNull DispatchContext<B, I> context) {
+        return canHandle(context.getBot(), context.getInput());
+    }
+
+    /**
+     * Handles the request. Override it to use the facts memoized by the context instead of parsing the input again.
+     * @param context dispatch context shared by every handler for the current request
+     * @return output from the handler. Empty if you want to respond asynchronously.
+     * @since 1.3.0
+     */
+    @NonNull
+    default Optional<O> handle(@NonNull @NotNull DispatchContext<B, I> context) {
+        return handle(context.getBot(), context.getInput());
+    }
+
+    /**
+     * Handles the request without blocking the calling thread. Override it, or implement {@link AsyncHandler}, if handling the request involves I/O such as a database lookup or a call to a remote service.
+     * By default, it completes with the result of {@link #handle(DispatchContext)}. Thus, {@link DefaultDispatcher} invokes handlers which are not {@link AsyncHandler}s on the blocking executor.
+     * @param context dispatch context shared by every handler for the current request
+     * @return a stage which completes with the output from the handler. Empty if you want to respond asynchronously.
+     * @since 1.3.0
+     */
+    @NonNull
+    default CompletionStage<Optional<O>> handleAsync(@NonNull @NotNull DispatchContext<B, I> context) {
+        return CompletableFuture.completedFuture(handle(context));
+    }
 }
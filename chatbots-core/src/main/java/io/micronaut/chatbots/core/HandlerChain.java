@@ -0,0 +1,382 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Ordered list of handlers in which the {@link SlashCommandHandler}s are indexed by command and the {@link KindHandler}s by kind.
+ * For a given input, only the command handlers whose command matches the parsed slash command, the kind handlers accepting the input's kind and the handlers which declare neither a command nor kinds are asked whether they can handle the request.
+ * Handlers are asked one after another or, if an executor is supplied, concurrently. In both cases, the first handler in order which can handle the request wins.
+ * @param <B> The Bot configuration
+ * @param <I> input type.
+ * @param <O> output type.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Internal
+final class HandlerChain<B extends BotConfiguration, I, O> {
+
+    private final List<Handler<B, I, O>> handlers;
+
+    /**
+     * Positions in {@link #handlers} of the handlers which declare neither a command nor kinds.
+     */
+    private final int[] unrestrictedHandlers;
+
+    /**
+     * Positions in {@link #handlers} of the command handlers indexed by command, grouped by the parser used to extract the command.
+     */
+    private final List<CommandIndex<I>> commandIndexes;
+
+    /**
+     * Positions in {@link #handlers} of the kind handlers indexed by kind, grouped by the parser used to derive the kind.
+     */
+    private final List<KindIndex<I>> kindIndexes;
+
+    /**
+     *
+     * @param handlers Handlers, ordered.
+     */
+    HandlerChain(@NonNull List<Handler<B, I, O>> handlers) {
+        this.handlers = handlers;
+        List<Integer> unrestricted = new ArrayList<>();
+        Map<SlashCommandParser<I>, PrefixTrie.Builder<Integer>> builders = new LinkedHashMap<>();
+        Map<KindParser<I, ?>, Map<Object, List<Integer>>> kinds = new LinkedHashMap<>();
+        for (int i = 0; i < handlers.size(); i++) {
+            Handler<B, I, O> handler = handlers.get(i);
+            if (handler instanceof SlashCommandHandler<B, I, O> commandHandler) {
+                builders.computeIfAbsent(commandHandler.getSlashCommandParser(), parser -> PrefixTrie.builder())
+                    .put(commandHandler.getCommand(), i);
+            } else if (handler instanceof KindHandler<B, I, O, ?> kindHandler) {
+                Map<Object, List<Integer>> positions = kinds.computeIfAbsent(kindHandler.getKindParser(), parser -> new HashMap<>());
+                for (Object kind : kindHandler.getKinds()) {
+                    positions.computeIfAbsent(kind, k -> new ArrayList<>()).add(i);
+                }
+            } else {
+                unrestricted.add(i);
+            }
+        }
+        this.unrestrictedHandlers = toArray(unrestricted);
+        List<CommandIndex<I>> indexes = new ArrayList<>(builders.size());
+        builders.forEach((parser, builder) -> indexes.add(new CommandIndex<>(parser, builder.build())));
+        this.commandIndexes = Collections.unmodifiableList(indexes);
+        List<KindIndex<I>> kindIndexList = new ArrayList<>(kinds.size());
+        kinds.forEach((parser, positions) -> kindIndexList.add(KindIndex.of(parser, positions, unrestrictedHandlers)));
+        this.kindIndexes = Collections.unmodifiableList(kindIndexList);
+    }
+
+    /**
+     * Merges, in order, the handlers which don't declare a command with the command handlers matching the input and returns the first which can handle the request.
+     * @param context dispatch context
+     * @param listener listener to notify or null to skip measuring
+     * @return The handler which handles the request or an empty optional if none can handle it.
+     */
+    @NonNull
+    Optional<Handler<B, I, O>> findHandler(@NonNull DispatchContext<B, I> context,
+                                           @Nullable DispatchListener listener) {
+        return findHandler(context, listener, null);
+    }
+
+    /**
+     * Merges, in order, the handlers which don't declare a command with the command handlers matching the input and returns the first which can handle the request.
+     * If an executor is supplied, every candidate is asked concurrently whether it can handle the request. Once a candidate can handle it and every preceding candidate cannot, the remaining evaluations are cancelled. Evaluations which complete after that are neither counted nor notified to the listener, so that the listener is not notified after {@link DispatchListener#onDispatch}.
+     * @param context dispatch context
+     * @param listener listener to notify or null to skip measuring
+     * @param executor executor where candidates are asked whether they can handle the request or null to ask them one after another in the calling thread
+     * @return The handler which handles the request or an empty optional if none can handle it.
+     */
+    @NonNull
+    Optional<Handler<B, I, O>> findHandler(@NonNull DispatchContext<B, I> context,
+                                           @Nullable DispatchListener listener,
+                                           @Nullable ExecutorService executor) {
+        List<Integer> commandHandlers = commandHandlers(context);
+        int[] genericHandlers = genericHandlers(context);
+        if (executor != null && commandHandlers.size() + genericHandlers.length > 1) {
+            return findHandler(context, listener, executor, candidates(commandHandlers, genericHandlers));
+        }
+        int c = 0;
+        int g = 0;
+        int calls = 0;
+        while (c < commandHandlers.size() || g < genericHandlers.length) {
+            int position;
+            if (g == genericHandlers.length || (c < commandHandlers.size() && commandHandlers.get(c) < genericHandlers[g])) {
+                position = commandHandlers.get(c++);
+            } else {
+                position = genericHandlers[g++];
+            }
+            Handler<B, I, O> handler = handlers.get(position);
+            calls++;
+            if (canHandle(handler, context, listener)) {
+                return found(context, listener, handler, calls);
+            }
+        }
+        return found(context, listener, null, calls);
+    }
+
+    @NonNull
+    private Optional<Handler<B, I, O>> findHandler(@NonNull DispatchContext<B, I> context,
+                                                   @Nullable DispatchListener listener,
+                                                   @NonNull ExecutorService executor,
+                                                   @NonNull int[] candidates) {
+        List<Future<Boolean>> evaluations = new ArrayList<>(candidates.length);
+        Tally tally = new Tally();
+        try {
+            for (int position : candidates) {
+                Handler<B, I, O> handler = handlers.get(position);
+                evaluations.add(executor.submit(() -> {
+                    long start = System.nanoTime();
+                    boolean result = handler.canHandle(context);
+                    long elapsed = System.nanoTime() - start;
+                    tally.record(listener == null ? null : () -> listener.onCanHandle(context, handler, result, elapsed));
+                    return result;
+                }));
+            }
+            Handler<B, I, O> result = null;
+            for (int i = 0; i < candidates.length && result == null; i++) {
+                if (Boolean.TRUE.equals(evaluations.get(i).get())) {
+                    result = handlers.get(candidates[i]);
+                }
+            }
+            cancel(evaluations);
+            return found(context, listener, result, tally.close());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } finally {
+            tally.close();
+            cancel(evaluations);
+        }
+    }
+
+    private static void cancel(@NonNull List<Future<Boolean>> evaluations) {
+        for (Future<Boolean> evaluation : evaluations) {
+            evaluation.cancel(true);
+        }
+    }
+
+    @NonNull
+    private Optional<Handler<B, I, O>> found(@NonNull DispatchContext<B, I> context,
+                                             @Nullable DispatchListener listener,
+                                             @Nullable Handler<B, I, O> handler,
+                                             int calls) {
+        if (listener != null) {
+            listener.onDispatch(context, handler, calls);
+        }
+        return Optional.ofNullable(handler);
+    }
+
+    /**
+     *
+     * @param commandHandlers Positions of the command handlers matching the input, sorted
+     * @param genericHandlers Positions of the handlers which don't declare a command and accept the input's kind, sorted
+     * @return Positions of the command handlers matching the input merged, in order, with the positions of the handlers which don't declare a command
+     */
+    @NonNull
+    private static int[] candidates(@NonNull List<Integer> commandHandlers, @NonNull int[] genericHandlers) {
+        int[] result = new int[commandHandlers.size() + genericHandlers.length];
+        int c = 0;
+        int g = 0;
+        for (int i = 0; i < result.length; i++) {
+            if (g == genericHandlers.length || (c < commandHandlers.size() && commandHandlers.get(c) < genericHandlers[g])) {
+                result[i] = commandHandlers.get(c++);
+            } else {
+                result[i] = genericHandlers[g++];
+            }
+        }
+        return result;
+    }
+
+    private boolean canHandle(@NonNull Handler<B, I, O> handler,
+                              @NonNull DispatchContext<B, I> context,
+                              @Nullable DispatchListener listener) {
+        if (listener == null) {
+            return handler.canHandle(context);
+        }
+        long start = System.nanoTime();
+        boolean result = handler.canHandle(context);
+        listener.onCanHandle(context, handler, result, System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     *
+     * @param context dispatch context
+     * @return Positions, sorted, of the handlers which declare neither a command nor kinds and of the kind handlers accepting the input's kind.
+     */
+    @NonNull
+    private int[] genericHandlers(@NonNull DispatchContext<B, I> context) {
+        if (kindIndexes.isEmpty()) {
+            return unrestrictedHandlers;
+        }
+        if (kindIndexes.size() == 1) {
+            return kindIndexes.get(0).match(context, unrestrictedHandlers);
+        }
+        List<Integer> result = new ArrayList<>();
+        for (int position : unrestrictedHandlers) {
+            result.add(position);
+        }
+        for (KindIndex<I> index : kindIndexes) {
+            for (int position : index.match(context, KindIndex.NONE)) {
+                result.add(position);
+            }
+        }
+        Collections.sort(result);
+        return toArray(result);
+    }
+
+    @NonNull
+    private static int[] toArray(@NonNull List<Integer> positions) {
+        return positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @NonNull
+    private List<Integer> commandHandlers(@NonNull DispatchContext<B, I> context) {
+        if (commandIndexes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Integer> result = commandIndexes.size() == 1 ? commandIndexes.get(0).match(context) : new ArrayList<>();
+        if (commandIndexes.size() > 1) {
+            for (CommandIndex<I> index : commandIndexes) {
+                result.addAll(index.match(context));
+            }
+        }
+        if (result.size() > 1) {
+            result = new ArrayList<>(result);
+            Collections.sort(result);
+        }
+        return result;
+    }
+
+    /**
+     * Command handlers indexed by command.
+     * @param parser Parser used to extract the slash command from the input
+     * @param trie Positions of the command handlers indexed by command
+     * @param <I> input type.
+     */
+    private record CommandIndex<I>(SlashCommandParser<I> parser, PrefixTrie<Integer> trie) {
+
+        @NonNull
+        List<Integer> match(@NonNull DispatchContext<?, I> context) {
+            return context.getParsedSlashCommand(parser)
+                .map(trie::findPrefixesOf)
+                .orElseGet(Collections::emptyList);
+        }
+    }
+
+    /**
+     * Kind handlers indexed by kind.
+     * @param parser Parser used to derive the kind of the input
+     * @param restricted Positions, sorted, of the kind handlers accepting each kind
+     * @param merged Positions, sorted, of the kind handlers accepting each kind merged with the positions of the handlers which declare neither a command nor kinds
+     * @param <I> input type.
+     */
+    private record KindIndex<I>(KindParser<I, ?> parser,
+                                Map<Object, int[]> restricted,
+                                Map<Object, int[]> merged) {
+
+        private static final int[] NONE = new int[0];
+
+        @NonNull
+        static <I> KindIndex<I> of(@NonNull KindParser<I, ?> parser,
+                                   @NonNull Map<Object, List<Integer>> positions,
+                                   @NonNull int[] unrestricted) {
+            Map<Object, int[]> restricted = new HashMap<>(positions.size() * 2);
+            Map<Object, int[]> merged = new HashMap<>(positions.size() * 2);
+            positions.forEach((kind, kindPositions) -> {
+                int[] restrictedPositions = toArray(kindPositions);
+                int[] mergedPositions = Arrays.copyOf(unrestricted, unrestricted.length + restrictedPositions.length);
+                System.arraycopy(restrictedPositions, 0, mergedPositions, unrestricted.length, restrictedPositions.length);
+                Arrays.sort(mergedPositions);
+                restricted.put(kind, restrictedPositions);
+                merged.put(kind, mergedPositions);
+            });
+            return new KindIndex<>(parser, Collections.unmodifiableMap(restricted), Collections.unmodifiableMap(merged));
+        }
+
+        /**
+         *
+         * @param context dispatch context
+         * @param unrestricted Positions of the handlers which declare neither a command nor kinds
+         * @return Positions, sorted, of the kind handlers accepting the input's kind merged with the supplied unrestricted positions
+         */
+        @NonNull
+        int[] match(@NonNull DispatchContext<?, I> context, @NonNull int[] unrestricted) {
+            Optional<?> kind = context.getKind(parser);
+            if (kind.isEmpty()) {
+                return unrestricted;
+            }
+            Map<Object, int[]> index = unrestricted.length == 0 ? restricted : merged;
+            return index.getOrDefault(kind.get(), unrestricted);
+        }
+    }
+
+    /**
+     * Counts the evaluations of a concurrent search and notifies them until the search is closed. Evaluations which complete once the search is closed are ignored.
+     */
+    private static final class Tally {
+
+        private int calls;
+
+        private boolean closed;
+
+        /**
+         *
+         * @param notification notifies the listener of the evaluation or null if there is no listener
+         */
+        synchronized void record(@Nullable Runnable notification) {
+            if (closed) {
+                return;
+            }
+            calls++;
+            if (notification != null) {
+                notification.run();
+            }
+        }
+
+        /**
+         * Ignores the evaluations which complete from now on.
+         * @return The number of evaluations recorded
+         */
+        synchronized int close() {
+            closed = true;
+            return calls;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.Set;
+
+/**
+ * A {@link Handler} which only accepts inputs of some kinds.
+ * {@link DefaultDispatcher} indexes these handlers by kind, and only asks a handler whether it {@link #canHandle} an input if the kind parsed with {@link #getKindParser()} is one of {@link #getKinds()}.
+ * @param <B> The Bot configuration
+ * @param <I> input type.
+ * @param <O> output type.
+ * @param <K> kind type.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public interface KindHandler<B extends BotConfiguration, I, O, K> extends Handler<B, I, O> {
+
+    /**
+     *
+     * @return The kinds of input the handler accepts. A handler which accepts no kinds is never asked whether it can handle an input.
+     */
+    @NonNull
+    Set<K> getKinds();
+
+    /**
+     *
+     * @return The parser used to derive the kind of the input.
+     */
+    @NonNull
+    KindParser<I, K> getKindParser();
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.Optional;
+
+/**
+ * Derives the kind of an input. E.g. whether a Telegram update is a message or a callback query.
+ * @param <I> input type.
+ * @param <K> kind type.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@FunctionalInterface
+public interface KindParser<I, K> {
+
+    /**
+     *
+     * @param input The input
+     * @return The kind of the input or an empty optional if it cannot be derived
+     */
+    @NonNull
+    Optional<K> parse(@NonNull I input);
+}
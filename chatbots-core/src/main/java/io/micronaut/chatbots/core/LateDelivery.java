@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.context.annotation.DefaultImplementation;
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * Receives the output of a handler which completed after the deadline configured with {@link ChatbotsConfiguration#getDeadline()}.
+ * The webhook has already been acknowledged without a response. Thus, implementations deliver the output out of band. E.g. calling the platform's API.
+ * @param <B> The Bot configuration
+ * @param <I> input type.
+ * @param <O> output type.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@DefaultImplementation(DefaultLateDelivery.class)
+@FunctionalInterface
+public interface LateDelivery<B extends BotConfiguration, I, O> {
+
+    /**
+     * Delivers the output of a handler which completed after the deadline.
+     * @param context dispatch context of the request which was acknowledged without a response
+     * @param output output of the handler
+     */
+    void deliver(@NonNull DispatchContext<B, I> context, @NonNull O output);
+
+    /**
+     * Invoked when a handler fails after the deadline.
+     * @param context dispatch context of the request which was acknowledged without a response
+     * @param error failure of the handler
+     */
+    default void onError(@NonNull DispatchContext<B, I> context, @NonNull Throwable error) {
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.context.annotation.Executable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a bean method as the handler of a slash command. E.g. {@code @OnCommand("/about")}.
+ * The method may declare parameters of type {@link DispatchContext}, the bot configuration and the input, in any order.
+ * It may return the output, an {@link java.util.Optional} of the output, a {@link java.util.concurrent.CompletionStage} of either or void.
+ * The method is invoked through the {@link io.micronaut.inject.ExecutableMethod} generated at compilation time. Thus, no reflection is involved.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Executable(processOnStartup = true)
+public @interface OnCommand {
+
+    /**
+     * Default handler order. The same as the order of command handler beans.
+     */
+    int DEFAULT_ORDER = -10;
+
+    /**
+     *
+     * @return A slash command. E.g. /help
+     */
+    String value();
+
+    /**
+     *
+     * @return The order of the handler relative to the rest of handlers.
+     */
+    int order() default DEFAULT_ORDER;
+}
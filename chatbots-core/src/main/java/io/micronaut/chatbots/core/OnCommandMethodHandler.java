@@ -0,0 +1,302 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.type.Argument;
+import io.micronaut.inject.BeanDefinition;
+import io.micronaut.inject.ExecutableMethod;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * {@link SlashCommandHandler} which invokes a method annotated with {@link OnCommand}.
+ * Arguments are bound by type when the handler is created, thus invoking the method only requires the generated {@link ExecutableMethod}.
+ * @param <B> The Bot configuration
+ * @param <I> input type.
+ * @param <O> output type.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Internal
+final class OnCommandMethodHandler<B extends BotConfiguration, I, O> implements SlashCommandHandler<B, I, O>, AsyncHandler<B, I, O> {
+
+    private final BeanContext beanContext;
+    private final BeanDefinition<Object> beanDefinition;
+    private final ExecutableMethod<Object, Object> method;
+    private final Binding[] bindings;
+    private final String command;
+    private final int order;
+    private final SlashCommandParser<I> slashCommandParser;
+    private final Set<String> bots;
+    private final Class<?> botType;
+    private final Class<?> inputType;
+    @Nullable
+    private final Class<?> outputType;
+    private volatile Object bean;
+
+    private OnCommandMethodHandler(BeanContext beanContext,
+                                   BeanDefinition<Object> beanDefinition,
+                                   ExecutableMethod<Object, Object> method,
+                                   Binding[] bindings,
+                                   String command,
+                                   int order,
+                                   SlashCommandParser<I> slashCommandParser,
+                                   Set<String> bots,
+                                   Class<?> botType,
+                                   Class<?> inputType,
+                                   @Nullable Class<?> outputType) {
+        this.beanContext = beanContext;
+        this.beanDefinition = beanDefinition;
+        this.method = method;
+        this.bindings = bindings;
+        this.command = command;
+        this.order = order;
+        this.slashCommandParser = slashCommandParser;
+        this.bots = bots;
+        this.botType = botType;
+        this.inputType = inputType;
+        this.outputType = outputType;
+    }
+
+    /**
+     * Binds the method arguments, resolves the bot, input and output types of the method and the slash command parser for its input type.
+     * @param beanContext Bean Context
+     * @param beanDefinition Definition of the bean declaring the method
+     * @param method Method annotated with {@link OnCommand}
+     * @return A handler which invokes the method
+     * @throws ConfigurationException if the command is blank or the input type cannot be determined from the method arguments
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull
+    static OnCommandMethodHandler<?, ?, ?> of(@NonNull BeanContext beanContext,
+                                              @NonNull BeanDefinition<?> beanDefinition,
+                                              @NonNull ExecutableMethod<?, ?> method) {
+        String command = method.stringValue(OnCommand.class)
+            .filter(value -> !value.isBlank())
+            .orElseThrow(() -> new ConfigurationException("@OnCommand of method " + method + " does not declare a command"));
+        int order = method.intValue(OnCommand.class, "order").orElse(OnCommand.DEFAULT_ORDER);
+        Argument<?>[] arguments = method.getArguments();
+        Binding[] bindings = new Binding[arguments.length];
+        Class<?> botType = null;
+        Class<?> inputType = null;
+        for (int i = 0; i < arguments.length; i++) {
+            Argument<?> argument = arguments[i];
+            if (DispatchContext.class.isAssignableFrom(argument.getType())) {
+                bindings[i] = Binding.CONTEXT;
+                Argument<?>[] typeParameters = argument.getTypeParameters();
+                if (typeParameters.length == 2) {
+                    botType = botType == null ? typeParameters[0].getType() : botType;
+                    inputType = inputType == null ? typeParameters[1].getType() : inputType;
+                }
+            } else if (BotConfiguration.class.isAssignableFrom(argument.getType())) {
+                bindings[i] = Binding.BOT;
+                botType = argument.getType();
+            } else {
+                bindings[i] = Binding.INPUT;
+                inputType = argument.getType();
+            }
+        }
+        if (inputType == null || inputType == Object.class) {
+            throw new ConfigurationException("Cannot determine the input type of method " + method + ". Declare an input or a DispatchContext argument with type arguments");
+        }
+        SlashCommandParser<Object> parser = beanContext.getBean(Argument.of(SlashCommandParser.class, inputType));
+        String[] bots = method.hasDeclaredAnnotation(Bots.class)
+            ? method.stringValues(Bots.class)
+            : beanDefinition.stringValues(Bots.class);
+        return new OnCommandMethodHandler<>(beanContext,
+            (BeanDefinition<Object>) beanDefinition,
+            (ExecutableMethod<Object, Object>) method,
+            bindings,
+            command,
+            order,
+            new InputTypeParser<>(inputType, parser),
+            Set.copyOf(Arrays.asList(bots)),
+            botType == null || !BotConfiguration.class.isAssignableFrom(botType) ? BotConfiguration.class : botType,
+            inputType,
+            outputType(method.getReturnType().asArgument()));
+    }
+
+    /**
+     *
+     * @param returnType Return type of the method
+     * @return The type of the output, unwrapping {@link Optional} and {@link CompletionStage}, or null if the method does not declare it. E.g. void or Object.
+     */
+    @Nullable
+    private static Class<?> outputType(@NonNull Argument<?> returnType) {
+        Argument<?> argument = returnType;
+        while (Optional.class == argument.getType() || CompletionStage.class.isAssignableFrom(argument.getType())) {
+            Argument<?>[] typeParameters = argument.getTypeParameters();
+            if (typeParameters.length != 1) {
+                return null;
+            }
+            argument = typeParameters[0];
+        }
+        Class<?> type = argument.getType();
+        return type == void.class || type == Void.class || type == Object.class ? null : type;
+    }
+
+    @Override
+    @NonNull
+    public String getCommand() {
+        return command;
+    }
+
+    @Override
+    @NonNull
+    public SlashCommandParser<I> getSlashCommandParser() {
+        return slashCommandParser;
+    }
+
+    /**
+     *
+     * @return Names of the bots the method is restricted to. Empty if it serves every bot.
+     */
+    @NonNull
+    Set<String> getBots() {
+        return bots;
+    }
+
+    /**
+     * Whether the method can be invoked by a dispatcher with the supplied type arguments. A type argument which is not resolved matches every method.
+     * @param typeArguments The bot configuration, input and output type arguments of the dispatcher
+     * @return true if the method accepts the dispatcher's bot configuration and input, and its output, if declared, is an instance of the dispatcher's output type
+     */
+    boolean matches(@NonNull Argument<?>... typeArguments) {
+        if (typeArguments.length != 3) {
+            return true;
+        }
+        return matches(typeArguments[0], botType)
+            && matches(typeArguments[1], inputType)
+            && (outputType == null || typeArguments[2].isTypeVariable() || typeArguments[2].getType().isAssignableFrom(outputType));
+    }
+
+    private static boolean matches(@NonNull Argument<?> typeArgument, @NonNull Class<?> declaredType) {
+        return typeArgument.isTypeVariable()
+            || typeArgument.getType() == Object.class
+            || declaredType.isAssignableFrom(typeArgument.getType());
+    }
+
+    /**
+     *
+     * @return The declaring class and the name of the method. E.g. example.EchoCommands#echo
+     */
+    @NonNull
+    String getName() {
+        return beanDefinition.getBeanType().getName() + "#" + method.getMethodName();
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+
+    @Override
+    public boolean canHandle(@Nullable B bot,
+                             @NonNull @NotNull I input) {
+        return canHandle(DispatchContext.of(bot, input));
+    }
+
+    @Override
+    public boolean canHandle(@NonNull @NotNull DispatchContext<B, I> context) {
+        if (context.getBot() != null && !botType.isInstance(context.getBot())) {
+            return false;
+        }
+        return context.getSlashCommand(slashCommandParser)
+            .filter(slashCommand -> slashCommand.startsWith(command))
+            .isPresent();
+    }
+
+    @Override
+    @NonNull
+    public CompletionStage<Optional<O>> handleAsync(@NonNull @NotNull DispatchContext<B, I> context) {
+        Object[] values = new Object[bindings.length];
+        for (int i = 0; i < bindings.length; i++) {
+            values[i] = switch (bindings[i]) {
+                case CONTEXT -> context;
+                case BOT -> context.getBot();
+                case INPUT -> context.getInput();
+            };
+        }
+        Object result = method.invoke(getBean(), values);
+        if (result instanceof CompletionStage<?> stage) {
+            return stage.thenApply(this::toOptional);
+        }
+        return CompletableFuture.completedFuture(toOptional(result));
+    }
+
+    @NonNull
+    private Object getBean() {
+        Object result = bean;
+        if (result == null) {
+            result = beanContext.getBean(beanDefinition);
+            bean = result;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    @NonNull
+    private Optional<O> toOptional(@Nullable Object result) {
+        if (result == null) {
+            return Optional.empty();
+        }
+        if (result instanceof Optional<?> optional) {
+            return (Optional<O>) optional;
+        }
+        return Optional.of((O) result);
+    }
+
+    @Override
+    public String toString() {
+        return "@OnCommand(\"" + command + "\") " + method;
+    }
+
+    private enum Binding {
+        CONTEXT, BOT, INPUT
+    }
+
+    /**
+     * Parses only the inputs of the method's input type. Thus, a dispatcher whose type arguments are not resolved never hands an input of another type to the parser.
+     * Parsers are equal if they delegate to the same parser for the same input type, thus methods with the same input type share a command index and the parsed slash command.
+     * @param inputType The method's input type
+     * @param delegate The parser of the method's input type
+     * @param <I> input type.
+     */
+    private record InputTypeParser<I>(Class<?> inputType, SlashCommandParser<I> delegate) implements SlashCommandParser<I> {
+
+        @Override
+        @NonNull
+        public Optional<String> parse(@NonNull I input) {
+            return inputType.isInstance(input) ? delegate.parse(input) : Optional.empty();
+        }
+
+        @Override
+        @NonNull
+        public Optional<SlashCommand> parseCommand(@Nullable BotConfiguration bot, @NonNull I input) {
+            return inputType.isInstance(input) ? delegate.parseCommand(bot, input) : Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.processor.ExecutableMethodProcessor;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.inject.BeanDefinition;
+import io.micronaut.inject.ExecutableMethod;
+import jakarta.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the methods annotated with {@link OnCommand} when the application context starts and adapts each of them to a {@link SlashCommandHandler}.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Internal
+@Singleton
+public class OnCommandMethodProcessor implements ExecutableMethodProcessor<OnCommand> {
+
+    private final BeanContext beanContext;
+    private final List<SlashCommandHandler<?, ?, ?>> handlers = new ArrayList<>();
+
+    /**
+     *
+     * @param beanContext Bean Context
+     */
+    public OnCommandMethodProcessor(BeanContext beanContext) {
+        this.beanContext = beanContext;
+    }
+
+    @Override
+    public void process(BeanDefinition<?> beanDefinition, ExecutableMethod<?, ?> method) {
+        OnCommandMethodHandler<?, ?, ?> handler = OnCommandMethodHandler.of(beanContext, beanDefinition, method);
+        synchronized (handlers) {
+            handlers.add(handler);
+        }
+    }
+
+    /**
+     *
+     * @return The handlers of the methods annotated with {@link OnCommand}, in processing order.
+     */
+    @NonNull
+    public List<SlashCommandHandler<?, ?, ?>> getHandlers() {
+        synchronized (handlers) {
+            return Collections.unmodifiableList(new ArrayList<>(handlers));
+        }
+    }
+}
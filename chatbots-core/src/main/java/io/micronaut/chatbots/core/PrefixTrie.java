@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable character trie. Given a text, it returns the values registered for every key which is a prefix of the text.
+ * Lookups cost is proportional to the length of the text and independent of the number of keys.
+ * @param <V> value type
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Internal
+public final class PrefixTrie<V> {
+
+    private final Node<V> root;
+
+    private PrefixTrie(Node<V> root) {
+        this.root = root;
+    }
+
+    /**
+     *
+     * @param <V> value type
+     * @return A builder to populate a trie.
+     */
+    @NonNull
+    public static <V> Builder<V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     *
+     * @return Whether the trie contains no keys.
+     */
+    public boolean isEmpty() {
+        return root.children().isEmpty() && root.values().isEmpty();
+    }
+
+    /**
+     * Returns the values of every key which is a prefix of the supplied text. Values of shorter keys come first and values sharing a key are returned in insertion order.
+     * @param text Text
+     * @return the values of every key which is a prefix of the text or an empty list.
+     */
+    @NonNull
+    public List<V> findPrefixesOf(@NonNull CharSequence text) {
+        List<V> result = root.values();
+        List<V> merged = null;
+        Node<V> node = root;
+        for (int i = 0; i < text.length(); i++) {
+            node = node.children().get(text.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (!node.values().isEmpty()) {
+                if (result.isEmpty()) {
+                    result = node.values();
+                } else {
+                    if (merged == null) {
+                        merged = new ArrayList<>(result);
+                    }
+                    merged.addAll(node.values());
+                }
+            }
+        }
+        return merged != null ? merged : result;
+    }
+
+    /**
+     * Builder for {@link PrefixTrie}.
+     * @param <V> value type
+     */
+    public static final class Builder<V> {
+        private final MutableNode<V> root = new MutableNode<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Registers a value for a key. A key may be registered several times.
+         * @param key Key
+         * @param value Value
+         * @return The builder
+         */
+        @NonNull
+        public Builder<V> put(@NonNull CharSequence key, @NonNull V value) {
+            MutableNode<V> node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new MutableNode<>());
+            }
+            node.values.add(value);
+            return this;
+        }
+
+        /**
+         *
+         * @return An immutable trie
+         */
+        @NonNull
+        public PrefixTrie<V> build() {
+            return new PrefixTrie<>(root.freeze());
+        }
+    }
+
+    private static final class MutableNode<V> {
+        private final Map<Character, MutableNode<V>> children = new HashMap<>();
+        private final List<V> values = new ArrayList<>();
+
+        private Node<V> freeze() {
+            Map<Character, Node<V>> frozen = new HashMap<>(children.size());
+            children.forEach((c, child) -> frozen.put(c, child.freeze()));
+            return new Node<>(frozen.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(frozen),
+                values.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(values)));
+        }
+    }
+
+    private record Node<V>(Map<Character, Node<V>> children, List<V> values) {
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs tasks on a fixed number of serial lanes. Tasks submitted with the same key run on the same lane, one after another in submission order, while tasks of different lanes run in parallel on the supplied executor.
+ * A task is asynchronous: the next task of its lane starts once the stage returned by the task completes or, for a {@link DeadlineFuture}, once it settles. Thus, the result of a task may complete before the next task starts. No thread is held while a lane is idle or while a task's stage is pending.
+ * Each lane queues at most a fixed number of pending tasks. Once the queue is full, submitting a task to the lane fails with a {@link RejectedExecutionException}.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public final class SerialLaneExecutor {
+
+    private final Lane[] lanes;
+    private final int queueDepth;
+    private final Executor executor;
+
+    /**
+     *
+     * @param lanes Number of lanes
+     * @param queueDepth Maximum number of pending tasks per lane
+     * @param executor Executor where the tasks run
+     */
+    public SerialLaneExecutor(int lanes, int queueDepth, @NonNull Executor executor) {
+        if (lanes < 1) {
+            throw new IllegalArgumentException("lanes must be greater than zero");
+        }
+        if (queueDepth < 0) {
+            throw new IllegalArgumentException("queueDepth must not be negative");
+        }
+        this.lanes = new Lane[lanes];
+        for (int i = 0; i < lanes; i++) {
+            this.lanes[i] = new Lane();
+        }
+        this.queueDepth = queueDepth;
+        this.executor = executor;
+    }
+
+    /**
+     *
+     * @return Number of lanes
+     */
+    public int getLanes() {
+        return lanes.length;
+    }
+
+    /**
+     * Submits a task to the lane of the supplied key.
+     * @param key Key. Tasks with equal keys run serially.
+     * @param task Task
+     * @param <T> result type
+     * @return A stage which completes with the result of the task's stage or exceptionally with a {@link RejectedExecutionException} if the lane's queue is full.
+     */
+    @NonNull
+    public <T> CompletableFuture<T> submit(@NonNull Object key, @NonNull Supplier<? extends CompletionStage<T>> task) {
+        int hash = key.hashCode();
+        Lane lane = lanes[Math.floorMod(hash ^ (hash >>> 16), lanes.length)];
+        LaneTask<T> laneTask = new LaneTask<>(task, new CompletableFuture<>());
+        synchronized (lane) {
+            if (lane.running) {
+                if (lane.pending.size() >= queueDepth) {
+                    return CompletableFuture.failedFuture(new RejectedExecutionException("Lane queue is full"));
+                }
+                lane.pending.add(laneTask);
+                return laneTask.result();
+            }
+            lane.running = true;
+        }
+        execute(lane, laneTask);
+        return laneTask.result();
+    }
+
+    private void next(@NonNull Lane lane) {
+        LaneTask<?> laneTask;
+        synchronized (lane) {
+            laneTask = lane.pending.poll();
+            if (laneTask == null) {
+                lane.running = false;
+                return;
+            }
+        }
+        execute(lane, laneTask);
+    }
+
+    private void execute(@NonNull Lane lane, @NonNull LaneTask<?> laneTask) {
+        try {
+            executor.execute(() -> laneTask.run(() -> next(lane)));
+        } catch (RejectedExecutionException e) {
+            List<LaneTask<?>> rejected = new ArrayList<>();
+            rejected.add(laneTask);
+            synchronized (lane) {
+                rejected.addAll(lane.pending);
+                lane.pending.clear();
+                lane.running = false;
+            }
+            for (LaneTask<?> task : rejected) {
+                task.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    private record LaneTask<T>(Supplier<? extends CompletionStage<T>> task, CompletableFuture<T> result) {
+
+        void run(@NonNull Runnable onComplete) {
+            CompletionStage<T> stage;
+            try {
+                stage = task.get();
+            } catch (RuntimeException e) {
+                stage = CompletableFuture.failedFuture(e);
+            }
+            boolean deadline = stage instanceof DeadlineFuture<?>;
+            stage.whenComplete((value, e) -> {
+                if (e != null) {
+                    result.completeExceptionally(e);
+                } else {
+                    result.complete(value);
+                }
+                if (!deadline) {
+                    onComplete.run();
+                }
+            });
+            if (deadline) {
+                DeadlineFuture.settled(stage).whenComplete((value, e) -> onComplete.run());
+            }
+        }
+    }
+
+    private static final class Lane {
+        private final Queue<LaneTask<?>> pending = new ArrayDeque<>();
+        private boolean running;
+    }
+}
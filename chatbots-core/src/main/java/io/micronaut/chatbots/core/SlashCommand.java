@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.nio.CharBuffer;
+
+/**
+ * A slash command split into the command and its arguments. Both parts are views over the text the command was parsed from, the text is not copied.
+ * As a {@link CharSequence}, a slash command reads as the command followed, if it has arguments, by a single space and the arguments. E.g. /help me
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public final class SlashCommand implements CharSequence {
+
+    private static final CharSequence NO_ARGUMENTS = "";
+
+    @NonNull
+    private final CharSequence command;
+
+    @NonNull
+    private final CharSequence arguments;
+
+    private String text;
+
+    private SlashCommand(@NonNull CharSequence command, @NonNull CharSequence arguments) {
+        this.command = command;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Splits a slash command at the first whitespace. Leading and trailing whitespace of the command and the arguments is ignored.
+     * @param text Slash command. E.g. /help me
+     * @return The slash command split into the command and its arguments
+     */
+    @NonNull
+    public static SlashCommand of(@NonNull CharSequence text) {
+        int start = skipWhitespace(text, 0, text.length());
+        int end = start;
+        while (end < text.length() && !Character.isWhitespace(text.charAt(end))) {
+            end++;
+        }
+        return of(text, start, end, end, text.length());
+    }
+
+    /**
+     * Creates a slash command from ranges of a text. Leading and trailing whitespace of the arguments is ignored.
+     * @param source Text the command was parsed from
+     * @param commandStart Index of the first character of the command
+     * @param commandEnd Index after the last character of the command
+     * @param argumentsStart Index of the first character of the arguments
+     * @param argumentsEnd Index after the last character of the arguments
+     * @return The slash command
+     */
+    @NonNull
+    public static SlashCommand of(@NonNull CharSequence source,
+                                  int commandStart,
+                                  int commandEnd,
+                                  int argumentsStart,
+                                  int argumentsEnd) {
+        int start = skipWhitespace(source, argumentsStart, argumentsEnd);
+        int end = argumentsEnd;
+        while (end > start && Character.isWhitespace(source.charAt(end - 1))) {
+            end--;
+        }
+        return new SlashCommand(slice(source, commandStart, commandEnd),
+            start == end ? NO_ARGUMENTS : slice(source, start, end));
+    }
+
+    /**
+     *
+     * @return The command, without arguments. E.g. /help
+     */
+    @NonNull
+    public CharSequence getCommand() {
+        return command;
+    }
+
+    /**
+     *
+     * @return The arguments of the command or an empty sequence if the command has no arguments. E.g. me
+     */
+    @NonNull
+    public CharSequence getArguments() {
+        return arguments;
+    }
+
+    /**
+     *
+     * @return Whether the command has arguments.
+     */
+    public boolean hasArguments() {
+        return arguments.length() > 0;
+    }
+
+    @Override
+    public int length() {
+        return hasArguments() ? command.length() + 1 + arguments.length() : command.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < command.length()) {
+            return command.charAt(index);
+        }
+        if (index == command.length() && hasArguments()) {
+            return ' ';
+        }
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return arguments.charAt(index - command.length() - 1);
+    }
+
+    @Override
+    @NonNull
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    @Override
+    @NonNull
+    public String toString() {
+        String result = text;
+        if (result == null) {
+            result = hasArguments() ? command + " " + arguments : command.toString();
+            text = result;
+        }
+        return result;
+    }
+
+    private static int skipWhitespace(@NonNull CharSequence text, int start, int end) {
+        int result = start;
+        while (result < end && Character.isWhitespace(text.charAt(result))) {
+            result++;
+        }
+        return result;
+    }
+
+    @NonNull
+    private static CharSequence slice(@NonNull CharSequence source, int start, int end) {
+        return start == 0 && end == source.length() ? source : CharBuffer.wrap(source, start, end);
+    }
+}
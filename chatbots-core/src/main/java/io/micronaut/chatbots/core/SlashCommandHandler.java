@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * A {@link Handler} which responds to a single slash command. E.g. /help
+ * {@link DefaultDispatcher} indexes these handlers by {@link #getCommand()}, and only asks a handler whether it {@link #canHandle} an input if the slash command parsed with {@link #getSlashCommandParser()} starts with the handler's command.
+ * @param <B> The Bot configuration
+ * @param <I> input type.
+ * @param <O> output type.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public interface SlashCommandHandler<B extends BotConfiguration, I, O> extends Handler<B, I, O> {
+
+    /**
+     *
+     * @return A slash command. E.g. /help
+     */
+    @NonNull
+    String getCommand();
+
+    /**
+     *
+     * @return The parser used to extract the slash command from the input.
+     */
+    @NonNull
+    SlashCommandParser<I> getSlashCommandParser();
+}
@@ -16,6 +16,7 @@
 package io.micronaut.chatbots.core;
 
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 
 import java.util.Optional;
 
@@ -30,4 +31,16 @@ public interface SlashCommandParser<I> {
 
     @NonNull
     Optional<String> parse(@NonNull I input);
+
+    /**
+     * Parses the slash command of the input into the command and its arguments. The default implementation splits the result of {@link #parse(Object)} at the first whitespace.
+     * @param bot bot being asked to handle the input or null if unknown. Parsers may use it to discard commands addressed to other bots.
+     * @param input input
+     * @return The slash command split into the command and its arguments
+     * @since 1.3.0
+     */
+    @NonNull
+    default Optional<SlashCommand> parseCommand(@Nullable BotConfiguration bot, @NonNull I input) {
+        return parse(input).map(SlashCommand::of);
+    }
 }
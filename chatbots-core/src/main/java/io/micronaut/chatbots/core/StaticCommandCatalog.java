@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.core;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.Map;
+
+/**
+ * Static command resources of a folder, captured at compilation time. Implementations are generated by the {@code micronaut-chatbots-processor} annotation processor and loaded with {@link io.micronaut.core.io.service.SoftServiceLoader}.
+ * {@link DefaultTextResourceLoader} serves the commands of a folder covered by a catalog once their catalog text matches the classpath resource.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public interface StaticCommandCatalog {
+
+    /**
+     *
+     * @return The folder whose resources the catalog holds, without leading slash and with a trailing slash. E.g. {@code botcommands/}
+     */
+    @NonNull
+    String getFolder();
+
+    /**
+     *
+     * @return The text of every resource in the folder keyed by resource path. E.g. {@code botcommands/about.md}
+     */
+    @NonNull
+    Map<String, String> getResources();
+}
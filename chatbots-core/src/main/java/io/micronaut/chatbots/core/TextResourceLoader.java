@@ -37,4 +37,16 @@ public interface TextResourceLoader {
      */
     @NonNull
     Optional<CommandResponse> composeCommandResponse(@NonNull @NotBlank String command);
+
+    /**
+     * Composes a command response template for a given command. The default implementation compiles the static command response on every invocation.
+     * @param command Command
+     * @return command response template.
+     * @since 1.3.0
+     */
+    @NonNull
+    default Optional<CommandTemplateResponse> composeCommandTemplate(@NonNull @NotBlank String command) {
+        return composeCommandResponse(command)
+            .map(response -> new CommandTemplateResponse(response.extension(), CommandTemplate.compile(response.text())));
+    }
 }
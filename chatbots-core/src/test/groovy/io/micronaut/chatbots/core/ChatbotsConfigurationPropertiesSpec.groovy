@@ -2,6 +2,8 @@ package io.micronaut.chatbots.core
 
 import spock.lang.Specification
 
+import java.time.Duration
+
 class ChatbotsConfigurationPropertiesSpec extends Specification {
 
     void "ChatbotsConfiguration defaults"() {
@@ -11,5 +13,10 @@ class ChatbotsConfigurationPropertiesSpec extends Specification {
         expect:
         conf.enabled
         [FileExtension.MARKDOWN, FileExtension.HTML, FileExtension.TXT] == conf.possibleStaticCommandExtensions
+        conf.deadline == null
+        !conf.parallelCanHandle
+        conf.cacheMaximumSize == 500
+        conf.notFoundCacheMaximumSize == 100
+        conf.notFoundCacheTtl == Duration.ofMinutes(1)
     }
 }
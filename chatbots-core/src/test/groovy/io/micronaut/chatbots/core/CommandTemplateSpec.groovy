@@ -0,0 +1,77 @@
+package io.micronaut.chatbots.core
+
+import io.micronaut.core.annotation.Introspected
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CommandTemplateSpec extends Specification {
+
+    void "placeholders are replaced with the values of a map"() {
+        given:
+        CommandTemplate template = CommandTemplate.compile('Hi {first_name}, you have {n} tasks')
+
+        expect:
+        template.placeholders == ['first_name', 'n']
+        template.render([first_name: 'Sergio', n: 3]) == 'Hi Sergio, you have 3 tasks'
+    }
+
+    void "placeholders are replaced with the properties of an introspected bean"() {
+        expect:
+        CommandTemplate.compile('{firstName} has {tasks} tasks').render(new Model(firstName: 'Sergio', tasks: 2)) == 'Sergio has 2 tasks'
+    }
+
+    void "placeholders without a value render as an empty string"() {
+        expect:
+        CommandTemplate.compile('Hi {first_name}!').render([:]) == 'Hi !'
+        CommandTemplate.compile('Hi {first_name}!').render { name -> null } == 'Hi !'
+    }
+
+    @Unroll
+    void "#text is rendered verbatim"(String text) {
+        when:
+        CommandTemplate template = CommandTemplate.compile(text)
+
+        then:
+        template.placeholders.isEmpty()
+        template.render([:]).is(text)
+
+        where:
+        text << ['', 'no placeholders', '{', '}', '{}', '{ name }', '{1st}', '{name', 'f(x) = {x + 1}', '```json\n{"a": 1}\n```']
+    }
+
+    void "a template may start and end with placeholders"() {
+        expect:
+        CommandTemplate.compile('{a}{b} and {c}').render([a: 1, b: 2, c: 3]) == '12 and 3'
+    }
+
+    @Unroll
+    void "two opening braces render a literal brace: #text"(String text, String expected) {
+        expect:
+        CommandTemplate.compile(text).render([name: 'Sergio']) == expected
+
+        where:
+        text                  | expected
+        '{{name}'             | '{name}'
+        '{{name} is {name}'   | '{name} is Sergio'
+        '{{{name}'            | '{Sergio'
+        '{name}{{'            | 'Sergio{'
+        'a {{ b'              | 'a { b'
+    }
+
+    void "values are escaped and literals are not"() {
+        expect:
+        CommandTemplate.compile('<b>{name}</b>').render([name: '<i>'], value -> value.replace('<', '&lt;')) == '<b>&lt;i></b>'
+        CommandTemplate.compile('<b>{name}</b>').render(new BeanModel(name: '<i>'), value -> value.replace('<', '&lt;')) == '<b>&lt;i></b>'
+    }
+
+    @Introspected
+    static class BeanModel {
+        String name
+    }
+
+    @Introspected
+    static class Model {
+        String firstName
+        int tasks
+    }
+}
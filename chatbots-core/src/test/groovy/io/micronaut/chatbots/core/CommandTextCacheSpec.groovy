@@ -0,0 +1,138 @@
+package io.micronaut.chatbots.core
+
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.function.Function
+
+class CommandTextCacheSpec extends Specification {
+
+    long now = 0
+
+    CountingLoader loader = new CountingLoader()
+
+    void "resources found are read once"() {
+        given:
+        CommandTextCache cache = new CommandTextCache(10, 10, Duration.ofMinutes(1), () -> now)
+
+        expect:
+        cache.get('botcommands/about.md', loader).get() == 'botcommands/about.md'
+        cache.get('botcommands/about.md', loader).get() == 'botcommands/about.md'
+        loader.calls['botcommands/about.md'] == 1
+        cache.statistics == new CacheStatistics(1, 1, 0)
+    }
+
+    void "resources known not to exist expire"() {
+        given:
+        CommandTextCache cache = new CommandTextCache(10, 10, Duration.ofMinutes(1), () -> now)
+
+        when:
+        cache.get('botcommands/random.md', loader)
+        now += Duration.ofSeconds(59).toNanos()
+        cache.get('botcommands/random.md', loader)
+
+        then:
+        loader.calls['botcommands/random.md'] == 1
+
+        when:
+        now += Duration.ofSeconds(1).toNanos()
+        cache.get('botcommands/random.md', loader)
+
+        then:
+        loader.calls['botcommands/random.md'] == 2
+        cache.statistics == new CacheStatistics(1, 2, 1)
+    }
+
+    void "resources known not to exist are bounded and don't evict resources found"() {
+        given:
+        CommandTextCache cache = new CommandTextCache(10, 5, Duration.ofMinutes(1), () -> now)
+        cache.get('botcommands/about.md', loader)
+
+        when:
+        1000.times { cache.get("botcommands/random${it}.md".toString(), loader) }
+
+        then:
+        cache.notFound.size() <= 5
+        cache.statistics.evictionCount() >= 995
+
+        when:
+        cache.get('botcommands/about.md', loader)
+
+        then:
+        loader.calls['botcommands/about.md'] == 1
+    }
+
+    void "once full, resources accessed less frequently than the eviction candidate are not kept"() {
+        given:
+        CommandTextCache cache = new CommandTextCache(2, 10, Duration.ofMinutes(1), () -> now)
+        3.times {
+            cache.get('botcommands/about.md', loader)
+            cache.get('botcommands/help.md', loader)
+        }
+
+        when:
+        cache.get('botcommands/once.md', loader)
+        cache.get('botcommands/about.md', loader)
+        cache.get('botcommands/help.md', loader)
+
+        then:
+        loader.calls['botcommands/about.md'] == 1
+        loader.calls['botcommands/help.md'] == 1
+
+        when: 'a new resource becomes popular'
+        5.times { cache.get('botcommands/popular.md', loader) }
+
+        then:
+        cache.found.containsKey('botcommands/popular.md')
+        cache.statistics.evictionCount() == 1
+    }
+
+    void "only cached resources are refreshed"() {
+        given:
+        CommandTextCache cache = new CommandTextCache(10, 10, Duration.ofMinutes(1), () -> now)
+        cache.get('botcommands/about.md', loader)
+        cache.get('botcommands/random.md', loader)
+
+        when:
+        cache.refresh('botcommands/about.md', p -> Optional.of('changed'))
+        cache.refresh('botcommands/random.md', p -> Optional.of('created'))
+        cache.refresh('botcommands/other.md', p -> Optional.of('ignored'))
+
+        then:
+        cache.get('botcommands/about.md', loader).get() == 'changed'
+        cache.get('botcommands/random.md', loader).get() == 'created'
+        !cache.found.containsKey('botcommands/other.md')
+
+        when:
+        cache.refresh('botcommands/about.md', p -> Optional.empty())
+
+        then:
+        !cache.get('botcommands/about.md', loader).isPresent()
+        loader.calls['botcommands/about.md'] == 1
+    }
+
+    void "a resource read while it changes is not kept"() {
+        given:
+        CommandTextCache cache = new CommandTextCache(10, 10, Duration.ofMinutes(1), () -> now)
+        Function<String, Optional<String>> staleLoader = { String path ->
+            cache.refresh(path, p -> Optional.of('changed'))
+            Optional.of('stale')
+        } as Function<String, Optional<String>>
+
+        expect:
+        cache.get('botcommands/about.md', staleLoader).get() == 'stale'
+        cache.get('botcommands/about.md', p -> Optional.of('changed')).get() == 'changed'
+        cache.get('botcommands/about.md', loader).get() == 'changed'
+        loader.calls['botcommands/about.md'] == 0
+    }
+
+    static class CountingLoader implements Function<String, Optional<String>> {
+        Map<String, Integer> calls = [:].withDefault { 0 }
+
+        @Override
+        Optional<String> apply(String path) {
+            calls[path]++
+            path.contains('random') ? Optional.<String>empty() : Optional.of(path)
+        }
+    }
+}
@@ -0,0 +1,599 @@
+package io.micronaut.chatbots.core
+
+import io.micronaut.context.BeanRegistration
+import io.micronaut.core.annotation.AnnotationMetadata
+import io.micronaut.core.annotation.NonNull
+import io.micronaut.core.annotation.Nullable
+import io.micronaut.inject.BeanDefinition
+import io.micronaut.inject.BeanIdentifier
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+import spock.util.concurrent.BlockingVariable
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.CompletionStage
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class DefaultDispatcherSpec extends Specification {
+
+    static final SlashCommandParser<String> PARSER = { String input -> input.startsWith('/') ? Optional.of(input) : Optional.<String>empty() } as SlashCommandParser<String>
+
+    @AutoCleanup('shutdownNow')
+    ExecutorService executor = Executors.newCachedThreadPool()
+
+    void "only command handlers matching the slash command are asked whether they can handle the input"() {
+        given:
+        List<CountingCommandHandler> commandHandlers = (1..50).collect { new CountingCommandHandler("/command${it}x") }
+        CountingHandler fallback = new CountingHandler('fallback', 100, true)
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([*commandHandlers, fallback])
+
+        when:
+        Optional<String> response = dispatcher.dispatch(null, '/command42x')
+
+        then:
+        response.get() == '/command42x'
+        commandHandlers.sum { it.canHandleCalls } == 1
+        fallback.canHandleCalls == 0
+
+        when:
+        response = dispatcher.dispatch(null, 'hello')
+
+        then:
+        response.get() == 'fallback'
+        commandHandlers.sum { it.canHandleCalls } == 1
+        fallback.canHandleCalls == 1
+    }
+
+    void "command handlers match commands with arguments and bot username"() {
+        given:
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([new CountingCommandHandler('/about')])
+
+        expect:
+        dispatcher.dispatch(null, '/about').get() == '/about'
+        dispatcher.dispatch(null, '/about me').get() == '/about'
+        !dispatcher.dispatch(null, '/help').isPresent()
+    }
+
+    void "handler order is respected between command handlers and generic handlers"() {
+        given:
+        CountingHandler first = new CountingHandler('first', -100, false)
+        CountingCommandHandler about = new CountingCommandHandler('/about')
+        CountingCommandHandler aboutMe = new CountingCommandHandler('/aboutme')
+        CountingHandler catchAll = new CountingHandler('catchAll', 0, true)
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([first, about, catchAll, aboutMe])
+
+        expect:
+        dispatcher.dispatch(null, '/aboutme').get() == '/about'
+        first.canHandleCalls == 1
+        aboutMe.canHandleCalls == 0
+
+        and:
+        dispatcher.dispatch(null, '/help').get() == 'catchAll'
+        about.canHandleCalls == 1
+    }
+
+    void "dispatchAsync completes when the async handler completes"() {
+        given:
+        CompletableFuture<Optional<String>> pending = new CompletableFuture<>()
+        AsyncHandler<BotConfiguration, String, String> slow = new AsyncHandler<BotConfiguration, String, String>() {
+            @Override
+            boolean canHandle(@Nullable BotConfiguration bot, @NonNull String input) {
+                true
+            }
+
+            @Override
+            CompletionStage<Optional<String>> handleAsync(@NonNull DispatchContext<BotConfiguration, String> context) {
+                pending
+            }
+        }
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([slow])
+
+        when:
+        CompletableFuture<Optional<String>> response = dispatcher.dispatchAsync(null, 'hello').toCompletableFuture()
+
+        then:
+        !response.isDone()
+
+        when:
+        pending.complete(Optional.of('world'))
+
+        then:
+        response.join().get() == 'world'
+    }
+
+    void "dispatchAsync completes synchronous handlers immediately"() {
+        given:
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([new CountingCommandHandler('/about')])
+
+        expect:
+        dispatcher.dispatchAsync(null, '/about').toCompletableFuture().getNow(null).get() == '/about'
+        dispatcher.dispatchAsync(null, '/help').toCompletableFuture().getNow(null).isEmpty()
+    }
+
+    void "dispatchAsync runs synchronous handlers on the handler executor and async handlers on the calling thread"() {
+        given:
+        ExecutorService blocking = Executors.newSingleThreadExecutor(r -> new Thread(r, 'blocking-spec'))
+        BlockingVariable<String> handledOn = new BlockingVariable<>()
+        Handler<BotConfiguration, String, String> sync = new CountingCommandHandler('/about') {
+            @Override
+            Optional<String> handle(@Nullable BotConfiguration bot, @NonNull String input) {
+                handledOn.set(Thread.currentThread().name)
+                super.handle(bot, input)
+            }
+        }
+        String asyncHandledOn = null
+        AsyncHandler<BotConfiguration, String, String> async = new AsyncHandler<BotConfiguration, String, String>() {
+            @Override
+            boolean canHandle(@Nullable BotConfiguration bot, @NonNull String input) {
+                input == 'hello'
+            }
+
+            @Override
+            CompletionStage<Optional<String>> handleAsync(@NonNull DispatchContext<BotConfiguration, String> context) {
+                asyncHandledOn = Thread.currentThread().name
+                CompletableFuture.completedFuture(Optional.of('world'))
+            }
+        }
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([sync, async], null, null, blocking)
+
+        when:
+        Optional<String> about = dispatcher.dispatchAsync(null, '/about').toCompletableFuture().join()
+        Optional<String> hello = dispatcher.dispatchAsync(null, 'hello').toCompletableFuture().join()
+
+        then:
+        about.get() == '/about'
+        handledOn.get() == 'blocking-spec'
+        hello.get() == 'world'
+        asyncHandledOn == Thread.currentThread().name
+
+        cleanup:
+        blocking.shutdownNow()
+    }
+
+    void "exceptions thrown by a handler complete the stage exceptionally"() {
+        given:
+        Handler<BotConfiguration, String, String> failing = new CountingHandler('failing', 0, true) {
+            @Override
+            Optional<String> handle(@Nullable BotConfiguration bot, @NonNull String input) {
+                throw new IllegalStateException('foo')
+            }
+        }
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([failing])
+
+        when:
+        dispatcher.dispatchAsync(null, 'hello').toCompletableFuture().join()
+
+        then:
+        CompletionException e = thrown()
+        e.cause instanceof IllegalStateException
+    }
+
+    void "once the deadline elapses dispatchAsync completes empty and the output is handed to LateDelivery"() {
+        given:
+        CountDownLatch release = new CountDownLatch(1)
+        Handler<BotConfiguration, String, String> slow = new CountingHandler('slow', 0, true) {
+            @Override
+            Optional<String> handle(@Nullable BotConfiguration bot, @NonNull String input) {
+                release.await()
+                Optional.of('slow')
+            }
+        }
+        BlockingVariable<String> delivered = new BlockingVariable<>()
+        LateDelivery<BotConfiguration, String, String> lateDelivery = { ctx, output -> delivered.set(output) } as LateDelivery<BotConfiguration, String, String>
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([slow], new Deadline<>(Duration.ofMillis(50), lateDelivery, executor), null)
+
+        when:
+        CompletionStage<Optional<String>> stage = dispatcher.dispatchAsync(null, 'hello')
+        Optional<String> response = stage.toCompletableFuture().join()
+
+        then:
+        response.isEmpty()
+        !DeadlineFuture.settled(stage).toCompletableFuture().isDone()
+
+        when:
+        release.countDown()
+
+        then:
+        delivered.get() == 'slow'
+        DeadlineFuture.settled(stage).toCompletableFuture().get(5, TimeUnit.SECONDS) == null
+    }
+
+    void "the deadline bounds the time spent asking whether a handler can handle the request"() {
+        given:
+        CountDownLatch release = new CountDownLatch(1)
+        Handler<BotConfiguration, String, String> slow = new CountingHandler('slow', 0, true) {
+            @Override
+            boolean canHandle(@Nullable BotConfiguration bot, @NonNull String input) {
+                release.await()
+                true
+            }
+        }
+        BlockingVariable<String> delivered = new BlockingVariable<>()
+        LateDelivery<BotConfiguration, String, String> lateDelivery = { ctx, output -> delivered.set(output) } as LateDelivery<BotConfiguration, String, String>
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([slow], new Deadline<>(Duration.ofMillis(50), lateDelivery, executor), null)
+
+        when:
+        Optional<String> response = dispatcher.dispatchAsync(null, 'hello').toCompletableFuture().join()
+
+        then:
+        response.isEmpty()
+
+        when:
+        release.countDown()
+
+        then:
+        delivered.get() == 'slow'
+    }
+
+    void "handlers completing before the deadline respond to the request"() {
+        given:
+        LateDelivery<BotConfiguration, String, String> lateDelivery = Mock()
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([new CountingHandler('fast', 0, true)], new Deadline<>(Duration.ofSeconds(5), lateDelivery, executor), null)
+
+        when:
+        Optional<String> response = dispatcher.dispatchAsync(null, 'hello').toCompletableFuture().join()
+
+        then:
+        response.get() == 'fast'
+        0 * lateDelivery._
+    }
+
+    void "failures after the deadline are handed to LateDelivery"() {
+        given:
+        CountDownLatch release = new CountDownLatch(1)
+        Handler<BotConfiguration, String, String> failing = new CountingHandler('failing', 0, true) {
+            @Override
+            Optional<String> handle(@Nullable BotConfiguration bot, @NonNull String input) {
+                release.await()
+                throw new IllegalStateException('foo')
+            }
+        }
+        BlockingVariable<Throwable> failure = new BlockingVariable<>()
+        LateDelivery<BotConfiguration, String, String> lateDelivery = new LateDelivery<BotConfiguration, String, String>() {
+            @Override
+            void deliver(@NonNull DispatchContext<BotConfiguration, String> context, @NonNull String output) {
+            }
+
+            @Override
+            void onError(@NonNull DispatchContext<BotConfiguration, String> context, @NonNull Throwable error) {
+                failure.set(error)
+            }
+        }
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([failing], new Deadline<>(Duration.ofMillis(50), lateDelivery, executor), null)
+
+        when:
+        Optional<String> response = dispatcher.dispatchAsync(null, 'hello').toCompletableFuture().join()
+        release.countDown()
+
+        then:
+        response.isEmpty()
+        failure.get() instanceof IllegalStateException
+    }
+
+    void "with parallel can handle every candidate is asked concurrently"() {
+        given:
+        CountDownLatch asked = new CountDownLatch(3)
+        List<Handler<BotConfiguration, String, String>> handlers = [false, false, true].withIndex().collect { boolean accepts, int i ->
+            (Handler<BotConfiguration, String, String>) new CountingHandler("handler${i}", i, accepts) {
+                @Override
+                boolean canHandle(@Nullable BotConfiguration bot, @NonNull String input) {
+                    asked.countDown()
+                    asked.await(5, TimeUnit.SECONDS) && accepts
+                }
+            }
+        }
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>(handlers, null, executor)
+
+        expect:
+        dispatcher.dispatch(null, 'hello').get() == 'handler2'
+    }
+
+    void "with parallel can handle the first handler in order wins and the remaining evaluations are cancelled"() {
+        given:
+        CountDownLatch lastAsked = new CountDownLatch(1)
+        BlockingVariable<Boolean> interrupted = new BlockingVariable<>()
+        Handler<BotConfiguration, String, String> slow = new CountingHandler('slow', 0, true) {
+            @Override
+            boolean canHandle(@Nullable BotConfiguration bot, @NonNull String input) {
+                lastAsked.await()
+                true
+            }
+        }
+        Handler<BotConfiguration, String, String> fast = new CountingHandler('fast', 1, true)
+        Handler<BotConfiguration, String, String> stuck = new CountingHandler('stuck', 2, true) {
+            @Override
+            boolean canHandle(@Nullable BotConfiguration bot, @NonNull String input) {
+                lastAsked.countDown()
+                try {
+                    new CountDownLatch(1).await()
+                } catch (InterruptedException e) {
+                    interrupted.set(true)
+                }
+                false
+            }
+        }
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([slow, fast, stuck], null, executor)
+
+        expect:
+        dispatcher.dispatch(null, 'hello').get() == 'slow'
+        interrupted.get()
+    }
+
+    void "with parallel can handle exceptions thrown by canHandle are propagated"() {
+        given:
+        Handler<BotConfiguration, String, String> failing = new CountingHandler('failing', 0, true) {
+            @Override
+            boolean canHandle(@Nullable BotConfiguration bot, @NonNull String input) {
+                throw new IllegalStateException('foo')
+            }
+        }
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([failing, new CountingHandler('fallback', 1, true)], null, executor)
+
+        when:
+        dispatcher.dispatch(null, 'hello')
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    void "kind handlers are only asked whether they can handle inputs of the kinds they accept"() {
+        given:
+        CountingHandler first = new CountingHandler('first', 0, false)
+        CountingKindHandler upper = new CountingKindHandler('upper', 1, ['UPPER'])
+        CountingKindHandler lower = new CountingKindHandler('lower', 2, ['lower'])
+        CountingHandler fallback = new CountingHandler('fallback', 3, true)
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([first, upper, lower, fallback])
+
+        expect:
+        dispatcher.dispatch(null, 'HELLO').get() == 'upper'
+        dispatcher.dispatch(null, 'hello').get() == 'lower'
+        dispatcher.dispatch(null, 'Hello').get() == 'fallback'
+        first.canHandleCalls == 3
+        upper.canHandleCalls == 1
+        lower.canHandleCalls == 1
+        fallback.canHandleCalls == 1
+    }
+
+    void "handlers of several kind parsers are merged in order"() {
+        given:
+        KindParser<String, Integer> length = { String input -> Optional.of(input.length()) } as KindParser<String, Integer>
+        CountingKindHandler upper = new CountingKindHandler('upper', 0, ['UPPER'])
+        CountingKindHandler shortWord = new CountingKindHandler('short', 1, [2], length)
+        CountingKindHandler lower = new CountingKindHandler('lower', 2, ['lower'])
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([upper, shortWord, lower, new CountingHandler('fallback', 3, true)])
+
+        expect:
+        dispatcher.dispatch(null, 'HI').get() == 'upper'
+        dispatcher.dispatch(null, 'hi').get() == 'short'
+        dispatcher.dispatch(null, 'hello').get() == 'lower'
+        dispatcher.dispatch(null, 'Hello').get() == 'fallback'
+        upper.canHandleCalls == 1
+        shortWord.canHandleCalls == 1
+        lower.canHandleCalls == 1
+    }
+
+    void "handlers restricted to other bots are not asked whether they can handle the input"() {
+        given:
+        CountingHandler alpha = new CountingHandler('alpha', 0, true)
+        CountingHandler beta = new CountingHandler('beta', 0, true)
+        CountingHandler fallback = new CountingHandler('fallback', 100, true)
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([
+                registration(alpha, 'alpha'),
+                registration(beta, 'beta', 'gamma'),
+                registration(fallback)
+        ], new OnCommandMethodProcessor(null), [])
+
+        expect:
+        dispatcher.dispatch(bot('alpha'), 'hello').get() == 'alpha'
+        dispatcher.dispatch(bot('beta'), 'hello').get() == 'beta'
+        dispatcher.dispatch(bot('gamma'), 'hello').get() == 'beta'
+        dispatcher.dispatch(bot('delta'), 'hello').get() == 'fallback'
+        dispatcher.dispatch(null, 'hello').get() == 'fallback'
+
+        and:
+        alpha.canHandleCalls == 1
+        beta.canHandleCalls == 2
+        fallback.canHandleCalls == 2
+    }
+
+    void "dispatch listeners are notified of canHandle calls, handle timings and misses"() {
+        given:
+        CountingHandler first = new CountingHandler('first', -100, false)
+        CountingCommandHandler about = new CountingCommandHandler('/about')
+        RecordingListener listener = new RecordingListener()
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([
+                registration(first),
+                registration(about)
+        ], new OnCommandMethodProcessor(null), [listener])
+
+        when:
+        dispatcher.dispatch(null, '/about')
+
+        then:
+        listener.canHandle == ['first:false', '/about:true']
+        listener.handled == ['/about']
+        listener.dispatches == ['/about:2']
+
+        when:
+        dispatcher.dispatchAsync(null, '/help').toCompletableFuture().join()
+
+        then:
+        listener.dispatches == ['/about:2', 'miss:1']
+        listener.handled == ['/about']
+    }
+
+    void "with parallel can handle dispatch listeners are notified of every canHandle call"() {
+        given:
+        CountDownLatch asked = new CountDownLatch(3)
+        List<Handler<BotConfiguration, String, String>> handlers = [false, false, true].withIndex().collect { boolean accepts, int i ->
+            (Handler<BotConfiguration, String, String>) new CountingHandler("handler${i}", i, accepts) {
+                @Override
+                boolean canHandle(@Nullable BotConfiguration bot, @NonNull String input) {
+                    asked.countDown()
+                    asked.await(5, TimeUnit.SECONDS) && accepts
+                }
+            }
+        }
+        RecordingListener listener = new RecordingListener()
+
+        when:
+        Optional<Handler<BotConfiguration, String, String>> handler = new HandlerChain<>(handlers).findHandler(DispatchContext.of(null, 'hello'), listener, executor)
+
+        then:
+        handler.get().name == 'handler2'
+        listener.canHandle.sort() == ['handler0:false', 'handler1:false', 'handler2:true']
+        listener.dispatches == ['handler2:3']
+    }
+
+    void "with parallel can handle cancelled evaluations are not notified to dispatch listeners"() {
+        given:
+        CountDownLatch lastAsked = new CountDownLatch(1)
+        Handler<BotConfiguration, String, String> slow = new CountingHandler('slow', 0, true) {
+            @Override
+            boolean canHandle(@Nullable BotConfiguration bot, @NonNull String input) {
+                lastAsked.await()
+                true
+            }
+        }
+        Handler<BotConfiguration, String, String> stuck = new CountingHandler('stuck', 1, true) {
+            @Override
+            boolean canHandle(@Nullable BotConfiguration bot, @NonNull String input) {
+                lastAsked.countDown()
+                try {
+                    new CountDownLatch(1).await()
+                } catch (InterruptedException ignored) {
+                }
+                false
+            }
+        }
+        RecordingListener listener = new RecordingListener()
+
+        when:
+        Optional<Handler<BotConfiguration, String, String>> handler = new HandlerChain<>([slow, stuck]).findHandler(DispatchContext.of(null, 'hello'), listener, executor)
+        executor.shutdown()
+
+        then: 'the interrupted evaluation completes after onDispatch'
+        executor.awaitTermination(5, TimeUnit.SECONDS)
+        handler.get().name == 'slow'
+        listener.canHandle == ['slow:true']
+        listener.dispatches == ['slow:1']
+    }
+
+    private BeanRegistration<Handler<BotConfiguration, String, String>> registration(Handler<BotConfiguration, String, String> handler, String... bots) {
+        BeanDefinition<Handler<BotConfiguration, String, String>> definition = Stub()
+        definition.stringValues(Bots) >> bots
+        definition.getAnnotationMetadata() >> AnnotationMetadata.EMPTY_METADATA
+        new BeanRegistration<>(Stub(BeanIdentifier), definition, handler)
+    }
+
+    private BotConfiguration bot(String name) {
+        BotConfiguration bot = Stub()
+        bot.getName() >> name
+        bot
+    }
+
+    static class RecordingListener implements DispatchListener {
+        List<String> canHandle = []
+        List<String> handled = []
+        List<String> dispatches = []
+
+        @Override
+        void onCanHandle(DispatchContext<?, ?> context, Handler<?, ?, ?> handler, boolean result, long nanos) {
+            canHandle << "${name(handler)}:${result}".toString()
+        }
+
+        @Override
+        void onHandle(DispatchContext<?, ?> context, Handler<?, ?, ?> handler, long nanos, Throwable error) {
+            assert nanos >= 0
+            handled << name(handler)
+        }
+
+        @Override
+        void onDispatch(DispatchContext<?, ?> context, Handler<?, ?, ?> handler, int canHandleCalls) {
+            dispatches << "${handler == null ? 'miss' : name(handler)}:${canHandleCalls}".toString()
+        }
+
+        private static String name(Handler<?, ?, ?> handler) {
+            handler instanceof CountingCommandHandler ? handler.command : handler.name
+        }
+    }
+
+    static class CountingHandler implements Handler<BotConfiguration, String, String> {
+        final String name
+        final int order
+        final boolean accepts
+        int canHandleCalls
+
+        CountingHandler(String name, int order, boolean accepts) {
+            this.name = name
+            this.order = order
+            this.accepts = accepts
+        }
+
+        @Override
+        boolean canHandle(@Nullable BotConfiguration bot, @NonNull String input) {
+            canHandleCalls++
+            accepts
+        }
+
+        @Override
+        Optional<String> handle(@Nullable BotConfiguration bot, @NonNull String input) {
+            Optional.of(name)
+        }
+
+        @Override
+        int getOrder() {
+            order
+        }
+    }
+
+    static class CountingKindHandler extends CountingHandler implements KindHandler<BotConfiguration, String, String, Object> {
+        static final KindParser<String, Object> CASE = { String input ->
+            input == input.toUpperCase() ? Optional.of('UPPER') : input == input.toLowerCase() ? Optional.of('lower') : Optional.empty()
+        } as KindParser<String, Object>
+
+        final Set<Object> kinds
+        final KindParser<String, Object> kindParser
+
+        CountingKindHandler(String name, int order, List<Object> kinds, KindParser<String, Object> kindParser = CASE) {
+            super(name, order, true)
+            this.kinds = kinds as Set
+            this.kindParser = kindParser
+        }
+    }
+
+    static class CountingCommandHandler implements SlashCommandHandler<BotConfiguration, String, String> {
+        final String command
+        int canHandleCalls
+
+        CountingCommandHandler(String command) {
+            this.command = command
+        }
+
+        @Override
+        String getCommand() {
+            command
+        }
+
+        @Override
+        SlashCommandParser<String> getSlashCommandParser() {
+            PARSER
+        }
+
+        @Override
+        boolean canHandle(@Nullable BotConfiguration bot, @NonNull String input) {
+            canHandleCalls++
+            PARSER.parse(input).filter(c -> c.startsWith(command)).isPresent()
+        }
+
+        @Override
+        Optional<String> handle(@Nullable BotConfiguration bot, @NonNull String input) {
+            Optional.of(command)
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package io.micronaut.chatbots.core
+
+import io.micronaut.core.io.ResourceLoader
+import io.micronaut.core.io.ResourceResolver
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.util.concurrent.PollingConditions
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+
+class DefaultTextResourceLoaderSpec extends Specification {
+
+    @TempDir
+    Path folder
+
+    void "commands of a folder covered by a catalog are served from the catalog once verified against the classpath"() {
+        given:
+        CountingResourceResolver resourceResolver = new CountingResourceResolver()
+        DefaultTextResourceLoader loader = new DefaultTextResourceLoader(new ChatbotsConfigurationProperties(), resourceResolver, [
+                catalog('botcommands/', ['botcommands/about.md': classpathText('about.md')]),
+                catalog('other/', ['other/about.md': 'other\n'])
+        ])
+
+        when:
+        Optional<CommandResponse> about = loader.composeCommandResponse('/about')
+
+        then:
+        about.get().extension() == FileExtension.MARKDOWN
+        about.get().text() == classpathText('about.md')
+        resourceResolver.calls == 1
+
+        when:
+        loader.composeCommandResponse('/about')
+
+        then:
+        resourceResolver.calls == 1
+    }
+
+    void "commands missing from the catalog are read from the classpath"() {
+        given:
+        DefaultTextResourceLoader loader = new DefaultTextResourceLoader(new ChatbotsConfigurationProperties(), new ResourceResolver(), [
+                catalog('botcommands/', ['botcommands/tasks.md': classpathText('tasks.md')])
+        ])
+
+        expect:
+        loader.composeCommandResponse('/about').get().text() == classpathText('about.md')
+        loader.composeCommandResponse('/tasks').get().text() == classpathText('tasks.md')
+        !loader.composeCommandResponse('/random').isPresent()
+    }
+
+    void "commands whose resource differs from the catalog are read from the classpath"() {
+        given:
+        DefaultTextResourceLoader loader = new DefaultTextResourceLoader(new ChatbotsConfigurationProperties(), new ResourceResolver(), [
+                catalog('botcommands/', [
+                        'botcommands/about.md': 'stale\n',
+                        'botcommands/help.html': '<b>deleted</b>\n'
+                ])
+        ])
+
+        expect:
+        loader.composeCommandResponse('/about').get().text() == classpathText('about.md')
+        !loader.composeCommandResponse('/help').isPresent()
+    }
+
+    void "catalogs of other folders are ignored"() {
+        given:
+        CountingResourceResolver resourceResolver = new CountingResourceResolver()
+        DefaultTextResourceLoader loader = new DefaultTextResourceLoader(new ChatbotsConfigurationProperties(), resourceResolver, [
+                catalog('other/', ['other/about.md': 'other\n'])
+        ])
+
+        when:
+        loader.composeCommandResponse('/about')
+
+        then:
+        resourceResolver.calls > 0
+    }
+
+    void "command templates are compiled once"() {
+        given:
+        DefaultTextResourceLoader loader = new DefaultTextResourceLoader(new ChatbotsConfigurationProperties(), new CountingResourceResolver(), [
+                catalog('botcommands/', ['botcommands/tasks.md': classpathText('tasks.md')])
+        ])
+
+        when:
+        CommandTemplateResponse first = loader.composeCommandTemplate('/tasks').get()
+        CommandTemplateResponse second = loader.composeCommandTemplate('/tasks').get()
+
+        then:
+        first.template().is(second.template())
+        first.extension() == FileExtension.MARKDOWN
+        first.render([name: 'Sergio', n: 3]).text() == 'Hi Sergio, you have 3 tasks\n'
+    }
+
+    void "commands of a file system folder are reloaded when they change"() {
+        given:
+        Files.writeString(folder.resolve('help.md'), 'help')
+        ChatbotsConfigurationProperties configuration = new ChatbotsConfigurationProperties()
+        configuration.folder = 'file:' + folder
+        CountingResourceResolver resourceResolver = new CountingResourceResolver()
+        DefaultTextResourceLoader loader = new DefaultTextResourceLoader(configuration, resourceResolver, [])
+        PollingConditions conditions = new PollingConditions(timeout: 30)
+
+        expect:
+        loader.composeCommandResponse('/help').get().text() == 'help'
+        !loader.composeCommandResponse('/about').isPresent()
+
+        when:
+        replace(folder.resolve('help.md'), 'changed')
+        replace(folder.resolve('about.md'), 'about')
+
+        then:
+        conditions.eventually {
+            assert loader.composeCommandResponse('/help').get().text() == 'changed'
+            assert loader.composeCommandResponse('/about').get().text() == 'about'
+        }
+
+        and: 'changed resources are reloaded rather than evicted'
+        loader.cacheStatistics.missCount() == 5
+        resourceResolver.calls == 0
+
+        cleanup:
+        loader.close()
+    }
+
+    void "commands are read verbatim as UTF-8"() {
+        given:
+        Files.write(folder.resolve('about.md'), 'Bot developed with 💙\r\nand Micronaut'.getBytes(StandardCharsets.UTF_8))
+        ChatbotsConfigurationProperties configuration = new ChatbotsConfigurationProperties()
+        configuration.folder = 'file:' + folder
+        DefaultTextResourceLoader loader = new DefaultTextResourceLoader(configuration, new CountingResourceResolver(), [])
+
+        expect:
+        loader.composeCommandResponse('/about').get().text() == 'Bot developed with 💙\r\nand Micronaut'
+
+        cleanup:
+        loader.close()
+    }
+
+    void "classpath commands are read verbatim as UTF-8"() {
+        given:
+        DefaultTextResourceLoader loader = new DefaultTextResourceLoader(new ChatbotsConfigurationProperties(), new ResourceResolver(), [])
+
+        expect:
+        loader.composeCommandResponse('/about').get().text() == new String(getClass().getResourceAsStream('/botcommands/about.md').readAllBytes(), StandardCharsets.UTF_8)
+    }
+
+    void "commands outside a file system folder are not read"() {
+        given:
+        Path commands = Files.createDirectory(folder.resolve('commands'))
+        Files.writeString(folder.resolve('secret.md'), 'secret')
+        ChatbotsConfigurationProperties configuration = new ChatbotsConfigurationProperties()
+        configuration.folder = 'file:' + commands
+        DefaultTextResourceLoader loader = new DefaultTextResourceLoader(configuration, new CountingResourceResolver(), [])
+
+        expect:
+        !loader.composeCommandResponse('/../secret').isPresent()
+
+        cleanup:
+        loader.close()
+    }
+
+    private String classpathText(String fileName) {
+        new String(getClass().getResourceAsStream("/botcommands/${fileName}").readAllBytes(), StandardCharsets.UTF_8)
+    }
+
+    private static StaticCommandCatalog catalog(String folder, Map<String, String> resources) {
+        new StaticCommandCatalog() {
+            @Override
+            String getFolder() {
+                folder
+            }
+
+            @Override
+            Map<String, String> getResources() {
+                resources
+            }
+        }
+    }
+
+    // writes the file atomically, so that the watcher never reads it half written
+    private static void replace(Path path, String text) {
+        Path temporary = Files.createTempFile(path.parent.parent, 'command', '.tmp')
+        Files.writeString(temporary, text)
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+    }
+
+    static class CountingResourceResolver extends ResourceResolver {
+        int calls
+
+        @Override
+        <T extends ResourceLoader> Optional<T> getLoader(Class<T> resolverType) {
+            calls++
+            super.getLoader(resolverType)
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package io.micronaut.chatbots.core
+
+import spock.lang.Specification
+
+class DispatchContextSpec extends Specification {
+
+    void "slash command is parsed once per parser and split into command and arguments"() {
+        given:
+        int calls = 0
+        SlashCommandParser<String> parser = { String input ->
+            calls++
+            Optional.of(input)
+        } as SlashCommandParser<String>
+        DispatchContext<BotConfiguration, String> context = DispatchContext.of(null, '  /weather   Madrid Spain ')
+
+        expect:
+        context.getSlashCommand(parser).get() == '/weather Madrid Spain'
+        context.getCommand(parser).get() == '/weather'
+        context.getCommandArguments(parser).get() == 'Madrid Spain'
+        context.getParsedSlashCommand(parser).get().getArguments().toString() == 'Madrid Spain'
+        calls == 1
+    }
+
+    void "command without arguments"() {
+        given:
+        SlashCommandParser<String> parser = { String input -> Optional.of(input) } as SlashCommandParser<String>
+        DispatchContext<BotConfiguration, String> context = DispatchContext.of(null, '/help')
+
+        expect:
+        context.getCommand(parser).get() == '/help'
+        !context.getCommandArguments(parser).isPresent()
+    }
+
+    void "missing slash command is memoized too"() {
+        given:
+        int calls = 0
+        SlashCommandParser<String> parser = { String input ->
+            calls++
+            Optional.<String>empty()
+        } as SlashCommandParser<String>
+        DispatchContext<BotConfiguration, String> context = DispatchContext.of(null, 'hello')
+
+        expect:
+        !context.getSlashCommand(parser).isPresent()
+        !context.getCommand(parser).isPresent()
+        !context.getCommandArguments(parser).isPresent()
+        calls == 1
+    }
+
+    void "space is parsed once per parser"() {
+        given:
+        int calls = 0
+        SpaceParser<String, String> parser = { String input ->
+            calls++
+            Optional.of(input.toUpperCase())
+        } as SpaceParser<String, String>
+        DispatchContext<BotConfiguration, String> context = DispatchContext.of(null, 'general')
+
+        expect:
+        context.getSpace(parser).get() == 'GENERAL'
+        context.getSpace(parser).get() == 'GENERAL'
+        calls == 1
+    }
+
+    void "dispatcher shares the context between handlers"() {
+        given:
+        int calls = 0
+        SlashCommandParser<String> parser = { String input ->
+            calls++
+            Optional.of(input)
+        } as SlashCommandParser<String>
+        List<Handler<BotConfiguration, String, String>> handlers = ['/a', '/b', '/help'].collect { new ContextCommandHandler(it, parser) }
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>(handlers)
+
+        expect:
+        dispatcher.dispatch(null, '/help me').get() == 'me'
+        calls == 1
+    }
+
+    void "context attributes"() {
+        given:
+        DispatchContext<BotConfiguration, String> context = DispatchContext.of(null, 'hello')
+
+        when:
+        context.setAttribute('locale', 'es')
+
+        then:
+        context.getAttribute('locale', String).get() == 'es'
+    }
+
+    static class ContextCommandHandler implements SlashCommandHandler<BotConfiguration, String, String> {
+        final String command
+        final SlashCommandParser<String> slashCommandParser
+
+        ContextCommandHandler(String command, SlashCommandParser<String> slashCommandParser) {
+            this.command = command
+            this.slashCommandParser = slashCommandParser
+        }
+
+        @Override
+        boolean canHandle(BotConfiguration bot, String input) {
+            throw new UnsupportedOperationException()
+        }
+
+        @Override
+        Optional<String> handle(BotConfiguration bot, String input) {
+            throw new UnsupportedOperationException()
+        }
+
+        @Override
+        boolean canHandle(DispatchContext<BotConfiguration, String> context) {
+            context.getCommand(slashCommandParser).filter { it == command }.isPresent()
+        }
+
+        @Override
+        Optional<String> handle(DispatchContext<BotConfiguration, String> context) {
+            context.getCommandArguments(slashCommandParser)
+        }
+    }
+}
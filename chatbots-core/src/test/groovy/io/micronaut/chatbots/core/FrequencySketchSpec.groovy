@@ -0,0 +1,67 @@
+package io.micronaut.chatbots.core
+
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class FrequencySketchSpec extends Specification {
+
+    void "frequency is counted up to 15"() {
+        given:
+        FrequencySketch sketch = new FrequencySketch(512)
+
+        when:
+        10.times { sketch.increment('/about') }
+
+        then:
+        sketch.frequency('/about') == 10
+        sketch.frequency('/help') == 0
+
+        when:
+        10.times { sketch.increment('/about') }
+
+        then:
+        sketch.frequency('/about') == 15
+    }
+
+    void "counters are halved once the increments reach ten times the size"() {
+        given:
+        FrequencySketch sketch = new FrequencySketch(16)
+        8.times { sketch.increment('/about') }
+
+        when:
+        int increments = 8
+        while (sketch.frequency('/about') >= 8 && increments < 1000) {
+            sketch.increment("/command${increments++}".toString())
+        }
+
+        then:
+        sketch.frequency('/about') < 8
+        increments >= 160
+        increments < 1000
+    }
+
+    void "concurrent increments are not lost"() {
+        given:
+        FrequencySketch sketch = new FrequencySketch(512)
+        ExecutorService executor = Executors.newFixedThreadPool(8)
+        CountDownLatch start = new CountDownLatch(1)
+
+        when:
+        8.times {
+            executor.submit {
+                start.await()
+                sketch.increment('/about')
+            }
+        }
+        start.countDown()
+        executor.shutdown()
+        executor.awaitTermination(10, TimeUnit.SECONDS)
+
+        then:
+        sketch.frequency('/about') == 8
+    }
+}
@@ -0,0 +1,81 @@
+package io.micronaut.chatbots.core
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.annotation.NonNull
+import io.micronaut.core.type.Argument
+import jakarta.inject.Singleton
+import spock.lang.Specification
+
+class OnCommandMethodHandlerSpec extends Specification {
+
+    void "a dispatcher injected with type arguments only merges the methods declared for them"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(['spec.name': 'OnCommandMethodHandlerSpec'])
+        BuilderDispatcherConsumer consumer = context.getBean(BuilderDispatcherConsumer)
+
+        expect:
+        consumer.dispatcher.dispatch(null, new StringBuilder('/about')).get() == 'builder /about'
+
+        cleanup:
+        context.close()
+    }
+
+    void "a dispatcher without type arguments never hands an input to a method declared for another input type"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(['spec.name': 'OnCommandMethodHandlerSpec'])
+        Dispatcher<BotConfiguration, String, String> dispatcher = context.getBean(Argument.of(Dispatcher, BotConfiguration, String, String))
+
+        expect:
+        dispatcher.dispatch(null, '/about').get() == 'string /about'
+
+        cleanup:
+        context.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'OnCommandMethodHandlerSpec')
+    @Singleton
+    static class BuilderDispatcherConsumer {
+
+        final Dispatcher<BotConfiguration, StringBuilder, String> dispatcher
+
+        BuilderDispatcherConsumer(Dispatcher<BotConfiguration, StringBuilder, String> dispatcher) {
+            this.dispatcher = dispatcher
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'OnCommandMethodHandlerSpec')
+    @Singleton
+    static class StringSlashCommandParser implements SlashCommandParser<String> {
+
+        @Override
+        Optional<String> parse(@NonNull String input) {
+            Optional.of(input)
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'OnCommandMethodHandlerSpec')
+    @Singleton
+    static class StringBuilderSlashCommandParser implements SlashCommandParser<StringBuilder> {
+
+        @Override
+        Optional<String> parse(@NonNull StringBuilder input) {
+            Optional.of(input.toString())
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'OnCommandMethodHandlerSpec')
+    @Singleton
+    static class AboutCommands {
+
+        @OnCommand('/about')
+        Optional<String> string(String input) {
+            Optional.of('string ' + input)
+        }
+
+        @OnCommand('/about')
+        String builder(StringBuilder input) {
+            'builder ' + input
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.micronaut.chatbots.core
+
+import spock.lang.Specification
+
+class PrefixTrieSpec extends Specification {
+
+    void "returns the values of every key which is a prefix of the text"() {
+        given:
+        PrefixTrie<Integer> trie = PrefixTrie.<Integer>builder()
+            .put('/about', 1)
+            .put('/aboutme', 2)
+            .put('/about', 3)
+            .put('/help', 4)
+            .build()
+
+        expect:
+        !trie.isEmpty()
+        [1, 3] == trie.findPrefixesOf('/about')
+        [1, 3, 2] == trie.findPrefixesOf('/aboutme please')
+        [4] == trie.findPrefixesOf('/help')
+        [] == trie.findPrefixesOf('/hel')
+        [] == trie.findPrefixesOf('hello')
+        PrefixTrie.builder().build().isEmpty()
+    }
+}
@@ -0,0 +1,126 @@
+package io.micronaut.chatbots.core
+
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+class SerialLaneExecutorSpec extends Specification {
+
+    @AutoCleanup('shutdownNow')
+    ExecutorService executor = Executors.newFixedThreadPool(8)
+
+    void "tasks with the same key run one after another in submission order"() {
+        given:
+        SerialLaneExecutor laneExecutor = new SerialLaneExecutor(4, 1000, executor)
+        List<Integer> completed = new CopyOnWriteArrayList<>()
+
+        when:
+        List<CompletableFuture<Integer>> results = (1..200).collect { int i ->
+            laneExecutor.submit(42L, () -> CompletableFuture.supplyAsync(() -> {
+                sleep(i % 3)
+                completed << i
+                i
+            }, executor))
+        }
+        CompletableFuture.allOf(results as CompletableFuture[]).get(10, TimeUnit.SECONDS)
+
+        then:
+        completed == (1..200).toList()
+        results*.get() == (1..200).toList()
+    }
+
+    void "the next task of a lane starts once a deadline future settles"() {
+        given:
+        SerialLaneExecutor laneExecutor = new SerialLaneExecutor(1, 10, executor)
+        DeadlineFuture<String> first = new DeadlineFuture<>()
+        CountDownLatch secondStarted = new CountDownLatch(1)
+
+        when:
+        CompletableFuture<String> firstResult = laneExecutor.submit(42L, () -> first)
+        CompletableFuture<String> secondResult = laneExecutor.submit(42L, () -> {
+            secondStarted.countDown()
+            CompletableFuture.completedFuture('second')
+        })
+        first.complete('deadline elapsed')
+
+        then: 'the result completes while the work goes on'
+        firstResult.get(5, TimeUnit.SECONDS) == 'deadline elapsed'
+        !secondStarted.await(100, TimeUnit.MILLISECONDS)
+
+        when:
+        first.settle()
+
+        then:
+        secondResult.get(5, TimeUnit.SECONDS) == 'second'
+    }
+
+    void "tasks of different lanes run in parallel"() {
+        given:
+        SerialLaneExecutor laneExecutor = new SerialLaneExecutor(2, 10, executor)
+        CountDownLatch bothRunning = new CountDownLatch(2)
+
+        when:
+        List<CompletableFuture<Boolean>> results = [0, 1].collect { int key ->
+            laneExecutor.submit(key, () -> {
+                bothRunning.countDown()
+                CompletableFuture.completedFuture(bothRunning.await(5, TimeUnit.SECONDS))
+            })
+        }
+
+        then:
+        results*.get(10, TimeUnit.SECONDS) == [true, true]
+    }
+
+    void "a full lane rejects tasks and a failed task does not block its lane"() {
+        given:
+        SerialLaneExecutor laneExecutor = new SerialLaneExecutor(1, 1, executor)
+        CompletableFuture<String> first = new CompletableFuture<>()
+
+        when:
+        CompletableFuture<String> running = laneExecutor.submit('a', () -> first)
+        CompletableFuture<String> failing = laneExecutor.submit('a', () -> { throw new IllegalStateException('boom') })
+        CompletableFuture<String> rejected = laneExecutor.submit('a', () -> CompletableFuture.completedFuture('c'))
+
+        then:
+        rejected.isCompletedExceptionally()
+
+        when:
+        rejected.get()
+
+        then:
+        ExecutionException e = thrown()
+        e.cause instanceof RejectedExecutionException
+
+        when:
+        first.complete('a')
+        failing.get(5, TimeUnit.SECONDS)
+
+        then:
+        e = thrown()
+        e.cause instanceof IllegalStateException
+        running.get() == 'a'
+        laneExecutor.submit('a', () -> CompletableFuture.completedFuture('d')).get(5, TimeUnit.SECONDS) == 'd'
+    }
+
+    void "pending tasks fail if the executor rejects them"() {
+        given:
+        ExecutorService shutdown = Executors.newSingleThreadExecutor()
+        shutdown.shutdown()
+        SerialLaneExecutor laneExecutor = new SerialLaneExecutor(1, 10, shutdown)
+
+        when:
+        laneExecutor.submit('a', () -> CompletableFuture.completedFuture('a')).get()
+
+        then:
+        ExecutionException e = thrown()
+        e.cause instanceof RejectedExecutionException
+    }
+}
@@ -0,0 +1,48 @@
+package io.micronaut.chatbots.core
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class SlashCommandSpec extends Specification {
+
+    @Unroll
+    void "#text is split into #command and #arguments"(String text, String command, String arguments) {
+        when:
+        SlashCommand slashCommand = SlashCommand.of(text)
+
+        then:
+        slashCommand.getCommand().toString() == command
+        slashCommand.getArguments().toString() == arguments
+        slashCommand.hasArguments() == !arguments.isEmpty()
+
+        where:
+        text                         | command    | arguments
+        '/help'                      | '/help'    | ''
+        '/weather Madrid Spain'      | '/weather' | 'Madrid Spain'
+        '  /weather\tMadrid Spain  ' | '/weather' | 'Madrid Spain'
+    }
+
+    void "ranges of a text are read as the command, a space and the arguments"() {
+        given:
+        String text = '/help@MnBot   me please '
+
+        when:
+        SlashCommand slashCommand = SlashCommand.of(text, 0, 5, 11, text.length())
+
+        then:
+        slashCommand.getCommand().toString() == '/help'
+        slashCommand.getArguments().toString() == 'me please'
+        slashCommand.length() == '/help me please'.length()
+        (0..<slashCommand.length()).collect { slashCommand.charAt(it) }.join('') == '/help me please'
+        slashCommand.toString() == '/help me please'
+        slashCommand.subSequence(1, 5) == 'help'
+    }
+
+    void "charAt outside the slash command throws"() {
+        when:
+        SlashCommand.of('/help me').charAt(8)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+    }
+}
@@ -94,7 +94,23 @@ public abstract class AbstractHandler<B extends BotConfiguration, I, O>
     private APIGatewayProxyResponseEvent dispatch(@Nullable B bot,
                                                   @NonNull APIGatewayProxyRequestEvent request) {
         try {
-            return getDispatcher().dispatch(bot, getObjectMapper().readValue(request.getBody(), inputType))
+            I input = readInput(request.getBody());
+            if (isDuplicate(bot, input)) {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("input already dispatched");
+                }
+                return ok();
+            }
+            Optional<O> output;
+            try {
+                output = getDispatcher().dispatchAsync(bot, input)
+                    .toCompletableFuture()
+                    .join();
+            } catch (RuntimeException e) {
+                forget(bot, input);
+                throw e;
+            }
+            return output
                 .map(this::okSerializer)
                 .orElseGet(this::ok);
         } catch (Exception e) {
@@ -113,6 +129,37 @@ public abstract class AbstractHandler<B extends BotConfiguration, I, O>
     @NonNull
     protected abstract boolean validate(@NonNull APIGatewayProxyRequestEvent request);
 
+    /**
+     * Decodes the body of the request.
+     * @param body Request body
+     * @return The input
+     * @throws IOException if the body cannot be decoded
+     * @since 1.3.0
+     */
+    protected I readInput(String body) throws IOException {
+        return getObjectMapper().readValue(body, inputType);
+    }
+
+    /**
+     * Inputs considered duplicates are acknowledged without being dispatched.
+     * @param bot Bot configuration
+     * @param input Input
+     * @return Whether the input was already dispatched. Default implementation returns false.
+     * @since 1.3.0
+     */
+    protected boolean isDuplicate(@Nullable B bot, @NonNull I input) {
+        return false;
+    }
+
+    /**
+     * Forgets an input recorded by {@link #isDuplicate(BotConfiguration, Object)} whose dispatch failed, so that it is dispatched when it is delivered again. Default implementation does nothing.
+     * @param bot Bot configuration
+     * @param input Input
+     * @since 1.3.0
+     */
+    protected void forget(@Nullable B bot, @NonNull I input) {
+    }
+
     /**
      *
      * @param request API Gateway Request
@@ -0,0 +1,7 @@
+plugins {
+    id("io.micronaut.build.internal.chatbots-module")
+}
+dependencies {
+    api(projects.micronautChatbotsCore)
+    api(mnMicrometer.micronaut.micrometer.core)
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.micrometer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micronaut.chatbots.core.DefaultTextResourceLoader;
+import io.micronaut.configuration.metrics.annotation.RequiresMetrics;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Singleton;
+
+/**
+ * Binds the statistics of the static command resources cache of {@link DefaultTextResourceLoader}.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@RequiresMetrics
+@Requires(property = MicrometerDispatchListener.ENABLED, notEquals = StringUtils.FALSE)
+@Requires(beans = DefaultTextResourceLoader.class)
+@Singleton
+public class CommandCacheMetrics implements MeterBinder {
+
+    /**
+     * Counter of lookups answered by the cache.
+     */
+    public static final String METRIC_HITS = "chatbots.command-cache.hits";
+
+    /**
+     * Counter of lookups which read the classpath.
+     */
+    public static final String METRIC_MISSES = "chatbots.command-cache.misses";
+
+    /**
+     * Counter of entries evicted from the cache.
+     */
+    public static final String METRIC_EVICTIONS = "chatbots.command-cache.evictions";
+
+    private final DefaultTextResourceLoader textResourceLoader;
+
+    /**
+     *
+     * @param textResourceLoader Text Resource Loader
+     */
+    public CommandCacheMetrics(DefaultTextResourceLoader textResourceLoader) {
+        this.textResourceLoader = textResourceLoader;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_HITS, textResourceLoader, loader -> loader.getCacheStatistics().hitCount())
+            .register(registry);
+        FunctionCounter.builder(METRIC_MISSES, textResourceLoader, loader -> loader.getCacheStatistics().missCount())
+            .register(registry);
+        FunctionCounter.builder(METRIC_EVICTIONS, textResourceLoader, loader -> loader.getCacheStatistics().evictionCount())
+            .register(registry);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.micrometer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.chatbots.core.BotConfiguration;
+import io.micronaut.chatbots.core.DispatchContext;
+import io.micronaut.chatbots.core.DispatchListener;
+import io.micronaut.chatbots.core.Handler;
+import io.micronaut.configuration.metrics.annotation.RequiresMetrics;
+import io.micronaut.configuration.metrics.micrometer.MeterRegistryFactory;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Singleton;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DispatchListener} which records handler latencies, dispatch misses and the number of handlers asked per dispatch with Micrometer.
+ * Meters are tagged with the handler name and the bot name.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@RequiresMetrics
+@Requires(property = MicrometerDispatchListener.ENABLED, notEquals = StringUtils.FALSE)
+@Singleton
+public class MicrometerDispatchListener implements DispatchListener {
+
+    /**
+     * Property to disable the chatbots metrics.
+     */
+    public static final String ENABLED = MeterRegistryFactory.MICRONAUT_METRICS_BINDERS + ".chatbots.enabled";
+
+    /**
+     * Timer of {@link Handler#canHandle(DispatchContext)} calls. Tagged with {@link #TAG_HANDLER}, {@link #TAG_BOT} and {@link #TAG_RESULT}.
+     */
+    public static final String METRIC_CAN_HANDLE = "chatbots.handler.can-handle";
+
+    /**
+     * Timer of the handler which handled a request. Tagged with {@link #TAG_HANDLER}, {@link #TAG_BOT} and {@link #TAG_EXCEPTION}.
+     */
+    public static final String METRIC_HANDLE = "chatbots.handler.handle";
+
+    /**
+     * Counter of requests which no handler could handle. Tagged with {@link #TAG_BOT}.
+     */
+    public static final String METRIC_MISSES = "chatbots.dispatch.misses";
+
+    /**
+     * Distribution of the number of handlers asked whether they can handle a request. Tagged with {@link #TAG_BOT}.
+     */
+    public static final String METRIC_CAN_HANDLE_CALLS = "chatbots.dispatch.can-handle-calls";
+
+    /**
+     * Tag with the handler name.
+     */
+    public static final String TAG_HANDLER = "handler";
+
+    /**
+     * Tag with the bot name.
+     */
+    public static final String TAG_BOT = "bot";
+
+    /**
+     * Tag with the result of {@link Handler#canHandle(DispatchContext)}.
+     */
+    public static final String TAG_RESULT = "result";
+
+    /**
+     * Tag with the simple name of the exception thrown by the handler.
+     */
+    public static final String TAG_EXCEPTION = "exception";
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<HandlerKey, Timer> canHandleTimers = new ConcurrentHashMap<>();
+    private final Map<HandlerKey, Timer> handleTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> misses = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> canHandleCalls = new ConcurrentHashMap<>();
+
+    /**
+     *
+     * @param meterRegistry Meter Registry
+     */
+    public MicrometerDispatchListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onCanHandle(@NonNull DispatchContext<?, ?> context,
+                            @NonNull Handler<?, ?, ?> handler,
+                            boolean result,
+                            long nanos) {
+        canHandleTimers.computeIfAbsent(new HandlerKey(handler, botName(context), String.valueOf(result)), key ->
+            Timer.builder(METRIC_CAN_HANDLE)
+                .tag(TAG_HANDLER, DispatchListener.nameOf(key.handler()))
+                .tag(TAG_BOT, key.bot())
+                .tag(TAG_RESULT, key.outcome())
+                .register(meterRegistry))
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onHandle(@NonNull DispatchContext<?, ?> context,
+                         @NonNull Handler<?, ?, ?> handler,
+                         long nanos,
+                         @Nullable Throwable error) {
+        String exception = error == null ? NONE : error.getClass().getSimpleName();
+        handleTimers.computeIfAbsent(new HandlerKey(handler, botName(context), exception), key ->
+            Timer.builder(METRIC_HANDLE)
+                .tag(TAG_HANDLER, DispatchListener.nameOf(key.handler()))
+                .tag(TAG_BOT, key.bot())
+                .tag(TAG_EXCEPTION, key.outcome())
+                .register(meterRegistry))
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onDispatch(@NonNull DispatchContext<?, ?> context,
+                           @Nullable Handler<?, ?, ?> handler,
+                           int calls) {
+        String bot = botName(context);
+        canHandleCalls.computeIfAbsent(bot, name ->
+            DistributionSummary.builder(METRIC_CAN_HANDLE_CALLS)
+                .tag(TAG_BOT, name)
+                .register(meterRegistry))
+            .record(calls);
+        if (handler == null) {
+            misses.computeIfAbsent(bot, name ->
+                Counter.builder(METRIC_MISSES)
+                    .tag(TAG_BOT, name)
+                    .register(meterRegistry))
+                .increment();
+        }
+    }
+
+    @NonNull
+    private static String botName(@NonNull DispatchContext<?, ?> context) {
+        BotConfiguration bot = context.getBot();
+        return bot == null ? NONE : bot.getName();
+    }
+
+    /**
+     * Key of the meters of a handler.
+     * @param handler Handler
+     * @param bot Bot name
+     * @param outcome Result of canHandle or the exception thrown by handle
+     */
+    private record HandlerKey(Handler<?, ?, ?> handler, String bot, String outcome) {
+    }
+}
@@ -0,0 +1,26 @@
+package io.micronaut.chatbots.micrometer
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import io.micronaut.chatbots.core.ChatbotsConfigurationProperties
+import io.micronaut.chatbots.core.DefaultTextResourceLoader
+import io.micronaut.core.io.ResourceResolver
+import spock.lang.Specification
+
+class CommandCacheMetricsSpec extends Specification {
+
+    void "command cache statistics are bound"() {
+        given:
+        SimpleMeterRegistry registry = new SimpleMeterRegistry()
+        DefaultTextResourceLoader loader = new DefaultTextResourceLoader(new ChatbotsConfigurationProperties(), new ResourceResolver())
+        new CommandCacheMetrics(loader).bindTo(registry)
+
+        when: 'a command without resources is requested twice'
+        loader.composeCommandResponse('/missing')
+        loader.composeCommandResponse('/missing')
+
+        then: 'every possible extension is looked up once'
+        registry.get(CommandCacheMetrics.METRIC_MISSES).functionCounter().count() == 4
+        registry.get(CommandCacheMetrics.METRIC_HITS).functionCounter().count() == 4
+        registry.get(CommandCacheMetrics.METRIC_EVICTIONS).functionCounter().count() == 0
+    }
+}
@@ -0,0 +1,105 @@
+package io.micronaut.chatbots.micrometer
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import io.micronaut.chatbots.core.BotConfiguration
+import io.micronaut.chatbots.core.DefaultDispatcher
+import io.micronaut.chatbots.core.DispatchContext
+import io.micronaut.chatbots.core.Handler
+import io.micronaut.chatbots.core.OnCommandMethodProcessor
+import io.micronaut.context.BeanRegistration
+import io.micronaut.core.annotation.AnnotationMetadata
+import io.micronaut.core.annotation.NonNull
+import io.micronaut.core.annotation.Nullable
+import io.micronaut.inject.BeanDefinition
+import io.micronaut.inject.BeanIdentifier
+import spock.lang.Specification
+
+class MicrometerDispatchListenerSpec extends Specification {
+
+    void "dispatches are measured per handler and bot"() {
+        given:
+        SimpleMeterRegistry registry = new SimpleMeterRegistry()
+        DefaultDispatcher<BotConfiguration, String, String> dispatcher = new DefaultDispatcher<>([
+                registration(new EchoHandler('hello')),
+                registration(new FailingHandler())
+        ], new OnCommandMethodProcessor(null), [new MicrometerDispatchListener(registry)])
+
+        when:
+        dispatcher.dispatch(bot('mn-bot'), 'hello')
+        dispatcher.dispatch(bot('mn-bot'), 'hello')
+        dispatcher.dispatch(null, 'bye')
+
+        then:
+        registry.get(MicrometerDispatchListener.METRIC_HANDLE)
+                .tags(MicrometerDispatchListener.TAG_HANDLER, EchoHandler.name,
+                        MicrometerDispatchListener.TAG_BOT, 'mn-bot',
+                        MicrometerDispatchListener.TAG_EXCEPTION, 'none')
+                .timer().count() == 2
+        registry.get(MicrometerDispatchListener.METRIC_CAN_HANDLE)
+                .tags(MicrometerDispatchListener.TAG_HANDLER, EchoHandler.name,
+                        MicrometerDispatchListener.TAG_RESULT, 'true')
+                .timer().count() == 2
+        registry.get(MicrometerDispatchListener.METRIC_CAN_HANDLE)
+                .tags(MicrometerDispatchListener.TAG_HANDLER, FailingHandler.name,
+                        MicrometerDispatchListener.TAG_BOT, 'none')
+                .timer().count() == 1
+        registry.get(MicrometerDispatchListener.METRIC_MISSES)
+                .tags(MicrometerDispatchListener.TAG_BOT, 'none')
+                .counter().count() == 1
+        registry.get(MicrometerDispatchListener.METRIC_CAN_HANDLE_CALLS)
+                .tags(MicrometerDispatchListener.TAG_BOT, 'none')
+                .summary().totalAmount() == 2
+
+        when:
+        dispatcher.dispatch(null, 'fail')
+
+        then:
+        thrown(IllegalStateException)
+        registry.get(MicrometerDispatchListener.METRIC_HANDLE)
+                .tags(MicrometerDispatchListener.TAG_EXCEPTION, 'IllegalStateException')
+                .timer().count() == 1
+    }
+
+    private BeanRegistration<Handler<BotConfiguration, String, String>> registration(Handler<BotConfiguration, String, String> handler) {
+        BeanDefinition<Handler<BotConfiguration, String, String>> definition = Stub()
+        definition.stringValues(_) >> new String[0]
+        definition.getAnnotationMetadata() >> AnnotationMetadata.EMPTY_METADATA
+        new BeanRegistration<>(Stub(BeanIdentifier), definition, handler)
+    }
+
+    private BotConfiguration bot(String name) {
+        BotConfiguration bot = Stub()
+        bot.getName() >> name
+        bot
+    }
+
+    static class EchoHandler implements Handler<BotConfiguration, String, String> {
+        final String text
+
+        EchoHandler(String text) {
+            this.text = text
+        }
+
+        @Override
+        boolean canHandle(@Nullable BotConfiguration bot, @NonNull String input) {
+            input == text
+        }
+
+        @Override
+        Optional<String> handle(@Nullable BotConfiguration bot, @NonNull String input) {
+            Optional.of(input)
+        }
+    }
+
+    static class FailingHandler implements Handler<BotConfiguration, String, String> {
+        @Override
+        boolean canHandle(@Nullable BotConfiguration bot, @NonNull String input) {
+            input == 'fail'
+        }
+
+        @Override
+        Optional<String> handle(@Nullable BotConfiguration bot, @NonNull String input) {
+            throw new IllegalStateException('foo')
+        }
+    }
+}
@@ -0,0 +1,8 @@
+plugins {
+    id("io.micronaut.build.internal.chatbots-module")
+}
+dependencies {
+    implementation(mn.micronaut.core.processor)
+    testImplementation(mn.micronaut.inject.java)
+    testImplementation(projects.micronautChatbotsCore)
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.processor;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.inject.ast.ClassElement;
+import io.micronaut.inject.processing.ProcessingException;
+import io.micronaut.inject.visitor.TypeElementVisitor;
+import io.micronaut.inject.visitor.VisitorContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Scans the static commands folder in the project's resources and generates a {@code io.micronaut.chatbots.core.StaticCommandCatalog} holding the text of every command.
+ * The folder defaults to {@value #DEFAULT_FOLDER} and may be changed with the {@value #FOLDER_OPTION} annotation processor option.
+ * The folder is not an input of the compilation known to the build tool. Thus, the build should declare it as an input of the compile task, otherwise an incremental build keeps a catalog with the previous content of the commands. At runtime, {@code DefaultTextResourceLoader} reads a command whose resource differs from the catalog from the classpath.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Internal
+public final class StaticCommandCatalogVisitor implements TypeElementVisitor<Object, Object> {
+
+    /**
+     * Annotation processor option to set the static commands folder.
+     */
+    public static final String FOLDER_OPTION = "micronaut.chatbots.folder";
+
+    /**
+     * The default static commands folder.
+     */
+    public static final String DEFAULT_FOLDER = "botcommands";
+
+    private static final String SLASH = "/";
+    private static final String RESOURCES = "src/main/resources";
+    private static final String CATALOG_PACKAGE = "io.micronaut.chatbots.generated";
+    private static final String CATALOG_SERVICE = "io.micronaut.chatbots.core.StaticCommandCatalog";
+
+    private boolean generated;
+
+    @Override
+    @NonNull
+    public Set<String> getSupportedOptions() {
+        return Set.of(FOLDER_OPTION);
+    }
+
+    @Override
+    @NonNull
+    public VisitorKind getVisitorKind() {
+        return VisitorKind.AGGREGATING;
+    }
+
+    @Override
+    public void visitClass(ClassElement element, VisitorContext context) {
+        if (generated) {
+            return;
+        }
+        generated = true;
+        Optional<Path> projectDir = context.getProjectDir();
+        if (projectDir.isEmpty()) {
+            return;
+        }
+        String folder = normalizeFolder(context.getOptions().getOrDefault(FOLDER_OPTION, DEFAULT_FOLDER));
+        Path folderPath = projectDir.get().resolve(RESOURCES).resolve(folder);
+        if (!Files.isDirectory(folderPath)) {
+            return;
+        }
+        Map<String, String> resources = resources(element, folder, folderPath);
+        if (resources.isEmpty()) {
+            return;
+        }
+        String className = CATALOG_PACKAGE + ".$StaticCommandCatalog" + hash(folder, resources);
+        try (OutputStream outputStream = context.visitClass(className, element)) {
+            outputStream.write(StaticCommandCatalogWriter.write(className, CATALOG_SERVICE, folder, resources));
+        } catch (IOException e) {
+            throw new ProcessingException(element, "Error generating static command catalog: " + e.getMessage(), e);
+        }
+        context.visitServiceDescriptor(CATALOG_SERVICE, className, element);
+    }
+
+    /**
+     * Reads the text of every file in the folder verbatim as UTF-8, as {@code DefaultTextResourceLoader} does when it reads from the classpath.
+     * @param element Originating element
+     * @param folder Folder, normalized
+     * @param folderPath Path of the folder in the project's resources
+     * @return The text of every file in the folder keyed by resource path, sorted
+     */
+    @NonNull
+    private static Map<String, String> resources(@NonNull ClassElement element, @NonNull String folder, @NonNull Path folderPath) {
+        Map<String, String> resources = new TreeMap<>();
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(folderPath)) {
+            files = stream.filter(Files::isRegularFile).toList();
+        } catch (IOException e) {
+            throw new ProcessingException(element, "Error listing static commands folder " + folderPath + ": " + e.getMessage(), e);
+        }
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            if (fileName.startsWith(".")) {
+                continue;
+            }
+            try {
+                String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                if (!text.isEmpty()) {
+                    resources.put(folder + fileName, text);
+                }
+            } catch (IOException e) {
+                throw new ProcessingException(element, "Error reading static command " + file + ": " + e.getMessage(), e);
+            }
+        }
+        return resources;
+    }
+
+    /**
+     * The class name derives from the content, thus modules with distinct resources generate distinct classes and a build is reproducible.
+     */
+    @NonNull
+    private static String hash(@NonNull String folder, @NonNull Map<String, String> resources) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(folder.getBytes(StandardCharsets.UTF_8));
+            resources.forEach((path, text) -> {
+                digest.update((byte) 0);
+                digest.update(path.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(text.getBytes(StandardCharsets.UTF_8));
+            });
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @NonNull
+    private static String normalizeFolder(@NonNull String path) {
+        String result = path.replace("\\", SLASH);
+        if (result.startsWith(SLASH)) {
+            result = result.substring(1);
+        }
+        return result.endsWith(SLASH) ? result : result + SLASH;
+    }
+}
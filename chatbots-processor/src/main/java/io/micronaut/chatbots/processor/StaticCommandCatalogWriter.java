@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.processor;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.util.Map;
+
+/**
+ * Writes the bytecode of a static command catalog. The generated class returns its folder and builds an unmodifiable map with the text of every resource.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Internal
+final class StaticCommandCatalogWriter {
+
+    /**
+     * Maximum number of characters of a string constant. A constant is limited to 65535 bytes and a character takes up to 3 bytes in the class file.
+     */
+    private static final int MAX_CONSTANT_LENGTH = 65535 / 3;
+
+    private static final String OBJECT = "java/lang/Object";
+    private static final String STRING = "java/lang/String";
+    private static final String STRING_BUILDER = "java/lang/StringBuilder";
+    private static final String MAP = "java/util/Map";
+    private static final String HASH_MAP = "java/util/HashMap";
+    private static final String CONSTRUCTOR = "<init>";
+
+    private StaticCommandCatalogWriter() {
+    }
+
+    /**
+     *
+     * @param className Name of the generated class
+     * @param serviceName Name of the interface the generated class implements
+     * @param folder Folder whose resources the catalog holds
+     * @param resources The text of every resource keyed by resource path
+     * @return The bytecode of the generated class
+     */
+    @NonNull
+    static byte[] write(@NonNull String className,
+                        @NonNull String serviceName,
+                        @NonNull String folder,
+                        @NonNull Map<String, String> resources) {
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        classWriter.visit(Opcodes.V17,
+            Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC,
+            internalName(className),
+            null,
+            OBJECT,
+            new String[] {internalName(serviceName)});
+
+        MethodVisitor constructor = classWriter.visitMethod(Opcodes.ACC_PUBLIC, CONSTRUCTOR, "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, OBJECT, CONSTRUCTOR, "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        MethodVisitor getFolder = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "getFolder", "()Ljava/lang/String;", null, null);
+        getFolder.visitCode();
+        pushString(getFolder, folder);
+        getFolder.visitInsn(Opcodes.ARETURN);
+        getFolder.visitMaxs(0, 0);
+        getFolder.visitEnd();
+
+        MethodVisitor getResources = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "getResources", "()Ljava/util/Map;", "()Ljava/util/Map<Ljava/lang/String;Ljava/lang/String;>;", null);
+        getResources.visitCode();
+        getResources.visitTypeInsn(Opcodes.NEW, HASH_MAP);
+        getResources.visitInsn(Opcodes.DUP);
+        getResources.visitLdcInsn(resources.size() * 2);
+        getResources.visitMethodInsn(Opcodes.INVOKESPECIAL, HASH_MAP, CONSTRUCTOR, "(I)V", false);
+        resources.forEach((path, text) -> {
+            getResources.visitInsn(Opcodes.DUP);
+            pushString(getResources, path);
+            pushString(getResources, text);
+            getResources.visitMethodInsn(Opcodes.INVOKEINTERFACE, MAP, "put", "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+            getResources.visitInsn(Opcodes.POP);
+        });
+        getResources.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Collections", "unmodifiableMap", "(Ljava/util/Map;)Ljava/util/Map;", false);
+        getResources.visitInsn(Opcodes.ARETURN);
+        getResources.visitMaxs(0, 0);
+        getResources.visitEnd();
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    /**
+     * Pushes a string onto the stack. Strings longer than a constant allows are concatenated from several constants.
+     */
+    private static void pushString(@NonNull MethodVisitor method, @NonNull String value) {
+        if (value.length() <= MAX_CONSTANT_LENGTH) {
+            method.visitLdcInsn(value);
+            return;
+        }
+        method.visitTypeInsn(Opcodes.NEW, STRING_BUILDER);
+        method.visitInsn(Opcodes.DUP);
+        method.visitLdcInsn(value.length());
+        method.visitMethodInsn(Opcodes.INVOKESPECIAL, STRING_BUILDER, CONSTRUCTOR, "(I)V", false);
+        for (int start = 0; start < value.length(); start += MAX_CONSTANT_LENGTH) {
+            method.visitLdcInsn(value.substring(start, Math.min(value.length(), start + MAX_CONSTANT_LENGTH)));
+            method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, STRING_BUILDER, "append", "(Ljava/lang/String;)Ljava/lang/StringBuilder;", false);
+        }
+        method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, STRING_BUILDER, "toString", "()L" + STRING + ";", false);
+    }
+
+    @NonNull
+    private static String internalName(@NonNull String className) {
+        return className.replace('.', '/');
+    }
+}
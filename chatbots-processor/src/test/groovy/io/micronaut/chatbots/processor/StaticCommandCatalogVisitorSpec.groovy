@@ -0,0 +1,66 @@
+package io.micronaut.chatbots.processor
+
+import io.micronaut.chatbots.core.StaticCommandCatalog
+import io.micronaut.core.io.service.SoftServiceLoader
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import javax.tools.JavaCompiler
+import javax.tools.ToolProvider
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+
+class StaticCommandCatalogVisitorSpec extends Specification {
+
+    @TempDir
+    Path projectDir
+
+    void "a catalog holds the text of every static command"() {
+        given:
+        Path folder = Files.createDirectories(projectDir.resolve('src/main/resources/botcommands'))
+        Files.write(folder.resolve('about.md'), 'Bot developed with 💙\r\nand Micronaut'.getBytes(StandardCharsets.UTF_8))
+        Files.writeString(folder.resolve('help.html'), 'x' * 70_000)
+        Files.writeString(folder.resolve('empty.txt'), '')
+
+        when:
+        List<StaticCommandCatalog> catalogs = compile()
+
+        then:
+        catalogs.size() == 1
+        catalogs[0].folder == 'botcommands/'
+        catalogs[0].resources.keySet() == ['botcommands/about.md', 'botcommands/help.html'] as Set
+        catalogs[0].resources['botcommands/about.md'] == 'Bot developed with 💙\r\nand Micronaut'
+        catalogs[0].resources['botcommands/help.html'] == 'x' * 70_000
+    }
+
+    void "the folder may be set with an annotation processor option"() {
+        given:
+        Path folder = Files.createDirectories(projectDir.resolve('src/main/resources/commands'))
+        Files.writeString(folder.resolve('about.txt'), 'about')
+
+        when:
+        List<StaticCommandCatalog> catalogs = compile("-A${StaticCommandCatalogVisitor.FOLDER_OPTION}=/commands")
+
+        then:
+        catalogs.size() == 1
+        catalogs[0].folder == 'commands/'
+        catalogs[0].resources == ['commands/about.txt': 'about']
+    }
+
+    void "no catalog is generated without a static commands folder"() {
+        expect:
+        compile().isEmpty()
+    }
+
+    private List<StaticCommandCatalog> compile(String... options) {
+        Path source = Files.createDirectories(projectDir.resolve('src/main/java/example')).resolve('Example.java')
+        Files.writeString(source, 'package example; public class Example {}')
+        Path classes = Files.createDirectories(projectDir.resolve('build/classes/java/main'))
+        JavaCompiler compiler = ToolProvider.systemJavaCompiler
+        List<String> arguments = ['-proc:only', '-d', classes.toString(), '-processorpath', System.getProperty('java.class.path'),
+                                  "-Amicronaut.processing.project.dir=${projectDir}".toString(), *options, source.toString()]
+        assert compiler.run(null, null, null, arguments as String[]) == 0
+        SoftServiceLoader.load(StaticCommandCatalog, new URLClassLoader([classes.toUri().toURL()] as URL[], StaticCommandCatalog.classLoader)).collectAll()
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * This object represents one result of an inline query.
+ * @see <a href="https://core.telegram.org/bots/api#inlinequeryresult">InlineQueryResult</a>
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Serdeable
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "type")
+@JsonSubTypes({
+    @JsonSubTypes.Type(value = InlineQueryResultArticle.class, name = InlineQueryResultArticle.TYPE_ARTICLE)
+})
+public abstract class InlineQueryResult {
+
+    /**
+     * Type of the result.
+     */
+    @NonNull
+    protected final String type;
+
+    /**
+     * Unique identifier for this result, 1-64 Bytes.
+     */
+    @NonNull
+    @NotBlank
+    @Size(max = 64)
+    private String id;
+
+    /**
+     * Inline keyboard attached to the message.
+     */
+    @Nullable
+    @JsonProperty("reply_markup")
+    private InlineKeyboardMarkup replyMarkup;
+
+    protected InlineQueryResult(@NonNull String type) {
+        this.type = type;
+    }
+
+    /**
+     *
+     * @return Type of the result.
+     */
+    @NonNull
+    public String getType() {
+        return type;
+    }
+
+    /**
+     *
+     * @return Unique identifier for this result, 1-64 Bytes.
+     */
+    @NonNull
+    public String getId() {
+        return id;
+    }
+
+    /**
+     *
+     * @param id Unique identifier for this result, 1-64 Bytes.
+     */
+    public void setId(@NonNull String id) {
+        this.id = id;
+    }
+
+    /**
+     *
+     * @return Inline keyboard attached to the message.
+     */
+    @Nullable
+    public InlineKeyboardMarkup getReplyMarkup() {
+        return replyMarkup;
+    }
+
+    /**
+     *
+     * @param replyMarkup Inline keyboard attached to the message.
+     */
+    public void setReplyMarkup(@Nullable InlineKeyboardMarkup replyMarkup) {
+        this.replyMarkup = replyMarkup;
+    }
+}
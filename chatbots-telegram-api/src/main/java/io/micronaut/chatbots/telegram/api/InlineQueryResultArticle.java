@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Represents a link to an article or web page.
+ * @see <a href="https://core.telegram.org/bots/api#inlinequeryresultarticle">InlineQueryResultArticle</a>
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Serdeable
+public class InlineQueryResultArticle extends InlineQueryResult {
+
+    public static final String TYPE_ARTICLE = "article";
+
+    /**
+     * Title of the result.
+     */
+    @NonNull
+    @NotBlank
+    private String title;
+
+    /**
+     * Content of the message to be sent.
+     */
+    @NonNull
+    @NotNull
+    @JsonProperty("input_message_content")
+    private InputTextMessageContent inputMessageContent;
+
+    /**
+     * URL of the result.
+     */
+    @Nullable
+    private String url;
+
+    /**
+     * Short description of the result.
+     */
+    @Nullable
+    private String description;
+
+    /**
+     * Url of the thumbnail for the result.
+     */
+    @Nullable
+    @JsonProperty("thumbnail_url")
+    private String thumbnailUrl;
+
+    public InlineQueryResultArticle() {
+        super(TYPE_ARTICLE);
+    }
+
+    /**
+     *
+     * @return Title of the result.
+     */
+    @NonNull
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     *
+     * @param title Title of the result.
+     */
+    public void setTitle(@NonNull String title) {
+        this.title = title;
+    }
+
+    /**
+     *
+     * @return Content of the message to be sent.
+     */
+    @NonNull
+    public InputTextMessageContent getInputMessageContent() {
+        return inputMessageContent;
+    }
+
+    /**
+     *
+     * @param inputMessageContent Content of the message to be sent.
+     */
+    public void setInputMessageContent(@NonNull InputTextMessageContent inputMessageContent) {
+        this.inputMessageContent = inputMessageContent;
+    }
+
+    /**
+     *
+     * @return URL of the result.
+     */
+    @Nullable
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     *
+     * @param url URL of the result.
+     */
+    public void setUrl(@Nullable String url) {
+        this.url = url;
+    }
+
+    /**
+     *
+     * @return Short description of the result.
+     */
+    @Nullable
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     *
+     * @param description Short description of the result.
+     */
+    public void setDescription(@Nullable String description) {
+        this.description = description;
+    }
+
+    /**
+     *
+     * @return Url of the thumbnail for the result.
+     */
+    @Nullable
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    /**
+     *
+     * @param thumbnailUrl Url of the thumbnail for the result.
+     */
+    public void setThumbnailUrl(@Nullable String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Represents the content of a text message to be sent as the result of an inline query.
+ * @see <a href="https://core.telegram.org/bots/api#inputtextmessagecontent">InputTextMessageContent</a>
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Serdeable
+public class InputTextMessageContent {
+
+    /**
+     * Text of the message to be sent, 1-4096 characters.
+     */
+    @NonNull
+    @NotBlank
+    @Size(max = 4096)
+    @JsonProperty("message_text")
+    private String messageText;
+
+    /**
+     * Mode for parsing entities in the message text.
+     */
+    @Nullable
+    @JsonProperty("parse_mode")
+    private String parseMode;
+
+    /**
+     *
+     * @return Text of the message to be sent, 1-4096 characters.
+     */
+    @NonNull
+    public String getMessageText() {
+        return messageText;
+    }
+
+    /**
+     *
+     * @param messageText Text of the message to be sent, 1-4096 characters.
+     */
+    public void setMessageText(@NonNull String messageText) {
+        this.messageText = messageText;
+    }
+
+    /**
+     *
+     * @return Mode for parsing entities in the message text.
+     */
+    @Nullable
+    public String getParseMode() {
+        return parseMode;
+    }
+
+    /**
+     *
+     * @param parseMode Mode for parsing entities in the message text.
+     */
+    public void setParseMode(@Nullable String parseMode) {
+        this.parseMode = parseMode;
+    }
+}
@@ -0,0 +1,606 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.api;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * {@link Message} created from a {@link MessageProjection}. The fields of the projection are set eagerly. Other fields are read from, and written to, the fully decoded message, which is decoded on first access.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Internal
+final class LazyMessage extends Message {
+
+    private final Supplier<Message> full;
+
+    LazyMessage(@NonNull MessageProjection projection, @NonNull Supplier<Message> full) {
+        this.full = full;
+        setMessageId(projection.messageId());
+        setFrom(projection.from());
+        setDate(projection.date());
+        setChat(projection.chat());
+        setText(projection.text());
+        setEntities(projection.entities());
+        setCaption(projection.caption());
+        setCaptionEntities(projection.captionEntities());
+    }
+
+    @NonNull
+    private Message full() {
+        return full.get();
+    }
+
+    @Override
+    @Nullable
+    public User getForwardFrom() {
+        return full().getForwardFrom();
+    }
+
+    @Override
+    public void setForwardFrom(@Nullable User forwardFrom) {
+        full().setForwardFrom(forwardFrom);
+    }
+
+    @Override
+    @Nullable
+    public Chat getForwardFromChat() {
+        return full().getForwardFromChat();
+    }
+
+    @Override
+    public void setForwardFromChat(@Nullable Chat forwardFromChat) {
+        full().setForwardFromChat(forwardFromChat);
+    }
+
+    @Override
+    @Nullable
+    public Integer getForwardFromMessageId() {
+        return full().getForwardFromMessageId();
+    }
+
+    @Override
+    public void setForwardFromMessageId(@Nullable Integer forwardFromMessageId) {
+        full().setForwardFromMessageId(forwardFromMessageId);
+    }
+
+    @Override
+    @Nullable
+    public String getForwardSignature() {
+        return full().getForwardSignature();
+    }
+
+    @Override
+    public void setForwardSignature(@Nullable String forwardSignature) {
+        full().setForwardSignature(forwardSignature);
+    }
+
+    @Override
+    @Nullable
+    public String getForwardSenderName() {
+        return full().getForwardSenderName();
+    }
+
+    @Override
+    public void setForwardSenderName(@Nullable String forwardSenderName) {
+        full().setForwardSenderName(forwardSenderName);
+    }
+
+    @Override
+    @Nullable
+    public Integer getForwardDate() {
+        return full().getForwardDate();
+    }
+
+    @Override
+    public void setForwardDate(@Nullable Integer forwardDate) {
+        full().setForwardDate(forwardDate);
+    }
+
+    @Override
+    @Nullable
+    public Message getReplyToMessage() {
+        return full().getReplyToMessage();
+    }
+
+    @Override
+    public void setReplyToMessage(@Nullable Message replyToMessage) {
+        full().setReplyToMessage(replyToMessage);
+    }
+
+    @Override
+    @Nullable
+    public Integer getEditDate() {
+        return full().getEditDate();
+    }
+
+    @Override
+    public void setEditDate(@Nullable Integer editDate) {
+        full().setEditDate(editDate);
+    }
+
+    @Override
+    @Nullable
+    public String getMediaGroupId() {
+        return full().getMediaGroupId();
+    }
+
+    @Override
+    public void setMediaGroupId(@Nullable String mediaGroupId) {
+        full().setMediaGroupId(mediaGroupId);
+    }
+
+    @Override
+    @Nullable
+    public String getAuthorSignature() {
+        return full().getAuthorSignature();
+    }
+
+    @Override
+    public void setAuthorSignature(@Nullable String authorSignature) {
+        full().setAuthorSignature(authorSignature);
+    }
+
+    @Override
+    @Nullable
+    public Audio getAudio() {
+        return full().getAudio();
+    }
+
+    @Override
+    public void setAudio(@Nullable Audio audio) {
+        full().setAudio(audio);
+    }
+
+    @Override
+    @Nullable
+    public Document getDocument() {
+        return full().getDocument();
+    }
+
+    @Override
+    public void setDocument(@Nullable Document document) {
+        full().setDocument(document);
+    }
+
+    @Override
+    @Nullable
+    public Animation getAnimation() {
+        return full().getAnimation();
+    }
+
+    @Override
+    public void setAnimation(@Nullable Animation animation) {
+        full().setAnimation(animation);
+    }
+
+    @Override
+    @Nullable
+    public Game getGame() {
+        return full().getGame();
+    }
+
+    @Override
+    public void setGame(@Nullable Game game) {
+        full().setGame(game);
+    }
+
+    @Override
+    @Nullable
+    public List<PhotoSize> getPhoto() {
+        return full().getPhoto();
+    }
+
+    @Override
+    public void setPhoto(@Nullable List<PhotoSize> photo) {
+        full().setPhoto(photo);
+    }
+
+    @Override
+    @Nullable
+    public Sticker getSticker() {
+        return full().getSticker();
+    }
+
+    @Override
+    public void setSticker(@Nullable Sticker sticker) {
+        full().setSticker(sticker);
+    }
+
+    @Override
+    @Nullable
+    public Video getVideo() {
+        return full().getVideo();
+    }
+
+    @Override
+    public void setVideo(@Nullable Video video) {
+        full().setVideo(video);
+    }
+
+    @Override
+    @Nullable
+    public Voice getVoice() {
+        return full().getVoice();
+    }
+
+    @Override
+    public void setVoice(@Nullable Voice voice) {
+        full().setVoice(voice);
+    }
+
+    @Override
+    @Nullable
+    public VideoNote getVideoNote() {
+        return full().getVideoNote();
+    }
+
+    @Override
+    public void setVideoNote(@Nullable VideoNote videoNote) {
+        full().setVideoNote(videoNote);
+    }
+
+    @Override
+    @Nullable
+    public Contact getContact() {
+        return full().getContact();
+    }
+
+    @Override
+    public void setContact(@Nullable Contact contact) {
+        full().setContact(contact);
+    }
+
+    @Override
+    @Nullable
+    public Location getLocation() {
+        return full().getLocation();
+    }
+
+    @Override
+    public void setLocation(@Nullable Location location) {
+        full().setLocation(location);
+    }
+
+    @Override
+    @Nullable
+    public Venue getVenue() {
+        return full().getVenue();
+    }
+
+    @Override
+    public void setVenue(@Nullable Venue venue) {
+        full().setVenue(venue);
+    }
+
+    @Override
+    @Nullable
+    public Poll getPoll() {
+        return full().getPoll();
+    }
+
+    @Override
+    public void setPoll(@Nullable Poll poll) {
+        full().setPoll(poll);
+    }
+
+    @Override
+    @Nullable
+    public List<User> getNewChatMembers() {
+        return full().getNewChatMembers();
+    }
+
+    @Override
+    public void setNewChatMembers(@Nullable List<User> newChatMembers) {
+        full().setNewChatMembers(newChatMembers);
+    }
+
+    @Override
+    @Nullable
+    public User getLeftChatMember() {
+        return full().getLeftChatMember();
+    }
+
+    @Override
+    public void setLeftChatMember(@Nullable User leftChatMember) {
+        full().setLeftChatMember(leftChatMember);
+    }
+
+    @Override
+    @Nullable
+    public String getNewChatTitle() {
+        return full().getNewChatTitle();
+    }
+
+    @Override
+    public void setNewChatTitle(@Nullable String newChatTitle) {
+        full().setNewChatTitle(newChatTitle);
+    }
+
+    @Override
+    @Nullable
+    public List<PhotoSize> getNewChatPhoto() {
+        return full().getNewChatPhoto();
+    }
+
+    @Override
+    public void setNewChatPhoto(@Nullable List<PhotoSize> newChatPhoto) {
+        full().setNewChatPhoto(newChatPhoto);
+    }
+
+    @Override
+    @Nullable
+    public Boolean getDeleteChatPhoto() {
+        return full().getDeleteChatPhoto();
+    }
+
+    @Override
+    public void setDeleteChatPhoto(@Nullable Boolean deleteChatPhoto) {
+        full().setDeleteChatPhoto(deleteChatPhoto);
+    }
+
+    @Override
+    @Nullable
+    public Boolean getGroupChatCreated() {
+        return full().getGroupChatCreated();
+    }
+
+    @Override
+    public void setGroupChatCreated(@Nullable Boolean groupChatCreated) {
+        full().setGroupChatCreated(groupChatCreated);
+    }
+
+    @Override
+    @Nullable
+    public Boolean getSupergroupChatCreated() {
+        return full().getSupergroupChatCreated();
+    }
+
+    @Override
+    public void setSupergroupChatCreated(@Nullable Boolean supergroupChatCreated) {
+        full().setSupergroupChatCreated(supergroupChatCreated);
+    }
+
+    @Override
+    @Nullable
+    public Boolean getChannelChatCreated() {
+        return full().getChannelChatCreated();
+    }
+
+    @Override
+    public void setChannelChatCreated(@Nullable Boolean channelChatCreated) {
+        full().setChannelChatCreated(channelChatCreated);
+    }
+
+    @Override
+    @Nullable
+    public Long getMigrateToChatId() {
+        return full().getMigrateToChatId();
+    }
+
+    @Override
+    public void setMigrateToChatId(@Nullable Long migrateToChatId) {
+        full().setMigrateToChatId(migrateToChatId);
+    }
+
+    @Override
+    @Nullable
+    public Long getMigrateFromChatId() {
+        return full().getMigrateFromChatId();
+    }
+
+    @Override
+    public void setMigrateFromChatId(@Nullable Long migrateFromChatId) {
+        full().setMigrateFromChatId(migrateFromChatId);
+    }
+
+    @Override
+    @Nullable
+    public Message getPinnedMessage() {
+        return full().getPinnedMessage();
+    }
+
+    @Override
+    public void setPinnedMessage(@Nullable Message pinnedMessage) {
+        full().setPinnedMessage(pinnedMessage);
+    }
+
+    @Override
+    @Nullable
+    public Invoice getInvoice() {
+        return full().getInvoice();
+    }
+
+    @Override
+    public void setInvoice(@Nullable Invoice invoice) {
+        full().setInvoice(invoice);
+    }
+
+    @Override
+    @Nullable
+    public SuccessfulPayment getSuccessfulPayment() {
+        return full().getSuccessfulPayment();
+    }
+
+    @Override
+    public void setSuccessfulPayment(@Nullable SuccessfulPayment successfulPayment) {
+        full().setSuccessfulPayment(successfulPayment);
+    }
+
+    @Override
+    @Nullable
+    public String getConnectedWebsite() {
+        return full().getConnectedWebsite();
+    }
+
+    @Override
+    public void setConnectedWebsite(@Nullable String connectedWebsite) {
+        full().setConnectedWebsite(connectedWebsite);
+    }
+
+    @Override
+    @Nullable
+    public PassportData getPassportData() {
+        return full().getPassportData();
+    }
+
+    @Override
+    public void setPassportData(@Nullable PassportData passportData) {
+        full().setPassportData(passportData);
+    }
+
+    @Override
+    @Nullable
+    public InlineKeyboardMarkup getReplyMarkup() {
+        return full().getReplyMarkup();
+    }
+
+    @Override
+    public void setReplyMarkup(@Nullable InlineKeyboardMarkup replyMarkup) {
+        full().setReplyMarkup(replyMarkup);
+    }
+
+    @Override
+    @Nullable
+    public Chat getSenderChat() {
+        return full().getSenderChat();
+    }
+
+    @Override
+    public void setSenderChat(@Nullable Chat senderChat) {
+        full().setSenderChat(senderChat);
+    }
+
+    @Override
+    @Nullable
+    public Boolean isAutomaticForward() {
+        return full().isAutomaticForward();
+    }
+
+    @Override
+    public void setAutomaticForward(@Nullable Boolean automaticForward) {
+        full().setAutomaticForward(automaticForward);
+    }
+
+    @Override
+    @Nullable
+    public User getViaBot() {
+        return full().getViaBot();
+    }
+
+    @Override
+    public void setViaBot(@Nullable User viaBot) {
+        full().setViaBot(viaBot);
+    }
+
+    @Override
+    @Nullable
+    public Boolean getHasProtectedContent() {
+        return full().getHasProtectedContent();
+    }
+
+    @Override
+    public void setHasProtectedContent(@Nullable Boolean hasProtectedContent) {
+        full().setHasProtectedContent(hasProtectedContent);
+    }
+
+    @Override
+    @Nullable
+    public Dice getDice() {
+        return full().getDice();
+    }
+
+    @Override
+    public void setDice(@Nullable Dice dice) {
+        full().setDice(dice);
+    }
+
+    @Override
+    @Nullable
+    public MessageAutoDeleteTimerChanged getMessageAutoDeleteTimerChanged() {
+        return full().getMessageAutoDeleteTimerChanged();
+    }
+
+    @Override
+    public void setMessageAutoDeleteTimerChanged(@Nullable MessageAutoDeleteTimerChanged messageAutoDeleteTimerChanged) {
+        full().setMessageAutoDeleteTimerChanged(messageAutoDeleteTimerChanged);
+    }
+
+    @Override
+    @Nullable
+    public VideoChatScheduled getVideoChatScheduled() {
+        return full().getVideoChatScheduled();
+    }
+
+    @Override
+    public void setVideoChatScheduled(@Nullable VideoChatScheduled videoChatScheduled) {
+        full().setVideoChatScheduled(videoChatScheduled);
+    }
+
+    @Override
+    @Nullable
+    public VideoChatStarted getVideoChatStarted() {
+        return full().getVideoChatStarted();
+    }
+
+    @Override
+    public void setVideoChatStarted(@Nullable VideoChatStarted videoChatStarted) {
+        full().setVideoChatStarted(videoChatStarted);
+    }
+
+    @Override
+    @Nullable
+    public VideoChatEnded getVideoChatEnded() {
+        return full().getVideoChatEnded();
+    }
+
+    @Override
+    public void setVideoChatEnded(@Nullable VideoChatEnded videoChatEnded) {
+        full().setVideoChatEnded(videoChatEnded);
+    }
+
+    @Override
+    @Nullable
+    public VideoChatParticipantsInvited getVideoChatParticipantsInvited() {
+        return full().getVideoChatParticipantsInvited();
+    }
+
+    @Override
+    public void setVideoChatParticipantsInvited(@Nullable VideoChatParticipantsInvited videoChatParticipantsInvited) {
+        full().setVideoChatParticipantsInvited(videoChatParticipantsInvited);
+    }
+
+    @Override
+    @Nullable
+    public WebAppData getWebAppData() {
+        return full().getWebAppData();
+    }
+
+    @Override
+    public void setWebAppData(@Nullable WebAppData webAppData) {
+        full().setWebAppData(webAppData);
+    }
+
+    @Override
+    public String toString() {
+        return full().toString();
+    }
+}
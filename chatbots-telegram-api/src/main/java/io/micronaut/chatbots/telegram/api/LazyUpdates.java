@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.api;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.type.Argument;
+import io.micronaut.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Decodes an {@link Update} without binding the whole {@link Message} graph.
+ * Only the message id, sender, date, chat, text, caption and entities of a message are decoded eagerly. The remaining members are kept as the undecoded JSON payload, which is decoded fully the first time one of them is read or written.
+ * Use it when handlers mostly read the text and the chat of the messages.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public final class LazyUpdates {
+
+    private static final Argument<UpdateProjection> UPDATE_PROJECTION = Argument.of(UpdateProjection.class);
+    private static final Argument<Update> UPDATE = Argument.of(Update.class);
+
+    private LazyUpdates() {
+    }
+
+    /**
+     * Decodes an update lazily.
+     * @param json JSON payload of the update. It must not be modified afterwards.
+     * @param jsonMapper JSON Mapper
+     * @return The update or null if the payload is the JSON null literal
+     * @throws IOException if the payload cannot be decoded
+     */
+    @Nullable
+    public static Update decode(@NonNull byte[] json, @NonNull JsonMapper jsonMapper) throws IOException {
+        UpdateProjection projection = jsonMapper.readValue(json, UPDATE_PROJECTION);
+        if (projection == null) {
+            return null;
+        }
+        Supplier<Update> full = new FullUpdate(json, jsonMapper);
+        Update update = new Update();
+        update.setUpdateId(projection.updateId());
+        update.setMessage(message(projection.message(), full, Update::getMessage));
+        update.setEditedMessage(message(projection.editedMessage(), full, Update::getEditedMessage));
+        update.setChannelPost(message(projection.channelPost(), full, Update::getChannelPost));
+        update.setEditedChannelPost(message(projection.editedChannelPost(), full, Update::getEditedChannelPost));
+        update.setInlineQuery(projection.inlineQuery());
+        update.setChosenInlineResult(projection.chosenInlineResult());
+        update.setCallbackQuery(projection.callbackQuery());
+        update.setShippingQuery(projection.shippingQuery());
+        update.setPreCheckoutQuery(projection.preCheckoutQuery());
+        update.setPoll(projection.poll());
+        update.setPollAnswer(projection.pollAnswer());
+        return update;
+    }
+
+    @Nullable
+    private static Message message(@Nullable MessageProjection projection,
+                                   @NonNull Supplier<Update> full,
+                                   @NonNull Function<Update, Message> member) {
+        return projection != null ? new LazyMessage(projection, () -> member.apply(full.get())) : null;
+    }
+
+    /**
+     * Decodes the update fully once.
+     */
+    private static final class FullUpdate implements Supplier<Update> {
+        private final byte[] json;
+        private final JsonMapper jsonMapper;
+
+        @Nullable
+        private volatile Update update;
+
+        private FullUpdate(byte[] json, JsonMapper jsonMapper) {
+            this.json = json;
+            this.jsonMapper = jsonMapper;
+        }
+
+        @Override
+        @NonNull
+        public Update get() {
+            Update result = update;
+            if (result == null) {
+                synchronized (this) {
+                    result = update;
+                    if (result == null) {
+                        try {
+                            result = jsonMapper.readValue(json, UPDATE);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException("Error decoding update", e);
+                        }
+                        update = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
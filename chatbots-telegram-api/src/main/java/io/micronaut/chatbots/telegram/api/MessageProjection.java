@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+/**
+ * The fields of a {@link Message} most handlers read. Other members of the message are skipped while decoding.
+ * @param messageId Unique message identifier inside this chat
+ * @param from Sender
+ * @param date Date the message was sent in Unix time
+ * @param chat Conversation the message belongs to
+ * @param text For text messages, the actual UTF-8 text of the message
+ * @param entities For text messages, special entities like usernames, URLs, bot commands, etc. that appear in the text
+ * @param caption Caption for the animation, audio, document, photo, video or voice
+ * @param captionEntities For messages with a caption, special entities like usernames, URLs, bot commands, etc. that appear in the caption
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Internal
+@Serdeable.Deserializable
+record MessageProjection(@JsonProperty("message_id") Integer messageId,
+                         @Nullable User from,
+                         Integer date,
+                         Chat chat,
+                         @Nullable String text,
+                         @Nullable List<MessageEntity> entities,
+                         @Nullable String caption,
+                         @JsonProperty("caption_entities") @Nullable List<MessageEntity> captionEntities) {
+}
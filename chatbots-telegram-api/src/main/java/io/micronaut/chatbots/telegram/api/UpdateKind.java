@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.api;
+
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * Kind of {@link Update}. At most one of the optional parameters of an update is present, the kind tells which.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public enum UpdateKind {
+    MESSAGE("message"),
+    EDITED_MESSAGE("edited_message"),
+    CHANNEL_POST("channel_post"),
+    EDITED_CHANNEL_POST("edited_channel_post"),
+    INLINE_QUERY("inline_query"),
+    CHOSEN_INLINE_RESULT("chosen_inline_result"),
+    CALLBACK_QUERY("callback_query"),
+    SHIPPING_QUERY("shipping_query"),
+    PRE_CHECKOUT_QUERY("pre_checkout_query"),
+    POLL("poll"),
+    POLL_ANSWER("poll_answer"),
+    UNKNOWN("unknown");
+
+    private final String value;
+
+    UpdateKind(String value) {
+        this.value = value;
+    }
+
+    /**
+     *
+     * @param update Update
+     * @return The kind of the update or {@link #UNKNOWN} if none of the optional parameters is present.
+     */
+    @NonNull
+    public static UpdateKind of(@NonNull Update update) {
+        if (update.getMessage() != null) {
+            return MESSAGE;
+        }
+        if (update.getCallbackQuery() != null) {
+            return CALLBACK_QUERY;
+        }
+        if (update.getInlineQuery() != null) {
+            return INLINE_QUERY;
+        }
+        if (update.getEditedMessage() != null) {
+            return EDITED_MESSAGE;
+        }
+        if (update.getChannelPost() != null) {
+            return CHANNEL_POST;
+        }
+        if (update.getEditedChannelPost() != null) {
+            return EDITED_CHANNEL_POST;
+        }
+        if (update.getChosenInlineResult() != null) {
+            return CHOSEN_INLINE_RESULT;
+        }
+        if (update.getShippingQuery() != null) {
+            return SHIPPING_QUERY;
+        }
+        if (update.getPreCheckoutQuery() != null) {
+            return PRE_CHECKOUT_QUERY;
+        }
+        if (update.getPoll() != null) {
+            return POLL;
+        }
+        if (update.getPollAnswer() != null) {
+            return POLL_ANSWER;
+        }
+        return UNKNOWN;
+    }
+
+    @Override
+    public String toString() {
+        return this.value;
+    }
+}
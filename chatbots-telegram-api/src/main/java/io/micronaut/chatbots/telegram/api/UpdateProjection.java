@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+/**
+ * {@link Update} whose messages are decoded as {@link MessageProjection}. An update carries at most one optional member, thus the members which are not messages are decoded fully.
+ * @param updateId The update‘s unique identifier
+ * @param message New incoming message
+ * @param editedMessage New version of a message that is known to the bot and was edited
+ * @param channelPost New incoming channel post
+ * @param editedChannelPost New version of a channel post that is known to the bot and was edited
+ * @param inlineQuery New incoming inline query
+ * @param chosenInlineResult The result of an inline query that was chosen by a user
+ * @param callbackQuery New incoming callback query
+ * @param shippingQuery New incoming shipping query
+ * @param preCheckoutQuery New incoming pre-checkout query
+ * @param poll New poll state
+ * @param pollAnswer A user changed their answer in a non-anonymous poll
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Internal
+@Serdeable.Deserializable
+record UpdateProjection(@JsonProperty("update_id") Integer updateId,
+                        @Nullable MessageProjection message,
+                        @Nullable @JsonProperty("edited_message") MessageProjection editedMessage,
+                        @Nullable @JsonProperty("channel_post") MessageProjection channelPost,
+                        @Nullable @JsonProperty("edited_channel_post") MessageProjection editedChannelPost,
+                        @Nullable @JsonProperty("inline_query") InlineQuery inlineQuery,
+                        @Nullable @JsonProperty("chosen_inline_result") ChosenInlineResult chosenInlineResult,
+                        @Nullable @JsonProperty("callback_query") CallbackQuery callbackQuery,
+                        @Nullable @JsonProperty("shipping_query") ShippingQuery shippingQuery,
+                        @Nullable @JsonProperty("pre_checkout_query") PreCheckoutQuery preCheckoutQuery,
+                        @Nullable Poll poll,
+                        @Nullable @JsonProperty("poll_answer") PollAnswer pollAnswer) {
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.api.send;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Sends answers to callback queries sent from inline keyboards. The answer will be displayed to the user as a notification at the top of the chat screen or as an alert. An answer has no target chat, thus its chat id is not set.
+ * @see <a href="https://core.telegram.org/bots/api#answercallbackquery">answerCallbackQuery</a>
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Serdeable
+public class AnswerCallbackQuery extends Send {
+
+    public static final String METHOD_ANSWERCALLBACKQUERY = "answerCallbackQuery";
+
+    /**
+     * Unique identifier for the query to be answered.
+     */
+    @NonNull
+    @NotBlank
+    @JsonProperty("callback_query_id")
+    private String callbackQueryId;
+
+    /**
+     * Text of the notification. If not specified, nothing will be shown to the user, 0-200 characters.
+     */
+    @Nullable
+    @Size(max = 200)
+    private String text;
+
+    /**
+     * If true, an alert will be shown by the client instead of a notification at the top of the chat screen.
+     */
+    @Nullable
+    @JsonProperty("show_alert")
+    private Boolean showAlert;
+
+    /**
+     * URL that will be opened by the user's client.
+     */
+    @Nullable
+    private String url;
+
+    /**
+     * The maximum amount of time in seconds that the result of the callback query may be cached client-side.
+     */
+    @Nullable
+    @PositiveOrZero
+    @JsonProperty("cache_time")
+    private Integer cacheTime;
+
+    public AnswerCallbackQuery() {
+        super(METHOD_ANSWERCALLBACKQUERY);
+    }
+
+    /**
+     *
+     * @return Unique identifier for the query to be answered.
+     */
+    @NonNull
+    public String getCallbackQueryId() {
+        return callbackQueryId;
+    }
+
+    /**
+     *
+     * @param callbackQueryId Unique identifier for the query to be answered.
+     */
+    public void setCallbackQueryId(@NonNull String callbackQueryId) {
+        this.callbackQueryId = callbackQueryId;
+    }
+
+    /**
+     *
+     * @return Text of the notification.
+     */
+    @Nullable
+    public String getText() {
+        return text;
+    }
+
+    /**
+     *
+     * @param text Text of the notification. If not specified, nothing will be shown to the user, 0-200 characters.
+     */
+    public void setText(@Nullable String text) {
+        this.text = text;
+    }
+
+    /**
+     *
+     * @return Whether an alert will be shown by the client instead of a notification at the top of the chat screen.
+     */
+    @Nullable
+    public Boolean getShowAlert() {
+        return showAlert;
+    }
+
+    /**
+     *
+     * @param showAlert If true, an alert will be shown by the client instead of a notification at the top of the chat screen.
+     */
+    public void setShowAlert(@Nullable Boolean showAlert) {
+        this.showAlert = showAlert;
+    }
+
+    /**
+     *
+     * @return URL that will be opened by the user's client.
+     */
+    @Nullable
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     *
+     * @param url URL that will be opened by the user's client.
+     */
+    public void setUrl(@Nullable String url) {
+        this.url = url;
+    }
+
+    /**
+     *
+     * @return The maximum amount of time in seconds that the result of the callback query may be cached client-side.
+     */
+    @Nullable
+    public Integer getCacheTime() {
+        return cacheTime;
+    }
+
+    /**
+     *
+     * @param cacheTime The maximum amount of time in seconds that the result of the callback query may be cached client-side.
+     */
+    public void setCacheTime(@Nullable Integer cacheTime) {
+        this.cacheTime = cacheTime;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.api.send;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micronaut.chatbots.telegram.api.InlineQueryResult;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Sends answers to an inline query. An answer has no target chat, thus its chat id is not set.
+ * @see <a href="https://core.telegram.org/bots/api#answerinlinequery">answerInlineQuery</a>
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Serdeable
+public class AnswerInlineQuery extends Send {
+
+    public static final String METHOD_ANSWERINLINEQUERY = "answerInlineQuery";
+
+    /**
+     * Unique identifier for the answered query.
+     */
+    @NonNull
+    @NotBlank
+    @JsonProperty("inline_query_id")
+    private String inlineQueryId;
+
+    /**
+     * Results for the inline query. No more than 50 results per query are allowed.
+     */
+    @NonNull
+    @NotNull
+    @Size(max = 50)
+    private List<InlineQueryResult> results;
+
+    /**
+     * The maximum amount of time in seconds that the result of the inline query may be cached on the server. Defaults to 300.
+     */
+    @Nullable
+    @PositiveOrZero
+    @JsonProperty("cache_time")
+    private Integer cacheTime;
+
+    /**
+     * Whether results may be cached on the server side only for the user that sent the query.
+     */
+    @Nullable
+    @JsonProperty("is_personal")
+    private Boolean personal;
+
+    /**
+     * The offset that a client should send in the next query with the same text to receive more results. Empty if there are no more results.
+     */
+    @Nullable
+    @Size(max = 64)
+    @JsonProperty("next_offset")
+    private String nextOffset;
+
+    public AnswerInlineQuery() {
+        super(METHOD_ANSWERINLINEQUERY);
+    }
+
+    /**
+     *
+     * @return Unique identifier for the answered query.
+     */
+    @NonNull
+    public String getInlineQueryId() {
+        return inlineQueryId;
+    }
+
+    /**
+     *
+     * @param inlineQueryId Unique identifier for the answered query.
+     */
+    public void setInlineQueryId(@NonNull String inlineQueryId) {
+        this.inlineQueryId = inlineQueryId;
+    }
+
+    /**
+     *
+     * @return Results for the inline query.
+     */
+    @NonNull
+    public List<InlineQueryResult> getResults() {
+        return results;
+    }
+
+    /**
+     *
+     * @param results Results for the inline query. No more than 50 results per query are allowed.
+     */
+    public void setResults(@NonNull List<InlineQueryResult> results) {
+        this.results = results;
+    }
+
+    /**
+     *
+     * @return The maximum amount of time in seconds that the result of the inline query may be cached on the server.
+     */
+    @Nullable
+    public Integer getCacheTime() {
+        return cacheTime;
+    }
+
+    /**
+     *
+     * @param cacheTime The maximum amount of time in seconds that the result of the inline query may be cached on the server. Defaults to 300.
+     */
+    public void setCacheTime(@Nullable Integer cacheTime) {
+        this.cacheTime = cacheTime;
+    }
+
+    /**
+     *
+     * @return Whether results may be cached on the server side only for the user that sent the query.
+     */
+    @Nullable
+    public Boolean getPersonal() {
+        return personal;
+    }
+
+    /**
+     *
+     * @param personal Whether results may be cached on the server side only for the user that sent the query.
+     */
+    public void setPersonal(@Nullable Boolean personal) {
+        this.personal = personal;
+    }
+
+    /**
+     *
+     * @return The offset that a client should send in the next query with the same text to receive more results.
+     */
+    @Nullable
+    public String getNextOffset() {
+        return nextOffset;
+    }
+
+    /**
+     *
+     * @param nextOffset The offset that a client should send in the next query with the same text to receive more results. Pass an empty string if there are no more results.
+     */
+    public void setNextOffset(@Nullable String nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.api.send;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.Optional;
+
+/**
+ * A {@link SendMessage} which carries its {@link SendMessageJson} encoding. Webhook responses can write {@link #toJson()} instead of serializing the message.
+ * Changing any property but the chat id discards the encoding.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Serdeable.Serializable
+public final class PreSerializedSendMessage extends SendMessage {
+
+    @Nullable
+    private SendMessageJson json;
+
+    PreSerializedSendMessage(@NonNull SendMessageJson json, @NonNull Object chatId) {
+        setText(json.getText());
+        setParseMode(json.getParseMode());
+        setChatId(chatId);
+        this.json = json;
+    }
+
+    /**
+     *
+     * @return The UTF-8 JSON encoding of this message or an empty optional if the message was modified after it was encoded.
+     */
+    @NonNull
+    public Optional<byte[]> toJson() {
+        SendMessageJson encoding = json;
+        return encoding == null ? Optional.empty() : Optional.of(encoding.toJson(getChatId()));
+    }
+
+    @Override
+    public void setText(@NonNull String text) {
+        json = null;
+        super.setText(text);
+    }
+
+    @Override
+    public void setDisableWebPagePreview(@Nullable Boolean disableWebPagePreview) {
+        json = null;
+        super.setDisableWebPagePreview(disableWebPagePreview);
+    }
+
+    @Override
+    public void setParseMode(@Nullable String parseMode) {
+        json = null;
+        super.setParseMode(parseMode);
+    }
+
+    @Override
+    public void setDisableNotification(@Nullable Boolean disableNotification) {
+        json = null;
+        super.setDisableNotification(disableNotification);
+    }
+
+    @Override
+    public void setReplyToMessageId(@Nullable String replyToMessageId) {
+        json = null;
+        super.setReplyToMessageId(replyToMessageId);
+    }
+
+    @Override
+    public void setReplyMarkup(@Nullable String replyMarkup) {
+        json = null;
+        super.setReplyMarkup(replyMarkup);
+    }
+}
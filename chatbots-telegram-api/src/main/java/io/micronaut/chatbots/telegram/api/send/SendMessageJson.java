@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.api.send;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * UTF-8 JSON encoding of a {@link SendMessage} without its chat id.
+ * Instances are immutable and can be shared between requests which reply with the same text, so that the text is escaped once and only the chat id is written per request.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public final class SendMessageJson {
+
+    private static final byte[] CHAT_ID_PREFIX = "{\"chat_id\":".getBytes(StandardCharsets.UTF_8);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    @NonNull
+    private final String text;
+
+    @Nullable
+    private final String parseMode;
+
+    private final byte[] fragment;
+
+    private SendMessageJson(@NonNull String text, @Nullable String parseMode) {
+        this.text = text;
+        this.parseMode = parseMode;
+        StringBuilder sb = new StringBuilder(text.length() + 64);
+        sb.append(",\"method\":");
+        appendString(sb, SendMessage.METHOD_SENDMESSAGE);
+        sb.append(",\"text\":");
+        appendString(sb, text);
+        if (parseMode != null) {
+            sb.append(",\"parse_mode\":");
+            appendString(sb, parseMode);
+        }
+        sb.append('}');
+        this.fragment = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     *
+     * @param text Message text
+     * @param parseMode Parse mode
+     * @return The JSON encoding of a message with the given text and parse mode.
+     */
+    @NonNull
+    public static SendMessageJson of(@NonNull String text, @Nullable String parseMode) {
+        return new SendMessageJson(text, parseMode);
+    }
+
+    /**
+     *
+     * @return Message text
+     */
+    @NonNull
+    public String getText() {
+        return text;
+    }
+
+    /**
+     *
+     * @return Parse mode
+     */
+    @Nullable
+    public String getParseMode() {
+        return parseMode;
+    }
+
+    /**
+     *
+     * @param chatId Unique identifier for the target chat or username of the target channel
+     * @return A message to the given chat which carries this encoding.
+     */
+    @NonNull
+    public PreSerializedSendMessage toSendMessage(@NonNull Object chatId) {
+        return new PreSerializedSendMessage(this, chatId);
+    }
+
+    /**
+     *
+     * @param chatId Unique identifier for the target chat or username of the target channel
+     * @return The UTF-8 JSON encoding of the message sent to the given chat.
+     */
+    @NonNull
+    public byte[] toJson(@NonNull Object chatId) {
+        byte[] id;
+        if (chatId instanceof Number) {
+            id = chatId.toString().getBytes(StandardCharsets.US_ASCII);
+        } else {
+            StringBuilder sb = new StringBuilder();
+            appendString(sb, chatId.toString());
+            id = sb.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        byte[] json = Arrays.copyOf(CHAT_ID_PREFIX, CHAT_ID_PREFIX.length + id.length + fragment.length);
+        System.arraycopy(id, 0, json, CHAT_ID_PREFIX.length, id.length);
+        System.arraycopy(fragment, 0, json, CHAT_ID_PREFIX.length + id.length, fragment.length);
+        return json;
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                case '\b' -> sb.append("\\b");
+                case '\f' -> sb.append("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,99 @@
+package io.micronaut.chatbots.telegram.api
+
+import io.micronaut.serde.ObjectMapper
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import jakarta.inject.Inject
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+@MicronautTest(startApplication = false)
+class LazyUpdatesSpec extends Specification {
+
+    private static final byte[] JSON = '''\
+{
+  "update_id": 805351387,
+  "message": {
+    "message_id": 5,
+    "from": {"id": 718265379, "is_bot": false, "first_name": "John", "username": "johnsnow"},
+    "chat": {"id": 718265379, "first_name": "John", "username": "johnsnow", "type": "private"},
+    "date": 1660746770,
+    "text": "/help me",
+    "entities": [{"offset": 0, "length": 5, "type": "bot_command"}],
+    "reply_to_message": {
+      "message_id": 4,
+      "chat": {"id": 718265379, "type": "private"},
+      "date": 1660746760,
+      "text": "hello"
+    },
+    "photo": [{"file_id": "abc", "file_unique_id": "def", "width": 90, "height": 60}]
+  }
+}'''.getBytes(StandardCharsets.UTF_8)
+
+    @Inject
+    ObjectMapper objectMapper
+
+    void "hot fields are decoded eagerly and other fields on first access"() {
+        when:
+        Update update = LazyUpdates.decode(JSON, objectMapper)
+
+        then:
+        update.updateId == 805351387
+        update.message.messageId == 5
+        update.message.date == 1660746770
+        update.message.chat.id == 718265379
+        update.message.from.username == 'johnsnow'
+        update.message.text == '/help me'
+        update.message.entities[0].type == 'bot_command'
+        !update.editedMessage
+        !update.callbackQuery
+        update.message.replyToMessage.text == 'hello'
+        update.message.photo[0].fileId == 'abc'
+        !update.message.sticker
+        update.message.toString().contains('replyToMessage=')
+    }
+
+    void "the whole message is not decoded until a field outside of the projection is read"() {
+        given:
+        byte[] json = '''{"update_id": 1, "message": {"message_id": 5, "chat": {"id": 7, "type": "private"}, "date": 1, "text": "hi", "photo": "not an array"}}'''.getBytes(StandardCharsets.UTF_8)
+
+        when:
+        Update update = LazyUpdates.decode(json, objectMapper)
+
+        then:
+        update.message.text == 'hi'
+        update.message.chat.id == 7
+
+        when:
+        update.message.photo
+
+        then:
+        thrown(UncheckedIOException)
+    }
+
+    void "cold fields can be written"() {
+        given:
+        Update update = LazyUpdates.decode(JSON, objectMapper)
+
+        when:
+        update.message.caption = 'caption'
+        update.message.text = 'text'
+
+        then:
+        update.message.caption == 'caption'
+        update.message.text == 'text'
+    }
+
+    void "updates without messages are decoded fully"() {
+        given:
+        byte[] json = '''{"update_id": 1, "callback_query": {"id": "42", "from": {"id": 7, "is_bot": false, "first_name": "John"}, "chat_instance": "x", "data": "yes"}}'''.getBytes(StandardCharsets.UTF_8)
+
+        when:
+        Update update = LazyUpdates.decode(json, objectMapper)
+
+        then:
+        update.updateId == 1
+        !update.message
+        update.callbackQuery.data == 'yes'
+    }
+}
@@ -0,0 +1,36 @@
+package io.micronaut.chatbots.telegram.api
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class UpdateKindSpec extends Specification {
+
+    @Unroll
+    void "kind of an update with #property is #kind"(String property, Object value, UpdateKind kind) {
+        given:
+        Update update = new Update()
+        update[property] = value
+
+        expect:
+        UpdateKind.of(update) == kind
+
+        where:
+        property             | value                    || kind
+        'message'            | new Message()            || UpdateKind.MESSAGE
+        'editedMessage'      | new Message()            || UpdateKind.EDITED_MESSAGE
+        'channelPost'        | new Message()            || UpdateKind.CHANNEL_POST
+        'editedChannelPost'  | new Message()            || UpdateKind.EDITED_CHANNEL_POST
+        'inlineQuery'        | new InlineQuery()        || UpdateKind.INLINE_QUERY
+        'chosenInlineResult' | new ChosenInlineResult() || UpdateKind.CHOSEN_INLINE_RESULT
+        'callbackQuery'      | new CallbackQuery()      || UpdateKind.CALLBACK_QUERY
+        'shippingQuery'      | new ShippingQuery()      || UpdateKind.SHIPPING_QUERY
+        'preCheckoutQuery'   | new PreCheckoutQuery()   || UpdateKind.PRE_CHECKOUT_QUERY
+        'poll'               | new Poll()               || UpdateKind.POLL
+        'pollAnswer'         | new PollAnswer()         || UpdateKind.POLL_ANSWER
+    }
+
+    void "kind of an update without optional parameters is unknown"() {
+        expect:
+        UpdateKind.of(new Update()) == UpdateKind.UNKNOWN
+    }
+}
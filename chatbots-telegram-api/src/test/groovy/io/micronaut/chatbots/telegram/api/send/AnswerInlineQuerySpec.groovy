@@ -0,0 +1,65 @@
+package io.micronaut.chatbots.telegram.api.send
+
+import io.micronaut.chatbots.telegram.api.InlineQueryResult
+import io.micronaut.chatbots.telegram.api.InlineQueryResultArticle
+import io.micronaut.chatbots.telegram.api.InputTextMessageContent
+import io.micronaut.serde.ObjectMapper
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import jakarta.inject.Inject
+import spock.lang.Specification
+
+@MicronautTest(startApplication = false)
+class AnswerInlineQuerySpec extends Specification {
+    @Inject
+    ObjectMapper objectMapper
+
+    void "answerInlineQuery with an article result is serialized with the fields of the article"() {
+        given:
+        AnswerInlineQuery answer = new AnswerInlineQuery().tap {
+            inlineQueryId = '42'
+            cacheTime = 300
+            results = [new InlineQueryResultArticle().tap {
+                id = '1'
+                title = 'Micronaut'
+                url = 'https://micronaut.io'
+                inputMessageContent = new InputTextMessageContent().tap {
+                    messageText = 'https://micronaut.io'
+                }
+            }]
+        }
+
+        when:
+        String json = objectMapper.writeValueAsString(answer)
+
+        then:
+        objectMapper.readValue(json, Map) == [
+                method: 'answerInlineQuery',
+                inline_query_id: '42',
+                cache_time: 300,
+                results: [[
+                        type: 'article',
+                        id: '1',
+                        title: 'Micronaut',
+                        url: 'https://micronaut.io',
+                        input_message_content: [message_text: 'https://micronaut.io']
+                ]]
+        ]
+
+        when:
+        AnswerInlineQuery read = objectMapper.readValue(json, AnswerInlineQuery)
+
+        then:
+        read.inlineQueryId == '42'
+        read.results.size() == 1
+
+        when:
+        InlineQueryResult result = read.results[0]
+
+        then:
+        result instanceof InlineQueryResultArticle
+        result.type == 'article'
+        result.id == '1'
+        ((InlineQueryResultArticle) result).title == 'Micronaut'
+        ((InlineQueryResultArticle) result).inputMessageContent.messageText == 'https://micronaut.io'
+    }
+}
@@ -0,0 +1,61 @@
+package io.micronaut.chatbots.telegram.api.send
+
+import io.micronaut.serde.ObjectMapper
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import jakarta.inject.Inject
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+@MicronautTest(startApplication = false)
+class SendMessageJsonSpec extends Specification {
+    @Inject
+    ObjectMapper objectMapper
+
+    void "pre-serialized JSON matches the serialization of an equivalent SendMessage"(Object chatId, String text, String parseMode) {
+        given:
+        SendMessage expected = new SendMessage().tap {
+            it.chatId = chatId
+            it.text = text
+            it.parseMode = parseMode
+        }
+        PreSerializedSendMessage message = SendMessageJson.of(text, parseMode).toSendMessage(chatId)
+
+        expect:
+        objectMapper.readValue(message.toJson().get(), Map) == objectMapper.readValue(objectMapper.writeValueAsString(expected), Map)
+        objectMapper.readValue(objectMapper.writeValueAsString(message), Map) == objectMapper.readValue(objectMapper.writeValueAsString(expected), Map)
+
+        where:
+        chatId      | text                                                  | parseMode
+        718265379   | 'Hello World'                                         | null
+        -1001234567 | 'Bot developed with 💙 and "Micronaut"\n\t\\ \u0001' | ParseMode.MARKDOWN.toString()
+        '@channel'  | 'ünïcødé'                                             | ParseMode.HTML.toString()
+    }
+
+    void "the chat id is spliced into the shared encoding"() {
+        given:
+        SendMessageJson json = SendMessageJson.of('Hello', null)
+
+        expect:
+        new String(json.toJson(1L), StandardCharsets.UTF_8) == '{"chat_id":1,"method":"sendMessage","text":"Hello"}'
+        new String(json.toSendMessage(2L).toJson().get(), StandardCharsets.UTF_8) == '{"chat_id":2,"method":"sendMessage","text":"Hello"}'
+    }
+
+    void "modifying a pre-serialized message discards its encoding"() {
+        given:
+        PreSerializedSendMessage message = SendMessageJson.of('Hello', null).toSendMessage(1L)
+
+        when:
+        message.chatId = 2L
+
+        then:
+        message.toJson().isPresent()
+
+        when:
+        message.replyMarkup = '{}'
+
+        then:
+        !message.toJson().isPresent()
+        message.text == 'Hello'
+    }
+}
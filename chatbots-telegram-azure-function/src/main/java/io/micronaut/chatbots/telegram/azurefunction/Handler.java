@@ -29,6 +29,7 @@ import io.micronaut.chatbots.telegram.api.Update;
 import io.micronaut.chatbots.telegram.api.send.Send;
 import io.micronaut.chatbots.telegram.core.TelegramBotConfiguration;
 import io.micronaut.chatbots.telegram.core.TokenValidator;
+import io.micronaut.chatbots.telegram.core.UpdateDeduplicator;
 import io.micronaut.http.MediaType;
 import io.micronaut.json.JsonMapper;
 import jakarta.inject.Inject;
@@ -56,6 +57,9 @@ public class Handler extends AzureFunction {
     @Inject
     JsonMapper jsonMapper;
 
+    @Inject
+    UpdateDeduplicator updateDeduplicator;
+
     /**
      *
      * @param request Request
@@ -90,7 +94,20 @@ public class Handler extends AzureFunction {
         }
 
         TelegramBotConfiguration bot = botOptional.get();
-        return dispatcher.dispatch(bot, request.getBody())
+        if (updateDeduplicator.isDuplicate(bot, request.getBody())) {
+            info("Update already dispatched " + request.getBody().getUpdateId(), context);
+            return request.createResponseBuilder(HttpStatus.OK).build();
+        }
+        Optional<Send> sendOptional;
+        try {
+            sendOptional = dispatcher.dispatchAsync(bot, request.getBody())
+                .toCompletableFuture()
+                .join();
+        } catch (RuntimeException e) {
+            updateDeduplicator.forget(bot, request.getBody());
+            throw e;
+        }
+        return sendOptional
             .map(send -> getSendHttpResponseMessageFunction(send, request, context))
             .orElseGet(() -> request.createResponseBuilder(HttpStatus.OK).build());
     }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The data of a callback query matched by a {@link CallbackQueryHandler} prefix. The text after the prefix holds the parameters of the action, separated by {@value #SEPARATOR}. E.g. for the prefix {@code order:confirm}, the data {@code order:confirm:123} has the parameter {@code 123}.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public final class CallbackData {
+
+    /**
+     * Separator of the parameters in the data.
+     */
+    public static final char SEPARATOR = ':';
+
+    @NonNull
+    private final String data;
+
+    private final int prefixLength;
+
+    private final int argumentsStart;
+
+    private List<String> parameters;
+
+    private CallbackData(@NonNull String data, int prefixLength) {
+        this.data = data;
+        this.prefixLength = prefixLength;
+        this.argumentsStart = prefixLength < data.length() && data.charAt(prefixLength) == SEPARATOR ? prefixLength + 1 : prefixLength;
+    }
+
+    /**
+     *
+     * @param data Data of the callback query
+     * @param prefix Prefix of the data
+     * @return The data split into prefix and parameters
+     * @throws IllegalArgumentException if the data does not start with the prefix
+     */
+    @NonNull
+    public static CallbackData of(@NonNull String data, @NonNull String prefix) {
+        if (!data.startsWith(prefix)) {
+            throw new IllegalArgumentException("callback data " + data + " does not start with " + prefix);
+        }
+        return new CallbackData(data, prefix.length());
+    }
+
+    /**
+     *
+     * @return Data of the callback query. E.g. order:confirm:123
+     */
+    @NonNull
+    public String getData() {
+        return data;
+    }
+
+    /**
+     *
+     * @return The prefix which matched the data. E.g. order:confirm
+     */
+    @NonNull
+    public String getPrefix() {
+        return data.substring(0, prefixLength);
+    }
+
+    /**
+     *
+     * @return The text after the prefix and its separator or an empty string. E.g. 123
+     */
+    @NonNull
+    public String getArguments() {
+        return data.substring(argumentsStart);
+    }
+
+    /**
+     *
+     * @return The arguments split at {@value #SEPARATOR} or an empty list if the data has no arguments.
+     */
+    @NonNull
+    public List<String> getParameters() {
+        List<String> result = parameters;
+        if (result == null) {
+            result = split();
+            parameters = result;
+        }
+        return result;
+    }
+
+    /**
+     *
+     * @param index Index of the parameter
+     * @return The parameter at the index or an empty optional if the data has fewer parameters
+     */
+    @NonNull
+    public Optional<String> getParameter(int index) {
+        List<String> values = getParameters();
+        return index >= 0 && index < values.size() ? Optional.of(values.get(index)) : Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+        return data;
+    }
+
+    @NonNull
+    private List<String> split() {
+        if (argumentsStart >= data.length()) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>(4);
+        int start = argumentsStart;
+        for (int i = start; i < data.length(); i++) {
+            if (data.charAt(i) == SEPARATOR) {
+                result.add(data.substring(start, i));
+                start = i + 1;
+            }
+        }
+        result.add(data.substring(start));
+        return Collections.unmodifiableList(result);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.chatbots.core.DispatchContext;
+import io.micronaut.chatbots.telegram.api.CallbackQuery;
+import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.chatbots.telegram.api.send.AnswerCallbackQuery;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.order.Ordered;
+
+import java.util.Optional;
+
+/**
+ * Handles the callback queries, sent when a user presses a button of an inline keyboard, whose data starts with a prefix. {@link CallbackQueryRouter} routes each callback query to the handler with the longest matching prefix.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public interface CallbackQueryHandler extends Ordered {
+
+    /**
+     *
+     * @return Prefix of the callback data handled. E.g. order:confirm
+     */
+    @NonNull
+    String getPrefix();
+
+    /**
+     * Handles a callback query.
+     * @param context dispatch context shared by every handler for the current update
+     * @param callbackQuery callback query
+     * @param data callback data split into the prefix and its parameters
+     * @return The answer to the callback query. The callback query id is set by the router if missing. If empty, the router answers without a notification, so that the client stops waiting for an answer.
+     */
+    @NonNull
+    Optional<AnswerCallbackQuery> handle(@NonNull DispatchContext<TelegramBotConfiguration, Update> context,
+                                         @NonNull CallbackQuery callbackQuery,
+                                         @NonNull CallbackData data);
+}
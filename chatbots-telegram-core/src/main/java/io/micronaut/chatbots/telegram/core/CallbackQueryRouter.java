@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.chatbots.core.DispatchContext;
+import io.micronaut.chatbots.core.PrefixTrie;
+import io.micronaut.chatbots.telegram.api.CallbackQuery;
+import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.chatbots.telegram.api.UpdateKind;
+import io.micronaut.chatbots.telegram.api.send.AnswerCallbackQuery;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.order.OrderUtil;
+import jakarta.inject.Singleton;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Routes callback queries to the {@link CallbackQueryHandler} with the longest prefix of the callback data. A prefix only matches whole parameters, e.g. order:confirm matches order:confirm:123 but not order:confirmed. Prefixes are compiled into a trie when the router is created, so the cost of routing is proportional to the length of the data and independent of the number of handlers.
+ * The router precedes the other handlers and only accepts callback queries. Thus, a button press whose data matches a prefix is answered with an {@link AnswerCallbackQuery} without asking the message handlers.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Requires(beans = CallbackQueryHandler.class)
+@Singleton
+public class CallbackQueryRouter implements UpdateKindHandler<AnswerCallbackQuery> {
+
+    /**
+     * The order of the router.
+     */
+    public static final int ORDER = -100;
+
+    private static final Set<UpdateKind> KINDS = Collections.unmodifiableSet(EnumSet.of(UpdateKind.CALLBACK_QUERY));
+
+    private final PrefixTrie<CallbackQueryHandler> routes;
+
+    /**
+     *
+     * @param handlers Callback query handlers
+     */
+    public CallbackQueryRouter(List<CallbackQueryHandler> handlers) {
+        List<CallbackQueryHandler> sorted = new ArrayList<>(handlers);
+        OrderUtil.sort(sorted);
+        PrefixTrie.Builder<CallbackQueryHandler> builder = PrefixTrie.builder();
+        for (CallbackQueryHandler handler : sorted) {
+            builder.put(handler.getPrefix(), handler);
+        }
+        this.routes = builder.build();
+    }
+
+    @Override
+    @NonNull
+    public Set<UpdateKind> getKinds() {
+        return KINDS;
+    }
+
+    @Override
+    public boolean canHandle(@Nullable TelegramBotConfiguration bot,
+                             @NonNull @NotNull Update input) {
+        return canHandle(DispatchContext.of(bot, input));
+    }
+
+    @Override
+    public boolean canHandle(@NonNull @NotNull DispatchContext<TelegramBotConfiguration, Update> context) {
+        CallbackQuery callbackQuery = context.getInput().getCallbackQuery();
+        return callbackQuery != null && route(callbackQuery.getData()) != null;
+    }
+
+    @Override
+    @NonNull
+    public Optional<AnswerCallbackQuery> handle(@Nullable TelegramBotConfiguration bot,
+                                                @NonNull @NotNull Update input) {
+        return handle(DispatchContext.of(bot, input));
+    }
+
+    @Override
+    @NonNull
+    public Optional<AnswerCallbackQuery> handle(@NonNull @NotNull DispatchContext<TelegramBotConfiguration, Update> context) {
+        CallbackQuery callbackQuery = context.getInput().getCallbackQuery();
+        if (callbackQuery == null) {
+            return Optional.empty();
+        }
+        CallbackQueryHandler handler = route(callbackQuery.getData());
+        if (handler == null) {
+            return Optional.empty();
+        }
+        AnswerCallbackQuery answer = handler.handle(context, callbackQuery, CallbackData.of(callbackQuery.getData(), handler.getPrefix()))
+            .orElseGet(AnswerCallbackQuery::new);
+        if (answer.getCallbackQueryId() == null) {
+            answer.setCallbackQueryId(callbackQuery.getId());
+        }
+        return Optional.of(answer);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     *
+     * @param data Callback data
+     * @return The first handler, in order, of the longest prefix of the data or null if no prefix matches
+     */
+    @Nullable
+    private CallbackQueryHandler route(@Nullable String data) {
+        if (data == null) {
+            return null;
+        }
+        CallbackQueryHandler result = null;
+        for (CallbackQueryHandler handler : routes.findPrefixesOf(data)) {
+            if (isBoundary(data, handler.getPrefix()) && (result == null || handler.getPrefix().length() > result.getPrefix().length())) {
+                result = handler;
+            }
+        }
+        return result;
+    }
+
+    /**
+     *
+     * @param data Callback data
+     * @param prefix A prefix of the data
+     * @return Whether the prefix ends at a parameter boundary. E.g. order:confirm matches order:confirm:123 but not order:confirmed
+     */
+    private static boolean isBoundary(@NonNull String data, @NonNull String prefix) {
+        return prefix.isEmpty()
+            || data.length() == prefix.length()
+            || prefix.charAt(prefix.length() - 1) == CallbackData.SEPARATOR
+            || data.charAt(prefix.length()) == CallbackData.SEPARATOR;
+    }
+}
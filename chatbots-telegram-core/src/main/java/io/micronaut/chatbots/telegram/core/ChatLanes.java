@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.chatbots.core.SerialLaneExecutor;
+import io.micronaut.chatbots.core.SpaceParser;
+import io.micronaut.chatbots.telegram.api.Chat;
+import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Runs the work of each update on a serial lane chosen by the id of the update's chat, as parsed by the {@link SpaceParser}. Thus, the updates of a chat are handled in order while different chats are handled in parallel on the blocking executor.
+ * Updates without a chat are not ordered. Lanes are disabled unless {@link ChatLanesConfiguration#isEnabled()}, in which case the work runs on the calling thread.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Singleton
+public class ChatLanes {
+
+    private final SpaceParser<Update, Chat> spaceParser;
+
+    @Nullable
+    private final SerialLaneExecutor laneExecutor;
+
+    /**
+     *
+     * @param configuration Chat lanes configuration
+     * @param spaceParser Parses the chat of an update
+     * @param executor Executor where the lanes run
+     */
+    public ChatLanes(ChatLanesConfiguration configuration,
+                     SpaceParser<Update, Chat> spaceParser,
+                     @Named(TaskExecutors.BLOCKING) ExecutorService executor) {
+        this.spaceParser = spaceParser;
+        this.laneExecutor = configuration.isEnabled()
+            ? new SerialLaneExecutor(configuration.getLanes(), configuration.getQueueDepth(), executor)
+            : null;
+    }
+
+    /**
+     * Runs the work of an update after the work of the previous updates of the same chat completes.
+     * @param update Update
+     * @param work Work, e.g. dispatching the update
+     * @param <T> result type
+     * @return A stage which completes with the result of the work or exceptionally with a {@link java.util.concurrent.RejectedExecutionException} if the chat's lane is full.
+     */
+    @NonNull
+    public <T> CompletionStage<T> submit(@NonNull Update update, @NonNull Supplier<? extends CompletionStage<T>> work) {
+        if (laneExecutor != null) {
+            Optional<Chat> chat = spaceParser.parse(update);
+            if (chat.isPresent() && chat.get().getId() != null) {
+                return laneExecutor.submit(chat.get().getId(), work);
+            }
+        }
+        try {
+            return work.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * {@link ConfigurationProperties} implementation of {@link ChatLanesConfiguration}.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@ConfigurationProperties(ChatLanesConfiguration.PREFIX)
+public class ChatLanesConfigurationProperties implements ChatLanesConfiguration {
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default maximum number of updates waiting in a lane.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_QUEUE_DEPTH = 256;
+
+    private boolean enabled = DEFAULT_ENABLED;
+
+    private int lanes = Runtime.getRuntime().availableProcessors();
+
+    private int queueDepth = DEFAULT_QUEUE_DEPTH;
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether the updates of a chat are dispatched one after another. Default value ({@value #DEFAULT_ENABLED}).
+     *
+     * @param enabled True if updates are dispatched in per chat lanes
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public int getLanes() {
+        return lanes;
+    }
+
+    /**
+     * The number of serial lanes chats are spread across. Default value is the number of available processors.
+     *
+     * @param lanes Number of lanes
+     */
+    public void setLanes(@Positive int lanes) {
+        this.lanes = lanes;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * The maximum number of updates waiting in a lane. Further updates for the lane are rejected. Default value ({@value #DEFAULT_QUEUE_DEPTH}).
+     *
+     * @param queueDepth Maximum number of waiting updates
+     */
+    public void setQueueDepth(@PositiveOrZero int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+}
@@ -15,26 +15,40 @@
  */
 package io.micronaut.chatbots.telegram.core;
 
+import io.micronaut.chatbots.core.CommandResponse;
+import io.micronaut.chatbots.core.DispatchContext;
+import io.micronaut.chatbots.core.SlashCommandHandler;
+import io.micronaut.chatbots.core.SlashCommandParser;
 import io.micronaut.chatbots.core.SpaceParser;
 import io.micronaut.chatbots.core.TextResourceLoader;
 import io.micronaut.chatbots.telegram.api.Chat;
 import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.chatbots.telegram.api.send.ParseMode;
 import io.micronaut.chatbots.telegram.api.send.SendMessage;
+import io.micronaut.chatbots.telegram.api.send.SendMessageJson;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
 import jakarta.validation.constraints.NotNull;
 import java.util.Optional;
 
 /**
  * Abstract class to make easy to respond static content for a Telegram Bot command.
+ * The JSON encoding of each response is cached, so that webhook responses only write the chat id per request.
+ * Subclasses may override {@link #compose(DispatchContext, String)} to respond with other content while keeping the command matching.
  * @author Sergio del Amo
  * @since 1.0.0
  */
-public abstract class CommandHandler implements TelegramHandler<SendMessage> {
+public abstract class CommandHandler implements TelegramHandler<SendMessage>, SlashCommandHandler<TelegramBotConfiguration, Update, SendMessage> {
+
+    private static final int RESPONSE_CACHE_MAXIMUM_SIZE = 16;
 
     private final TelegramSlashCommandParser slashCommandParser;
     private final TextResourceLoader textResourceLoader;
     private final SpaceParser<Update, Chat> spaceParser;
+    private final ConcurrentLinkedHashMap<CommandResponse, SendMessageJson> responses = new ConcurrentLinkedHashMap.Builder<CommandResponse, SendMessageJson>()
+        .maximumWeightedCapacity(RESPONSE_CACHE_MAXIMUM_SIZE)
+        .build();
 
     protected CommandHandler(TelegramSlashCommandParser slashCommandParser,
                              TextResourceLoader textResourceLoader,
@@ -48,13 +62,25 @@ public abstract class CommandHandler implements TelegramHandler<SendMessage> {
      *
      * @return A slash command. E.g. /help
      */
+    @Override
     @NonNull
     public abstract String getCommand();
 
+    @Override
+    @NonNull
+    public SlashCommandParser<Update> getSlashCommandParser() {
+        return slashCommandParser;
+    }
+
     @Override
     public boolean canHandle(@Nullable TelegramBotConfiguration bot,
                              @NonNull @NotNull Update input) {
-        return slashCommandParser.parse(input)
+        return canHandle(DispatchContext.of(bot, input));
+    }
+
+    @Override
+    public boolean canHandle(@NonNull @NotNull DispatchContext<TelegramBotConfiguration, Update> context) {
+        return context.getSlashCommand(slashCommandParser)
                 .filter(command -> command.startsWith(getCommand()))
                 .isPresent();
     }
@@ -63,13 +89,55 @@ public abstract class CommandHandler implements TelegramHandler<SendMessage> {
     @NonNull
     public Optional<SendMessage> handle(@Nullable TelegramBotConfiguration bot,
                                         @NonNull @NotNull Update input) {
-        return slashCommandParser.parse(input)
-                .flatMap(textResourceLoader::composeCommandResponse)
-                .flatMap(commandResponse ->
-                    SendMessageUtils.compose(spaceParser,
-                        input,
-                        commandResponse.text(),
-                        ParseModeUtils.parseModeOfFileExtension(commandResponse.extension()).orElse(null)));
+        return handle(DispatchContext.of(bot, input));
+    }
+
+    @Override
+    @NonNull
+    public Optional<SendMessage> handle(@NonNull @NotNull DispatchContext<TelegramBotConfiguration, Update> context) {
+        return context.getSlashCommand(slashCommandParser)
+                .flatMap(command -> compose(context, command));
+    }
+
+    /**
+     * Composes the response to the slash command. By default, it responds with the static content of the command.
+     * @param context Dispatch context
+     * @param command Slash command. E.g. /help
+     * @return The response or an empty optional if there is no content for the command.
+     * @since 1.3.0
+     */
+    @NonNull
+    protected Optional<SendMessage> compose(@NonNull DispatchContext<TelegramBotConfiguration, Update> context,
+                                            @NonNull String command) {
+        return textResourceLoader.composeCommandResponse(command)
+                .flatMap(commandResponse -> context.getSpace(spaceParser)
+                    .map(space -> json(commandResponse).toSendMessage(space.getId())));
+    }
+
+    /**
+     *
+     * @return The loader of the content of the commands
+     * @since 1.3.0
+     */
+    @NonNull
+    protected TextResourceLoader getTextResourceLoader() {
+        return textResourceLoader;
+    }
+
+    /**
+     *
+     * @return The parser of the chat the response is sent to
+     * @since 1.3.0
+     */
+    @NonNull
+    protected SpaceParser<Update, Chat> getSpaceParser() {
+        return spaceParser;
+    }
+
+    @NonNull
+    private SendMessageJson json(@NonNull CommandResponse commandResponse) {
+        return responses.computeIfAbsent(commandResponse, response -> SendMessageJson.of(response.text(),
+            ParseModeUtils.parseModeOfFileExtension(response.extension()).map(ParseMode::toString).orElse(null)));
     }
 
     @Override
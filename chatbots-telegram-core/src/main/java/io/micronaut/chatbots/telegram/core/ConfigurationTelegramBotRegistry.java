@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.context.BeanProvider;
+import io.micronaut.core.annotation.NonNull;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+
+/**
+ * {@link TelegramBotRegistry} of the bots declared in the application configuration under {@value TelegramBotConfigurationProperties#PREFIX}.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Singleton
+public class ConfigurationTelegramBotRegistry implements TelegramBotRegistry {
+
+    private final BeanProvider<TelegramBotConfiguration> bots;
+
+    /**
+     *
+     * @param bots Telegram bots declared in the application configuration
+     */
+    public ConfigurationTelegramBotRegistry(BeanProvider<TelegramBotConfiguration> bots) {
+        this.bots = bots;
+    }
+
+    @Override
+    @NonNull
+    public List<TelegramBotConfiguration> getBots() {
+        return bots.stream().toList();
+    }
+}
@@ -15,33 +15,194 @@
  */
 package io.micronaut.chatbots.telegram.core;
 
-import io.micronaut.chatbots.core.BotConfiguration;
+import io.micronaut.context.event.ApplicationEventListener;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.runtime.context.scope.refresh.RefreshEvent;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
-
 import jakarta.validation.constraints.NotBlank;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /**
+ * Validates tokens against an index of the enabled bots keyed by the SHA-256 digest of their token. Thus, validation costs the same regardless of the number of bots.
+ * The token of the bot found is compared in constant time. The index holds the bots of every {@link TelegramBotRegistry}. It is built on first use. If {@link TelegramBotRegistryConfiguration#getRefreshInterval()} is set, the first validation after the interval elapses schedules a rebuild on the {@link TaskExecutors#BLOCKING} executor and is answered with the current index, so that requests never wait for the registries.
+ * A {@link RefreshEvent} rebuilds the index in the listener, after the refresh scope has been refreshed.
+ * While the bots are reloaded, validations use the previous index, which is swapped once the new one is built. If reloading fails, the previous index is kept.
  * @author Sergio del Amo
  * @since 1.0.0
  */
 @Singleton
-public class DefaultTokenValidator implements TokenValidator {
+public class DefaultTokenValidator implements TokenValidator, ApplicationEventListener<RefreshEvent>, Ordered {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultTokenValidator.class);
+    private static final String ALGORITHM = "SHA-256";
+
+    private final Supplier<List<TelegramBotConfiguration>> bots;
+
+    @Nullable
+    private final Duration refreshInterval;
 
-    private final List<TelegramBotConfiguration> bots;
+    private final Executor refreshExecutor;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    @Nullable
+    private volatile Index index;
 
     public DefaultTokenValidator(List<TelegramBotConfiguration> bots) {
+        this(() -> bots, null, Runnable::run);
+    }
+
+    /**
+     *
+     * @param registries Telegram bot registries
+     * @param configuration Telegram bot registry configuration
+     * @param executor Executor where the index is rebuilt once the refresh interval elapses
+     * @since 1.3.0
+     */
+    @Inject
+    public DefaultTokenValidator(List<TelegramBotRegistry> registries,
+                                 TelegramBotRegistryConfiguration configuration,
+                                 @Named(TaskExecutors.BLOCKING) ExecutorService executor) {
+        this(() -> bots(registries), configuration.getRefreshInterval(), executor);
+    }
+
+    private DefaultTokenValidator(Supplier<List<TelegramBotConfiguration>> bots,
+                                  @Nullable Duration refreshInterval,
+                                  Executor refreshExecutor) {
         this.bots = bots;
+        this.refreshInterval = refreshInterval;
+        this.refreshExecutor = refreshExecutor;
     }
 
     @Override
     @NonNull
     public Optional<TelegramBotConfiguration> validate(@NonNull @NotBlank String token) {
-        return bots.stream()
-            .filter(BotConfiguration::isEnabled)
-            .filter(bot -> bot.getToken().equals(token))
-            .findFirst();
+        byte[] tokenBytes = token.getBytes(StandardCharsets.UTF_8);
+        IndexedBot bot = index().bots().get(ByteBuffer.wrap(digest(tokenBytes)));
+        return bot != null && MessageDigest.isEqual(bot.token(), tokenBytes)
+            ? Optional.of(bot.configuration())
+            : Optional.empty();
+    }
+
+    @Override
+    public void onApplicationEvent(RefreshEvent event) {
+        reload();
+    }
+
+    /**
+     * Runs after other listeners, so that refreshed registries and configuration are read.
+     * @return The lowest precedence
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @NonNull
+    private Index index() {
+        Index current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    current = new Index(index(bots.get()), System.nanoTime());
+                    index = current;
+                }
+            }
+        } else if (isExpired(current) && refreshing.compareAndSet(false, true)) {
+            try {
+                refreshExecutor.execute(() -> {
+                    try {
+                        reload();
+                    } finally {
+                        refreshing.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                refreshing.set(false);
+                LOG.warn("Could not schedule the reload of the Telegram bots, the previously loaded bots are kept", e);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Rebuilds the index and swaps it. Reloads are serialized, so that a reload which read the bots earlier does not replace the index of a later one.
+     */
+    private synchronized void reload() {
+        Index previous = index;
+        try {
+            index = new Index(index(bots.get()), System.nanoTime());
+        } catch (RuntimeException e) {
+            if (previous == null) {
+                LOG.error("Error loading Telegram bots, they are loaded on first use", e);
+            } else {
+                LOG.error("Error reloading Telegram bots, the previously loaded bots are kept", e);
+                index = new Index(previous.bots(), System.nanoTime());
+            }
+        }
+    }
+
+    private boolean isExpired(@NonNull Index index) {
+        return refreshInterval != null && System.nanoTime() - index.builtAt() >= refreshInterval.toNanos();
+    }
+
+    @NonNull
+    private static List<TelegramBotConfiguration> bots(@NonNull List<TelegramBotRegistry> registries) {
+        List<TelegramBotConfiguration> result = new ArrayList<>();
+        for (TelegramBotRegistry registry : registries) {
+            result.addAll(registry.getBots());
+        }
+        return result;
+    }
+
+    @NonNull
+    private static Map<ByteBuffer, IndexedBot> index(@NonNull List<TelegramBotConfiguration> bots) {
+        Map<ByteBuffer, IndexedBot> result = new HashMap<>(bots.size() * 2);
+        for (TelegramBotConfiguration bot : bots) {
+            if (bot.isEnabled() && bot.getToken() != null) {
+                byte[] tokenBytes = bot.getToken().getBytes(StandardCharsets.UTF_8);
+                result.putIfAbsent(ByteBuffer.wrap(digest(tokenBytes)), new IndexedBot(tokenBytes, bot));
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    @NonNull
+    private static byte[] digest(@NonNull byte[] token) {
+        try {
+            return MessageDigest.getInstance(ALGORITHM).digest(token);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    private record IndexedBot(byte[] token, TelegramBotConfiguration configuration) {
+    }
+
+    private record Index(Map<ByteBuffer, IndexedBot> bots, long builtAt) {
     }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.io.ResourceResolver;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.json.tree.JsonNode;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link TelegramBotRegistry} which reads the bots from the JSON file {@link TelegramBotRegistryConfiguration#getFile()}.
+ * The file contains an array of bots, each with the {@code name}, {@code token} and {@code at_username} members, and optionally {@code enabled}. The file is read again whenever the bots are reloaded.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Requires(beans = JsonMapper.class)
+@Requires(property = TelegramBotRegistryConfiguration.PREFIX + ".file")
+@Singleton
+public class FileTelegramBotRegistry implements TelegramBotRegistry {
+
+    private static final String MEMBER_NAME = "name";
+    private static final String MEMBER_TOKEN = "token";
+    private static final String MEMBER_AT_USERNAME = "at_username";
+    private static final String MEMBER_ENABLED = "enabled";
+
+    private final JsonMapper jsonMapper;
+    private final ResourceResolver resourceResolver;
+    private final String file;
+
+    /**
+     *
+     * @param jsonMapper JSON Mapper
+     * @param resourceResolver Resource resolver
+     * @param configuration Telegram bot registry configuration
+     */
+    public FileTelegramBotRegistry(JsonMapper jsonMapper,
+                                   ResourceResolver resourceResolver,
+                                   TelegramBotRegistryConfiguration configuration) {
+        this.jsonMapper = jsonMapper;
+        this.resourceResolver = resourceResolver;
+        this.file = configuration.getFile();
+    }
+
+    @Override
+    @NonNull
+    public List<TelegramBotConfiguration> getBots() {
+        Optional<InputStream> resource = resourceResolver.getResourceAsStream(file);
+        if (resource.isEmpty()) {
+            throw new IllegalStateException("Telegram bots file " + file + " not found");
+        }
+        JsonNode bots;
+        try (InputStream inputStream = resource.get()) {
+            bots = jsonMapper.readValue(inputStream, JsonNode.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading Telegram bots file " + file + ": " + e.getMessage(), e);
+        }
+        if (bots == null || !bots.isArray()) {
+            throw new IllegalStateException("Telegram bots file " + file + " does not contain an array");
+        }
+        List<TelegramBotConfiguration> result = new ArrayList<>(bots.size());
+        for (JsonNode node : bots.values()) {
+            TelegramBotConfigurationProperties bot = new TelegramBotConfigurationProperties(text(node, MEMBER_NAME));
+            bot.setToken(text(node, MEMBER_TOKEN));
+            bot.setAtUsername(text(node, MEMBER_AT_USERNAME));
+            JsonNode enabled = node.get(MEMBER_ENABLED);
+            if (enabled != null && enabled.isBoolean()) {
+                bot.setEnabled(enabled.getBooleanValue());
+            }
+            result.add(bot);
+        }
+        return result;
+    }
+
+    private String text(@NonNull JsonNode node, @NonNull String member) {
+        JsonNode value = node.get(member);
+        if (value == null || !value.isString()) {
+            throw new IllegalStateException("Telegram bots file " + file + " contains a bot without " + member);
+        }
+        return value.getStringValue();
+    }
+}
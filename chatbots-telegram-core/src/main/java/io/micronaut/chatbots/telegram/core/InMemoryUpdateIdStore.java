@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.core.annotation.NonNull;
+import jakarta.inject.Singleton;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@link UpdateIdStore} which remembers the most recent update ids of each bot in memory.
+ * Telegram assigns sequential ids to the updates of a bot, thus each id is stored in a ring of {@link UpdateDeduplicationConfiguration#getWindowSize()} slots indexed by the id. Ids within the window never share a slot, and slots are updated with compare-and-set, so recording an id is lock-free.
+ * Telegram restarts the sequence at a random id when a bot receives no updates for a week. Thus, an id older than the window of the bot's highest id is taken as the start of a new sequence, and the ids recorded for the bot are cleared.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Singleton
+public class InMemoryUpdateIdStore implements UpdateIdStore {
+
+    private static final long EMPTY = -1;
+
+    private final int windowSize;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     *
+     * @param configuration Update deduplication configuration
+     */
+    public InMemoryUpdateIdStore(UpdateDeduplicationConfiguration configuration) {
+        this.windowSize = configuration.getWindowSize();
+    }
+
+    @Override
+    public boolean add(@NonNull String botName, long updateId) {
+        while (true) {
+            Window window = windows.computeIfAbsent(botName, name -> new Window(windowSize));
+            if (updateId <= window.highest.get() - windowSize) {
+                // the sequence was reset, start a new window with the update id
+                Window restarted = new Window(windowSize);
+                restarted.add(updateId);
+                if (windows.replace(botName, window, restarted)) {
+                    return true;
+                }
+                continue;
+            }
+            return window.add(updateId);
+        }
+    }
+
+    @Override
+    public void remove(@NonNull String botName, long updateId) {
+        Window window = windows.get(botName);
+        if (window != null) {
+            window.slots.compareAndSet(window.slot(updateId), updateId, EMPTY);
+        }
+    }
+
+    /**
+     * The update ids recorded for a bot.
+     */
+    private static final class Window {
+        private final AtomicLongArray slots;
+        private final AtomicLong highest = new AtomicLong(EMPTY);
+
+        private Window(int size) {
+            slots = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++) {
+                slots.set(i, EMPTY);
+            }
+        }
+
+        private boolean add(long updateId) {
+            highest.accumulateAndGet(updateId, Math::max);
+            int slot = slot(updateId);
+            while (true) {
+                long current = slots.get(slot);
+                if (current == updateId) {
+                    return false;
+                }
+                if (current > updateId) {
+                    // the update is older than the window, it cannot be told apart from a new one
+                    return true;
+                }
+                if (slots.compareAndSet(slot, current, updateId)) {
+                    return true;
+                }
+            }
+        }
+
+        private int slot(long updateId) {
+            return (int) Math.floorMod(updateId, (long) slots.length());
+        }
+    }
+}
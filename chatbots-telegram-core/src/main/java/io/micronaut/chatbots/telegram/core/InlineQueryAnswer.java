@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.chatbots.telegram.api.InlineQueryResult;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Results computed by an {@link InlineQueryHandler} for an inline query.
+ * @param results Results for the inline query. No more than 50 results per query are allowed.
+ * @param nextOffset The offset that a client should send in the next query with the same text to receive more results or null if there are no more results
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public record InlineQueryAnswer(@NonNull List<InlineQueryResult> results,
+                                @Nullable String nextOffset) {
+
+    /**
+     *
+     * @param results Results for the inline query
+     * @param nextOffset The offset to receive more results or null if there are no more results
+     */
+    public InlineQueryAnswer {
+        results = List.copyOf(results);
+    }
+
+    /**
+     *
+     * @param results Results for the inline query
+     * @return An answer without more results
+     */
+    @NonNull
+    public static InlineQueryAnswer of(@NonNull List<InlineQueryResult> results) {
+        return new InlineQueryAnswer(results, null);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.NonNull;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.time.Duration;
+
+/**
+ * {@link ConfigurationProperties} implementation of {@link InlineQueryConfiguration}.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@ConfigurationProperties(InlineQueryConfiguration.PREFIX)
+public class InlineQueryConfigurationProperties implements InlineQueryConfiguration {
+
+    /**
+     * The default time in seconds the results of an inline query may be cached. Telegram's default.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_CACHE_TIME_SECONDS = 300;
+
+    /**
+     * The default maximum number of answers cached by each handler.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_CACHE_MAXIMUM_SIZE = 1024;
+
+    @NonNull
+    private Duration cacheTime = Duration.ofSeconds(DEFAULT_CACHE_TIME_SECONDS);
+
+    private int cacheMaximumSize = DEFAULT_CACHE_MAXIMUM_SIZE;
+
+    @Override
+    @NonNull
+    public Duration getCacheTime() {
+        return cacheTime;
+    }
+
+    /**
+     * How long the results of an inline query may be cached, both by Telegram and by each inline query handler. Zero disables caching. Default value ({@value #DEFAULT_CACHE_TIME_SECONDS} seconds).
+     *
+     * @param cacheTime Cache time
+     */
+    public void setCacheTime(@NonNull @NotNull Duration cacheTime) {
+        this.cacheTime = cacheTime;
+    }
+
+    @Override
+    public int getCacheMaximumSize() {
+        return cacheMaximumSize;
+    }
+
+    /**
+     * The maximum number of answers cached by each inline query handler. Zero disables caching. Default value ({@value #DEFAULT_CACHE_MAXIMUM_SIZE}).
+     *
+     * @param cacheMaximumSize Maximum number of cached answers
+     */
+    public void setCacheMaximumSize(@PositiveOrZero int cacheMaximumSize) {
+        this.cacheMaximumSize = cacheMaximumSize;
+    }
+}
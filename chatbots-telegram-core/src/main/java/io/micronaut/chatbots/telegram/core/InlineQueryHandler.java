@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.chatbots.core.CacheStatistics;
+import io.micronaut.chatbots.core.DispatchContext;
+import io.micronaut.chatbots.telegram.api.InlineQuery;
+import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.chatbots.telegram.api.UpdateKind;
+import io.micronaut.chatbots.telegram.api.send.AnswerInlineQuery;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Abstract class to answer Telegram inline queries.
+ * Telegram sends an inline query for every keystroke of the user. Thus, answers are kept in a bounded cache keyed by bot, query text and offset, and, for personal answers, by user. An answer is cached for the configured cache time, which is the time Telegram is told it may cache the results too.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public abstract class InlineQueryHandler implements UpdateKindHandler<AnswerInlineQuery> {
+
+    private static final Set<UpdateKind> KINDS = Collections.unmodifiableSet(EnumSet.of(UpdateKind.INLINE_QUERY));
+
+    private final int cacheTimeSeconds;
+    private final InlineQueryResultCache cache;
+
+    protected InlineQueryHandler(InlineQueryConfiguration configuration) {
+        this(configuration, System::nanoTime);
+    }
+
+    InlineQueryHandler(InlineQueryConfiguration configuration, LongSupplier nanoTime) {
+        this.cacheTimeSeconds = (int) configuration.getCacheTime().toSeconds();
+        this.cache = new InlineQueryResultCache(configuration.getCacheMaximumSize(), configuration.getCacheTime(), nanoTime);
+    }
+
+    /**
+     * Computes the results of an inline query. Unless the handler {@link #isPersonal()}, the answer is shared by every user who sends the same query to the same bot, so it should not depend on the user.
+     * @param context dispatch context shared by every handler for the current update
+     * @param inlineQuery inline query
+     * @return The results of the inline query
+     */
+    @NonNull
+    protected abstract InlineQueryAnswer answer(@NonNull DispatchContext<TelegramBotConfiguration, Update> context,
+                                                @NonNull InlineQuery inlineQuery);
+
+    /**
+     *
+     * @return Whether the answers depend on the user who sent the query. Personal answers are cached per user, both by Telegram and by the handler.
+     */
+    protected boolean isPersonal() {
+        return false;
+    }
+
+    @Override
+    @NonNull
+    public Set<UpdateKind> getKinds() {
+        return KINDS;
+    }
+
+    @Override
+    public boolean canHandle(@Nullable TelegramBotConfiguration bot,
+                             @NonNull @NotNull Update input) {
+        return canHandle(DispatchContext.of(bot, input));
+    }
+
+    @Override
+    public boolean canHandle(@NonNull @NotNull DispatchContext<TelegramBotConfiguration, Update> context) {
+        return context.getInput().getInlineQuery() != null;
+    }
+
+    @Override
+    @NonNull
+    public Optional<AnswerInlineQuery> handle(@Nullable TelegramBotConfiguration bot,
+                                              @NonNull @NotNull Update input) {
+        return handle(DispatchContext.of(bot, input));
+    }
+
+    @Override
+    @NonNull
+    public Optional<AnswerInlineQuery> handle(@NonNull @NotNull DispatchContext<TelegramBotConfiguration, Update> context) {
+        InlineQuery inlineQuery = context.getInput().getInlineQuery();
+        if (inlineQuery == null) {
+            return Optional.empty();
+        }
+        InlineQueryAnswer answer = cache.get(key(context.getBot(), inlineQuery), () -> answer(context, inlineQuery));
+        AnswerInlineQuery result = new AnswerInlineQuery();
+        result.setInlineQueryId(inlineQuery.getId());
+        result.setResults(answer.results());
+        result.setNextOffset(answer.nextOffset());
+        result.setCacheTime(cacheTimeSeconds);
+        if (isPersonal()) {
+            result.setPersonal(true);
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     *
+     * @return Statistics of the cache of answers
+     */
+    @NonNull
+    public CacheStatistics getCacheStatistics() {
+        return cache.getStatistics();
+    }
+
+    @NonNull
+    private InlineQueryResultCache.Key key(@Nullable TelegramBotConfiguration bot, @NonNull InlineQuery inlineQuery) {
+        return new InlineQueryResultCache.Key(bot != null ? bot.getName() : null,
+            isPersonal() && inlineQuery.getFrom() != null ? inlineQuery.getFrom().getId() : null,
+            inlineQuery.getQuery() != null ? inlineQuery.getQuery() : "",
+            inlineQuery.getOffset() != null ? inlineQuery.getOffset() : "");
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.chatbots.core.CacheStatistics;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of the answers to inline queries. Once full, the least recently used answer is evicted. Answers expire after the cache time, the time Telegram is told it may cache them too.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Internal
+final class InlineQueryResultCache {
+
+    private final ConcurrentLinkedHashMap<Key, Entry> answers;
+    private final long cacheTimeNanos;
+    private final LongSupplier nanoTime;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     *
+     * @param maximumSize Maximum number of answers kept
+     * @param cacheTime How long an answer is kept
+     * @param nanoTime Time source
+     */
+    InlineQueryResultCache(int maximumSize,
+                           @NonNull Duration cacheTime,
+                           @NonNull LongSupplier nanoTime) {
+        this.answers = new ConcurrentLinkedHashMap.Builder<Key, Entry>()
+            .maximumWeightedCapacity(maximumSize)
+            .listener((key, value) -> evictions.increment())
+            .build();
+        this.cacheTimeNanos = maximumSize > 0 ? cacheTime.toNanos() : 0;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     *
+     * @param key Bot, user, query text and offset of an inline query
+     * @param loader Computes the answer if it is not cached
+     * @return The answer to the inline query
+     */
+    @NonNull
+    InlineQueryAnswer get(@NonNull Key key, @NonNull Supplier<InlineQueryAnswer> loader) {
+        Entry entry = answers.get(key);
+        if (entry != null) {
+            if (nanoTime.getAsLong() - entry.expiration() < 0) {
+                hits.increment();
+                return entry.answer();
+            }
+            if (answers.remove(key, entry)) {
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        InlineQueryAnswer answer = loader.get();
+        if (cacheTimeNanos > 0) {
+            answers.put(key, new Entry(answer, nanoTime.getAsLong() + cacheTimeNanos));
+        }
+        return answer;
+    }
+
+    /**
+     *
+     * @return Statistics of the cache
+     */
+    @NonNull
+    CacheStatistics getStatistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * Identifies the answer to an inline query.
+     * @param bot Name of the bot which received the query or null if unknown
+     * @param user Id of the user who sent the query, only for personal answers
+     * @param query Text of the query
+     * @param offset Offset of the results to be returned
+     */
+    record Key(@Nullable String bot, @Nullable Long user, @NonNull String query, @NonNull String offset) {
+    }
+
+    /**
+     * A cached answer.
+     * @param answer The answer
+     * @param expiration Time source value after which the answer expires
+     */
+    private record Entry(@NonNull InlineQueryAnswer answer, long expiration) {
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import jakarta.inject.Singleton;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@link TelegramBotRegistry} which selects the bots from a database with the query {@link TelegramBotRegistryConfiguration#getSql()}.
+ * The query must return the columns {@code name}, {@code token} and {@code at_username}, and optionally {@code enabled}.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Requires(beans = DataSource.class)
+@Requires(property = TelegramBotRegistryConfiguration.PREFIX + ".sql")
+@Singleton
+public class JdbcTelegramBotRegistry implements TelegramBotRegistry {
+
+    private static final String COLUMN_NAME = "name";
+    private static final String COLUMN_TOKEN = "token";
+    private static final String COLUMN_AT_USERNAME = "at_username";
+    private static final String COLUMN_ENABLED = "enabled";
+
+    private final DataSource dataSource;
+    private final String sql;
+
+    /**
+     *
+     * @param dataSource Data source
+     * @param configuration Telegram bot registry configuration
+     */
+    public JdbcTelegramBotRegistry(DataSource dataSource,
+                                   TelegramBotRegistryConfiguration configuration) {
+        this.dataSource = dataSource;
+        this.sql = configuration.getSql();
+    }
+
+    @Override
+    @NonNull
+    public List<TelegramBotConfiguration> getBots() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            boolean hasEnabled = hasColumn(resultSet.getMetaData(), COLUMN_ENABLED);
+            List<TelegramBotConfiguration> bots = new ArrayList<>();
+            while (resultSet.next()) {
+                TelegramBotConfigurationProperties bot = new TelegramBotConfigurationProperties(resultSet.getString(COLUMN_NAME));
+                bot.setToken(resultSet.getString(COLUMN_TOKEN));
+                bot.setAtUsername(resultSet.getString(COLUMN_AT_USERNAME));
+                if (hasEnabled) {
+                    bot.setEnabled(resultSet.getBoolean(COLUMN_ENABLED));
+                }
+                bots.add(bot);
+            }
+            return bots;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error loading Telegram bots from the database: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean hasColumn(@NonNull ResultSetMetaData metaData, @NonNull String column) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (column.equals(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.chatbots.core.ChatbotsConfiguration;
+import io.micronaut.core.util.Toggleable;
+
+/**
+ * Configuration of the lazy decoding of Telegram updates.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public interface LazyUpdatesConfiguration extends Toggleable {
+    /**
+     * The prefix for lazy updates configuration.
+     */
+    String PREFIX = ChatbotsConfiguration.PREFIX + ".telegram.lazy-updates";
+}
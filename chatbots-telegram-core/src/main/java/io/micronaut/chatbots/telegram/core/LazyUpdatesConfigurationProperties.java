@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+/**
+ * {@link ConfigurationProperties} implementation of {@link LazyUpdatesConfiguration}.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@ConfigurationProperties(LazyUpdatesConfiguration.PREFIX)
+public class LazyUpdatesConfigurationProperties implements LazyUpdatesConfiguration {
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    private boolean enabled = DEFAULT_ENABLED;
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether only the fields of a message most handlers read are decoded eagerly. Default value ({@value #DEFAULT_ENABLED}).
+     *
+     * @param enabled True if updates are decoded lazily
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
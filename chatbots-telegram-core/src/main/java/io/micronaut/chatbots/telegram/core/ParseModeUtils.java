@@ -18,6 +18,7 @@ package io.micronaut.chatbots.telegram.core;
 import io.micronaut.chatbots.core.FileExtension;
 import io.micronaut.chatbots.telegram.api.send.ParseMode;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 
 import java.util.Optional;
 
@@ -43,4 +44,53 @@ public final class ParseModeUtils {
         }
         return Optional.of(ParseMode.MARKDOWN);
     }
+
+    /**
+     * Escapes text so that it is rendered verbatim when sent with the supplied parse mode.
+     * HTML escapes {@code &}, {@code <} and {@code >} with entities. Markdown prepends a backslash to {@code _}, {@code *}, {@code `} and {@code [}.
+     * @param parseMode Telegram ParseMode. No escaping is applied for plain text.
+     * @param text Text to escape
+     * @return The escaped text
+     */
+    @NonNull
+    public static String escape(@Nullable ParseMode parseMode, @NonNull String text) {
+        if (parseMode == null) {
+            return text;
+        }
+        StringBuilder sb = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement = parseMode == ParseMode.HTML ? escapeHtml(c) : escapeMarkdown(c);
+            if (replacement != null) {
+                if (sb == null) {
+                    sb = new StringBuilder(text.length() + 16).append(text, 0, i);
+                }
+                sb.append(replacement);
+            } else if (sb != null) {
+                sb.append(c);
+            }
+        }
+        return sb == null ? text : sb.toString();
+    }
+
+    @Nullable
+    private static String escapeHtml(char c) {
+        return switch (c) {
+            case '&' -> "&amp;";
+            case '<' -> "&lt;";
+            case '>' -> "&gt;";
+            default -> null;
+        };
+    }
+
+    @Nullable
+    private static String escapeMarkdown(char c) {
+        return switch (c) {
+            case '_' -> "\\_";
+            case '*' -> "\\*";
+            case '`' -> "\\`";
+            case '[' -> "\\[";
+            default -> null;
+        };
+    }
 }
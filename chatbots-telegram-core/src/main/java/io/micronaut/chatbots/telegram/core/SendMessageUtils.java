@@ -15,6 +15,7 @@
  */
 package io.micronaut.chatbots.telegram.core;
 
+import io.micronaut.chatbots.core.DispatchContext;
 import io.micronaut.chatbots.core.SpaceParser;
 import io.micronaut.chatbots.telegram.api.Chat;
 import io.micronaut.chatbots.telegram.api.Update;
@@ -51,6 +52,24 @@ public final class SendMessageUtils {
                 .map(space -> compose(space, text, parseMode));
     }
 
+    /**
+     * Composes a message for the chat of the update being dispatched. The chat is parsed at most once per dispatch.
+     * @param context Dispatch context
+     * @param spaceParser Space Parser
+     * @param text Message text
+     * @param parseMode Parse mode
+     * @return A message to send or an empty optional if the chat could not be parsed
+     * @since 1.3.0
+     */
+    @NonNull
+    public static Optional<SendMessage> compose(@NonNull DispatchContext<TelegramBotConfiguration, Update> context,
+                                                @NonNull SpaceParser<Update, Chat> spaceParser,
+                                                @NonNull String text,
+                                                @Nullable ParseMode parseMode) {
+        return context.getSpace(spaceParser)
+                .map(space -> compose(space, text, parseMode));
+    }
+
     @NonNull
     public static SendMessage compose(@NonNull Chat space,
                                       @NonNull String text,
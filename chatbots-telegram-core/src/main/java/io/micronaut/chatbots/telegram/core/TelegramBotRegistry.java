@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.List;
+
+/**
+ * Source of Telegram bot configurations. Bots from every registry are accepted by {@link DefaultTokenValidator}.
+ * Implement it to load bots from a repository, so that bots can be added without restarting the application.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@FunctionalInterface
+public interface TelegramBotRegistry {
+
+    /**
+     *
+     * @return The bots of the registry.
+     */
+    @NonNull
+    List<TelegramBotConfiguration> getBots();
+}
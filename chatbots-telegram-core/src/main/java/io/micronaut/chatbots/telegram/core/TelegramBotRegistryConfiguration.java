@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.chatbots.core.ChatbotsConfiguration;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the {@link TelegramBotRegistry} implementations.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public interface TelegramBotRegistryConfiguration {
+    /**
+     * The prefix for Telegram bot registry configuration.
+     */
+    String PREFIX = ChatbotsConfiguration.PREFIX + ".telegram.registry";
+
+    /**
+     *
+     * @return How often the bots are reloaded from the registries or null if they are only reloaded on a refresh event.
+     */
+    @Nullable
+    Duration getRefreshInterval();
+
+    /**
+     *
+     * @return The SQL query which selects the bots of {@link JdbcTelegramBotRegistry} or null if the registry is disabled.
+     */
+    @Nullable
+    String getSql();
+
+    /**
+     *
+     * @return The path of the JSON file read by {@link FileTelegramBotRegistry} or null if the registry is disabled.
+     */
+    @Nullable
+    String getFile();
+}
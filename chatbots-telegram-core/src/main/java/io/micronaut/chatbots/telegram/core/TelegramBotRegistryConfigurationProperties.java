@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+/**
+ * {@link ConfigurationProperties} implementation of {@link TelegramBotRegistryConfiguration}.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@ConfigurationProperties(TelegramBotRegistryConfiguration.PREFIX)
+public class TelegramBotRegistryConfigurationProperties implements TelegramBotRegistryConfiguration {
+
+    @Nullable
+    private Duration refreshInterval;
+
+    @Nullable
+    private String sql;
+
+    @Nullable
+    private String file;
+
+    @Override
+    @Nullable
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * How often the bots are reloaded from the registries. If not set, bots are only reloaded on a refresh event.
+     *
+     * @param refreshInterval Refresh interval
+     */
+    public void setRefreshInterval(@Nullable Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    @Override
+    @Nullable
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * SQL query which selects the bots from the default data source. It must return the columns `name`, `token` and `at_username`, and optionally `enabled`. If set, bots are loaded from the database.
+     *
+     * @param sql SQL query
+     */
+    public void setSql(@Nullable String sql) {
+        this.sql = sql;
+    }
+
+    @Override
+    @Nullable
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * Path of a JSON file with an array of bots, each with the `name`, `token` and `at_username` members, and optionally `enabled`. Prefix it with `classpath:` or `file:`. If set, bots are loaded from the file.
+     *
+     * @param file Path of the file
+     */
+    public void setFile(@Nullable String file) {
+        this.file = file;
+    }
+}
@@ -15,48 +15,118 @@
  */
 package io.micronaut.chatbots.telegram.core;
 
+import io.micronaut.chatbots.core.BotConfiguration;
+import io.micronaut.chatbots.core.SlashCommand;
 import io.micronaut.chatbots.core.SlashCommandParser;
 import io.micronaut.chatbots.telegram.api.Message;
+import io.micronaut.chatbots.telegram.api.MessageEntity;
 import io.micronaut.chatbots.telegram.api.Update;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.StringUtils;
 import jakarta.inject.Singleton;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
- * {@link SlashCommandParser} for Telegram.
+ * {@link SlashCommandParser} for Telegram. It reads the command of a message's text or, for media messages, of its caption.
+ * The command is located with the first entity of type {@value #TYPE_BOT_COMMAND}. Messages without entities are scanned for the first word starting with a slash.
+ * A command addressed to a bot, e.g. /help@MnBot, is discarded if the username does not match the bot handling the update.
  * @author Sergio del Amo
  * @since 1.0.0
  */
 @Singleton
 public class TelegramSlashCommandParser implements SlashCommandParser<Update> {
+
+    /**
+     * Type of the message entities which denote a bot command.
+     */
+    public static final String TYPE_BOT_COMMAND = "bot_command";
+
+    private static final char SLASH = '/';
+    private static final char AT = '@';
+
     @Override
     @NonNull
     public Optional<String> parse(@NonNull Update input) {
-        if (input.getMessage() != null) {
-            Optional<String> result = parse(input.getMessage());
-            if (result.isPresent()) {
-                return result;
-            }
+        return parseCommand(null, input).map(SlashCommand::toString);
+    }
+
+    @Override
+    @NonNull
+    public Optional<SlashCommand> parseCommand(@Nullable BotConfiguration bot, @NonNull Update input) {
+        Message message = input.getMessage();
+        if (message == null) {
+            return Optional.empty();
+        }
+        if (StringUtils.isNotEmpty(message.getText())) {
+            return parse(bot, message.getText(), message.getEntities());
+        }
+        if (StringUtils.isNotEmpty(message.getCaption())) {
+            return parse(bot, message.getCaption(), message.getCaptionEntities());
         }
         return Optional.empty();
     }
 
     @NonNull
-    private Optional<String> parse(@NonNull Message message) {
-        String text = message.getText();
-        if (StringUtils.isNotEmpty(text)) {
-            int index = text.indexOf("/");
-            if (index != -1) {
-                String result = text.substring(index);
-                index = result.indexOf("@");
-                if (index != -1) {
-                    result = text.substring(0, index);
+    private Optional<SlashCommand> parse(@Nullable BotConfiguration bot,
+                                         @NonNull String text,
+                                         @Nullable List<MessageEntity> entities) {
+        int start = -1;
+        int end = -1;
+        if (entities != null) {
+            for (MessageEntity entity : entities) {
+                if (TYPE_BOT_COMMAND.equals(entity.getType()) && entity.getOffset() != null && entity.getLength() != null) {
+                    start = entity.getOffset();
+                    end = start + entity.getLength();
+                    break;
                 }
-                return Optional.of(result);
+            }
+        } else {
+            start = indexOfCommand(text);
+            end = start;
+            while (end >= 0 && end < text.length() && !Character.isWhitespace(text.charAt(end))) {
+                end++;
             }
         }
-        return Optional.empty();
+        if (start < 0 || end > text.length() || start >= end || text.charAt(start) != SLASH) {
+            return Optional.empty();
+        }
+        int at = text.indexOf(AT, start);
+        if (at != -1 && at < end) {
+            if (!isAddressedTo(bot, text, at, end)) {
+                return Optional.empty();
+            }
+            return Optional.of(SlashCommand.of(text, start, at, end, text.length()));
+        }
+        return Optional.of(SlashCommand.of(text, start, end, end, text.length()));
+    }
+
+    private static int indexOfCommand(@NonNull String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == SLASH && (i == 0 || Character.isWhitespace(text.charAt(i - 1)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     *
+     * @param bot Bot handling the update
+     * @param text Text containing the command
+     * @param at Index of the @ which precedes the username
+     * @param end Index after the last character of the username
+     * @return Whether the username matches the bot or the bot is unknown
+     */
+    private static boolean isAddressedTo(@Nullable BotConfiguration bot, @NonNull String text, int at, int end) {
+        if (!(bot instanceof TelegramBotConfiguration telegramBot) || StringUtils.isEmpty(telegramBot.getAtUsername())) {
+            return true;
+        }
+        String atUsername = telegramBot.getAtUsername();
+        int offset = atUsername.charAt(0) == AT ? 0 : 1;
+        return atUsername.length() + offset == end - at
+            && text.regionMatches(true, at + offset, atUsername, 0, atUsername.length());
     }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.chatbots.core.CommandTemplate;
+import io.micronaut.chatbots.core.DispatchContext;
+import io.micronaut.chatbots.core.SpaceParser;
+import io.micronaut.chatbots.core.TextResourceLoader;
+import io.micronaut.chatbots.telegram.api.Chat;
+import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.chatbots.telegram.api.send.ParseMode;
+import io.micronaut.chatbots.telegram.api.send.SendMessage;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import java.util.Optional;
+
+/**
+ * Abstract class to respond to a Telegram Bot command with a {@link CommandTemplate} rendered per update. E.g. {@code Hi {firstName}, you have {tasks} tasks}.
+ * The template is read from the same resources as {@link CommandHandler} and compiled once.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public abstract class TemplateCommandHandler extends CommandHandler {
+
+    protected TemplateCommandHandler(TelegramSlashCommandParser slashCommandParser,
+                                     TextResourceLoader textResourceLoader,
+                                     SpaceParser<Update, Chat> spaceParser) {
+        super(slashCommandParser, textResourceLoader, spaceParser);
+    }
+
+    /**
+     *
+     * @return A slash command. E.g. /tasks
+     */
+    @Override
+    @NonNull
+    public abstract String getCommand();
+
+    /**
+     *
+     * @param context Dispatch context
+     * @return A {@link java.util.Map} keyed by placeholder name or a bean annotated with {@link io.micronaut.core.annotation.Introspected} whose properties are named after the placeholders.
+     */
+    @NonNull
+    protected abstract Object model(@NonNull DispatchContext<TelegramBotConfiguration, Update> context);
+
+    @Override
+    @NonNull
+    protected Optional<SendMessage> compose(@NonNull DispatchContext<TelegramBotConfiguration, Update> context,
+                                            @NonNull String command) {
+        return getTextResourceLoader().composeCommandTemplate(command)
+                .flatMap(template -> {
+                    ParseMode parseMode = ParseModeUtils.parseModeOfFileExtension(template.extension()).orElse(null);
+                    return SendMessageUtils.compose(context,
+                        getSpaceParser(),
+                        template.template().render(model(context), value -> escape(parseMode, value)),
+                        parseMode);
+                });
+    }
+
+    /**
+     * Escapes the value of a placeholder. Values are escaped for the parse mode the response is sent with, so that they are shown verbatim.
+     * Override it to send values containing markup.
+     * @param parseMode Parse mode of the response
+     * @param value Value of a placeholder
+     * @return The escaped value
+     */
+    @NonNull
+    protected String escape(@Nullable ParseMode parseMode, @NonNull String value) {
+        return ParseModeUtils.escape(parseMode, value);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.chatbots.telegram.api.LazyUpdates;
+import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.json.JsonMapper;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+
+/**
+ * Decodes the JSON payload of an update. If {@link LazyUpdatesConfiguration#isEnabled()}, updates are decoded with {@link LazyUpdates}. Otherwise, they are decoded fully.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Singleton
+public class UpdateDecoder {
+
+    private final LazyUpdatesConfiguration configuration;
+    private final JsonMapper jsonMapper;
+
+    /**
+     *
+     * @param configuration Lazy updates configuration
+     * @param jsonMapper JSON Mapper
+     */
+    public UpdateDecoder(LazyUpdatesConfiguration configuration,
+                         JsonMapper jsonMapper) {
+        this.configuration = configuration;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Decodes an update.
+     * @param json JSON payload of the update. It must not be modified afterwards.
+     * @return The update or null if the payload is the JSON null literal
+     * @throws IOException if the payload cannot be decoded
+     */
+    @Nullable
+    public Update decode(@NonNull byte[] json) throws IOException {
+        return configuration.isEnabled()
+            ? LazyUpdates.decode(json, jsonMapper)
+            : jsonMapper.readValue(json, Update.class);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.chatbots.core.ChatbotsConfiguration;
+import io.micronaut.core.util.Toggleable;
+
+/**
+ * Configuration of the deduplication of Telegram updates re-delivered by webhook retries.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public interface UpdateDeduplicationConfiguration extends Toggleable {
+    /**
+     * The prefix for update deduplication configuration.
+     */
+    String PREFIX = ChatbotsConfiguration.PREFIX + ".telegram.deduplication";
+
+    /**
+     *
+     * @return The number of most recent update ids remembered per bot.
+     */
+    int getWindowSize();
+}
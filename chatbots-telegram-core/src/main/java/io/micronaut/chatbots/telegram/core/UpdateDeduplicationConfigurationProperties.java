@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * {@link ConfigurationProperties} implementation of {@link UpdateDeduplicationConfiguration}.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@ConfigurationProperties(UpdateDeduplicationConfiguration.PREFIX)
+public class UpdateDeduplicationConfigurationProperties implements UpdateDeduplicationConfiguration {
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default number of most recent update ids remembered per bot.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_WINDOW_SIZE = 1024;
+
+    private boolean enabled = DEFAULT_ENABLED;
+
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether updates already dispatched are dropped. Default value ({@value #DEFAULT_ENABLED}).
+     *
+     * @param enabled True if updates are deduplicated
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * The number of most recent update ids remembered per bot by the in-memory store. Default value ({@value #DEFAULT_WINDOW_SIZE}).
+     *
+     * @param windowSize Number of update ids
+     */
+    public void setWindowSize(@Positive int windowSize) {
+        this.windowSize = windowSize;
+    }
+}
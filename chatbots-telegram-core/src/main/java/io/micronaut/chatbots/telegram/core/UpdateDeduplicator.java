@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Singleton;
+
+/**
+ * Detects updates which Telegram re-delivers because the webhook was slow or failed, so that the entry points acknowledge them without dispatching them again.
+ * Updates are keyed by bot name and update id in an {@link UpdateIdStore}. An update is recorded before it is dispatched, so that a re-delivery racing with a slow dispatch is dropped, and forgotten if its dispatch fails, so that Telegram's re-delivery is dispatched. Deduplication is disabled unless {@link UpdateDeduplicationConfiguration#isEnabled()}.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Singleton
+public class UpdateDeduplicator {
+
+    private final UpdateDeduplicationConfiguration configuration;
+    private final UpdateIdStore updateIdStore;
+
+    /**
+     *
+     * @param configuration Update deduplication configuration
+     * @param updateIdStore Update id store
+     */
+    public UpdateDeduplicator(UpdateDeduplicationConfiguration configuration,
+                              UpdateIdStore updateIdStore) {
+        this.configuration = configuration;
+        this.updateIdStore = updateIdStore;
+    }
+
+    /**
+     * Records the update and checks whether it was seen before.
+     * @param bot Bot configuration
+     * @param update Update
+     * @return true if deduplication is enabled and the update was already seen for the bot.
+     */
+    public boolean isDuplicate(@Nullable TelegramBotConfiguration bot, @NonNull Update update) {
+        if (!configuration.isEnabled() || bot == null || update.getUpdateId() == null) {
+            return false;
+        }
+        return !updateIdStore.add(bot.getName(), update.getUpdateId());
+    }
+
+    /**
+     * Forgets an update recorded by {@link #isDuplicate(TelegramBotConfiguration, Update)} whose dispatch failed or was rejected, so that it is dispatched when Telegram delivers it again.
+     * @param bot Bot configuration
+     * @param update Update
+     */
+    public void forget(@Nullable TelegramBotConfiguration bot, @NonNull Update update) {
+        if (!configuration.isEnabled() || bot == null || update.getUpdateId() == null) {
+            return;
+        }
+        updateIdStore.remove(bot.getName(), update.getUpdateId());
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.context.annotation.DefaultImplementation;
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * Records the ids of the updates dispatched for each bot. Replace the default in-memory implementation with one backed by a shared store to deduplicate updates across nodes.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@DefaultImplementation(InMemoryUpdateIdStore.class)
+@FunctionalInterface
+public interface UpdateIdStore {
+
+    /**
+     * Records an update id.
+     * @param botName Bot name
+     * @param updateId The update's unique identifier
+     * @return true if the update id was not recorded before for the bot, false if the update is a duplicate.
+     */
+    boolean add(@NonNull String botName, long updateId);
+
+    /**
+     * Forgets an update id, so that the update is dispatched again when Telegram re-delivers it. E.g. because its dispatch failed or was rejected.
+     * Default implementation does nothing.
+     * @param botName Bot name
+     * @param updateId The update's unique identifier
+     */
+    default void remove(@NonNull String botName, long updateId) {
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.core;
+
+import io.micronaut.chatbots.core.KindHandler;
+import io.micronaut.chatbots.core.KindParser;
+import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.chatbots.telegram.api.UpdateKind;
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.Optional;
+
+/**
+ * A {@link TelegramHandler} which only accepts updates of some kinds. E.g. a handler which accepts {@link UpdateKind#CALLBACK_QUERY} is never asked whether it can handle a message.
+ * @param <O> output type.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public interface UpdateKindHandler<O> extends TelegramHandler<O>, KindHandler<TelegramBotConfiguration, Update, O, UpdateKind> {
+
+    /**
+     * Derives the {@link UpdateKind} of an update.
+     */
+    KindParser<Update, UpdateKind> PARSER = update -> Optional.of(UpdateKind.of(update));
+
+    @Override
+    @NonNull
+    default KindParser<Update, UpdateKind> getKindParser() {
+        return PARSER;
+    }
+}
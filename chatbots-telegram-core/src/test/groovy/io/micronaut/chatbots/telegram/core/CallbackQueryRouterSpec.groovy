@@ -0,0 +1,86 @@
+package io.micronaut.chatbots.telegram.core
+
+import io.micronaut.chatbots.core.DispatchContext
+import io.micronaut.chatbots.telegram.api.CallbackQuery
+import io.micronaut.chatbots.telegram.api.Message
+import io.micronaut.chatbots.telegram.api.Update
+import io.micronaut.chatbots.telegram.api.UpdateKind
+import io.micronaut.chatbots.telegram.api.send.AnswerCallbackQuery
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CallbackQueryRouterSpec extends Specification {
+
+    RecordingHandler order = new RecordingHandler('order')
+    RecordingHandler confirm = new RecordingHandler('order:confirm')
+    RecordingHandler silent = new RecordingHandler('silent:', false)
+
+    CallbackQueryRouter router = new CallbackQueryRouter([order, confirm, silent])
+
+    @Unroll
+    void "#data is routed to the handler with the longest prefix"(String data, String prefix, List<String> parameters) {
+        when:
+        AnswerCallbackQuery answer = router.handle(null, update('42', data)).get()
+
+        then:
+        answer.callbackQueryId == '42'
+        answer.text == prefix
+        [order, confirm].find { it.prefix == prefix }.data.parameters == parameters
+
+        where:
+        data                    | prefix          | parameters
+        'order:confirm:123'     | 'order:confirm' | ['123']
+        'order:confirm'         | 'order:confirm' | []
+        'order:confirmed:123'   | 'order'         | ['confirmed', '123']
+        'order:cancel:123:full' | 'order'         | ['cancel', '123', 'full']
+    }
+
+    void "callback queries without a matching prefix are left to other handlers"() {
+        expect:
+        !router.canHandle(null, update('42', 'orders:list'))
+        !router.canHandle(null, update('42', null))
+        !router.canHandle(null, new Update(message: new Message(text: 'order:confirm:1')))
+        !router.handle(null, update('42', 'unknown')).isPresent()
+    }
+
+    void "an empty answer still answers the callback query"() {
+        when:
+        AnswerCallbackQuery answer = router.handle(null, update('42', 'silent:1')).get()
+
+        then:
+        answer.callbackQueryId == '42'
+        answer.text == null
+        silent.data.getParameter(0).get() == '1'
+        !silent.data.getParameter(1).isPresent()
+    }
+
+    void "the router precedes the other handlers and only accepts callback queries"() {
+        expect:
+        router.order < -10
+        router.kinds == [UpdateKind.CALLBACK_QUERY] as Set
+    }
+
+    private static Update update(String id, String data) {
+        new Update(callbackQuery: new CallbackQuery(id: id, data: data))
+    }
+
+    static class RecordingHandler implements CallbackQueryHandler {
+
+        final String prefix
+        final boolean answers
+        CallbackData data
+
+        RecordingHandler(String prefix, boolean answers = true) {
+            this.prefix = prefix
+            this.answers = answers
+        }
+
+        @Override
+        Optional<AnswerCallbackQuery> handle(DispatchContext<TelegramBotConfiguration, Update> context,
+                                             CallbackQuery callbackQuery,
+                                             CallbackData data) {
+            this.data = data
+            answers ? Optional.of(new AnswerCallbackQuery(text: prefix)) : Optional.empty()
+        }
+    }
+}
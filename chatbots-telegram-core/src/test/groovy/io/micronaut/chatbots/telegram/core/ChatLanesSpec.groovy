@@ -0,0 +1,62 @@
+package io.micronaut.chatbots.telegram.core
+
+import io.micronaut.chatbots.telegram.api.Chat
+import io.micronaut.chatbots.telegram.api.Message
+import io.micronaut.chatbots.telegram.api.Update
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class ChatLanesSpec extends Specification {
+
+    @AutoCleanup('shutdownNow')
+    ExecutorService executor = Executors.newFixedThreadPool(4)
+
+    void "updates of a chat are handled in order"() {
+        given:
+        ChatLanesConfigurationProperties configuration = new ChatLanesConfigurationProperties()
+        configuration.enabled = true
+        ChatLanes chatLanes = new ChatLanes(configuration, new TelegramSpaceParser(), executor)
+        Map<Long, List<Integer>> handled = [(1L): new CopyOnWriteArrayList<Integer>(), (2L): new CopyOnWriteArrayList<Integer>()]
+
+        when:
+        List<CompletableFuture<Integer>> results = (1..100).collect { int i ->
+            Long chatId = (i % 2) + 1L
+            chatLanes.submit(update(i, chatId), () -> CompletableFuture.supplyAsync(() -> {
+                sleep(i % 3)
+                handled[chatId] << i
+                i
+            }, executor)).toCompletableFuture()
+        }
+        CompletableFuture.allOf(results as CompletableFuture[]).get(10, TimeUnit.SECONDS)
+
+        then:
+        handled[1L] == (1..100).findAll { it % 2 == 0 }
+        handled[2L] == (1..100).findAll { it % 2 == 1 }
+    }
+
+    void "work runs on the calling thread if lanes are disabled"() {
+        given:
+        ChatLanes chatLanes = new ChatLanes(new ChatLanesConfigurationProperties(), new TelegramSpaceParser(), executor)
+        Thread caller = Thread.currentThread()
+
+        expect:
+        chatLanes.submit(update(1, 1L), () -> CompletableFuture.completedFuture(Thread.currentThread())).toCompletableFuture().get() == caller
+    }
+
+    private static Update update(int updateId, Long chatId) {
+        Chat chat = new Chat()
+        chat.id = chatId
+        Message message = new Message()
+        message.chat = chat
+        Update update = new Update()
+        update.updateId = updateId
+        update.message = message
+        update
+    }
+}
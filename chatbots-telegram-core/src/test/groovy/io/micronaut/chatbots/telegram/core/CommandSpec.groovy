@@ -4,6 +4,7 @@ import io.micronaut.chatbots.core.*
 import io.micronaut.chatbots.telegram.api.Chat
 import io.micronaut.chatbots.telegram.api.Update
 import io.micronaut.chatbots.telegram.api.send.ParseMode
+import io.micronaut.chatbots.telegram.api.send.PreSerializedSendMessage
 import io.micronaut.chatbots.telegram.api.send.Send
 import io.micronaut.chatbots.telegram.api.send.SendMessage
 import io.micronaut.context.annotation.Property
@@ -51,6 +52,10 @@ class CommandSpec extends Specification {
         "sendMessage" == sendMessage.method
         613021175 == sendMessage.chatId
 
+        and: 'the response carries its cached JSON encoding'
+        sendMessage instanceof PreSerializedSendMessage
+        objectMapper.readValue(((PreSerializedSendMessage) sendMessage).toJson().get(), Map) == objectMapper.readValue(objectMapper.writeValueAsString(sendMessage), Map)
+
         when:
         f = new File("src/test/resources/grouphelp.json")
         update = objectMapper.readValue(f.text, Update)
@@ -0,0 +1,158 @@
+package io.micronaut.chatbots.telegram.core
+
+import io.micronaut.runtime.context.scope.refresh.RefreshEvent
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.ExecutorService
+
+class DefaultTokenValidatorSpec extends Specification {
+
+    List<Runnable> reloads = []
+
+    ExecutorService executor = Stub(ExecutorService) {
+        execute(_) >> { Runnable task -> reloads << task }
+    }
+
+    void "tokens of enabled bots are validated"() {
+        given:
+        DefaultTokenValidator validator = new DefaultTokenValidator([
+                bot('c3po', 'ZZZ'),
+                bot('r2d2', 'XXX'),
+                bot('disabled', 'YYY', false),
+                bot('duplicate', 'XXX')
+        ])
+
+        expect:
+        validator.validate('XXX').get().name == 'r2d2'
+        validator.validate('ZZZ').get().name == 'c3po'
+        !validator.validate('YYY').isPresent()
+        !validator.validate('XX').isPresent()
+    }
+
+    void "the index is rebuilt after a refresh"() {
+        given:
+        List<TelegramBotConfiguration> bots = [bot('c3po', 'ZZZ')]
+        DefaultTokenValidator validator = new DefaultTokenValidator(bots)
+
+        expect:
+        validator.validate('ZZZ').isPresent()
+
+        when:
+        bots[0] = bot('c3po', 'AAA')
+
+        then: 'the index is built once'
+        validator.validate('ZZZ').isPresent()
+        !validator.validate('AAA').isPresent()
+
+        when:
+        validator.onApplicationEvent(new RefreshEvent())
+
+        then:
+        !validator.validate('ZZZ').isPresent()
+        validator.validate('AAA').get().name == 'c3po'
+    }
+
+    void "bots of every registry are reloaded once the refresh interval elapses"() {
+        given:
+        List<TelegramBotConfiguration> registryBots = [bot('c3po', 'ZZZ')]
+        TelegramBotRegistry registry = () -> registryBots
+        TelegramBotRegistry otherRegistry = () -> [bot('r2d2', 'XXX')]
+        TelegramBotRegistryConfigurationProperties configuration = new TelegramBotRegistryConfigurationProperties()
+        configuration.refreshInterval = Duration.ofMillis(50)
+        DefaultTokenValidator validator = new DefaultTokenValidator([registry, otherRegistry], configuration, executor)
+
+        expect:
+        validator.validate('ZZZ').isPresent()
+        validator.validate('XXX').isPresent()
+        reloads.empty
+
+        when:
+        registryBots << bot('bb8', 'AAA')
+        sleep(100)
+
+        then: 'the current bots are served while the reload is scheduled once'
+        !validator.validate('AAA').isPresent()
+        validator.validate('ZZZ').isPresent()
+        reloads.size() == 1
+
+        when:
+        reloads.remove(0).run()
+
+        then:
+        validator.validate('AAA').get().name == 'bb8'
+        reloads.empty
+    }
+
+    void "the previous bots are kept if reloading fails"() {
+        given:
+        int calls = 0
+        TelegramBotRegistry registry = () -> {
+            if (calls++ > 0) {
+                throw new IllegalStateException("database is down")
+            }
+            [bot('c3po', 'ZZZ')]
+        }
+        TelegramBotRegistryConfigurationProperties configuration = new TelegramBotRegistryConfigurationProperties()
+        configuration.refreshInterval = Duration.ofMillis(50)
+        DefaultTokenValidator validator = new DefaultTokenValidator([registry], configuration, executor)
+
+        expect:
+        validator.validate('ZZZ').isPresent()
+
+        when:
+        sleep(100)
+        validator.validate('ZZZ')
+        reloads.remove(0).run()
+
+        then:
+        calls == 2
+        validator.validate('ZZZ').isPresent()
+        reloads.empty
+    }
+
+    void "the index is rebuilt by the refresh listener and kept if reloading fails"() {
+        given:
+        int calls = 0
+        List<TelegramBotConfiguration> registryBots = [bot('c3po', 'ZZZ')]
+        TelegramBotRegistry registry = () -> {
+            calls++
+            if (registryBots == null) {
+                throw new IllegalStateException("database is down")
+            }
+            registryBots
+        }
+        DefaultTokenValidator validator = new DefaultTokenValidator([registry], new TelegramBotRegistryConfigurationProperties(), executor)
+
+        expect:
+        validator.validate('ZZZ').isPresent()
+        calls == 1
+
+        when:
+        registryBots = [bot('r2d2', 'XXX')]
+        validator.onApplicationEvent(new RefreshEvent())
+
+        then: 'the bots are reloaded before the next validation'
+        calls == 2
+        validator.validate('XXX').get().name == 'r2d2'
+
+        when:
+        registryBots = null
+        validator.onApplicationEvent(new RefreshEvent())
+
+        then:
+        noExceptionThrown()
+        calls == 3
+        validator.validate('XXX').get().name == 'r2d2'
+        !validator.validate('ZZZ').isPresent()
+        calls == 3
+    }
+
+    private TelegramBotConfiguration bot(String name, String token, boolean enabled = true) {
+        Stub(TelegramBotConfiguration) {
+            getName() >> name
+            getToken() >> token
+            isEnabled() >> enabled
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package io.micronaut.chatbots.telegram.core
+
+import io.micronaut.context.annotation.Property
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import jakarta.inject.Inject
+import spock.lang.Specification
+
+@Property(name = "micronaut.chatbots.telegram.bots.c3po.token", value = "ZZZ")
+@Property(name = "micronaut.chatbots.telegram.bots.c3po.at-username", value = "@C3P0")
+@Property(name = "micronaut.chatbots.telegram.registry.file", value = "classpath:bots.json")
+@MicronautTest(startApplication = false)
+class FileTelegramBotRegistrySpec extends Specification {
+
+    @Inject
+    FileTelegramBotRegistry registry
+
+    @Inject
+    TokenValidator validator
+
+    void "bots are read from the JSON file"() {
+        when:
+        List<TelegramBotConfiguration> bots = registry.getBots()
+
+        then:
+        bots*.name == ['bb8', 'k2so']
+        bots*.atUsername == ['@BB8', '@K2SO']
+        bots*.enabled == [true, false]
+    }
+
+    void "bots of the file and of the configuration are validated"() {
+        expect:
+        validator.validate('ZZZ').get().name == 'c3po'
+        validator.validate('AAA').get().name == 'bb8'
+        !validator.validate('BBB').isPresent()
+    }
+}
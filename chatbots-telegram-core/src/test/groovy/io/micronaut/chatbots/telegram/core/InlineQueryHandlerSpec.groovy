@@ -0,0 +1,135 @@
+package io.micronaut.chatbots.telegram.core
+
+import io.micronaut.chatbots.core.CacheStatistics
+import io.micronaut.chatbots.core.DispatchContext
+import io.micronaut.chatbots.telegram.api.InlineQuery
+import io.micronaut.chatbots.telegram.api.InlineQueryResultArticle
+import io.micronaut.chatbots.telegram.api.InputTextMessageContent
+import io.micronaut.chatbots.telegram.api.Message
+import io.micronaut.chatbots.telegram.api.Update
+import io.micronaut.chatbots.telegram.api.User
+import io.micronaut.chatbots.telegram.api.send.AnswerInlineQuery
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.function.LongSupplier
+
+class InlineQueryHandlerSpec extends Specification {
+
+    long now = 0
+
+    TelegramBotConfiguration bot = new TelegramBotConfigurationProperties('mnbot')
+
+    void "answers are cached by query text and offset"() {
+        given:
+        SearchHandler handler = new SearchHandler(configuration(Duration.ofMinutes(5), 10), () -> now, false)
+
+        when:
+        AnswerInlineQuery first = handler.handle(bot, update('1', 7L, 'micro', '')).get()
+        AnswerInlineQuery second = handler.handle(bot, update('2', 8L, 'micro', '')).get()
+        handler.handle(bot, update('3', 7L, 'micro', '10'))
+        handler.handle(bot, update('4', 7L, 'micronaut', ''))
+
+        then:
+        first.inlineQueryId == '1'
+        second.inlineQueryId == '2'
+        second.results[0].title == 'micro#'
+        second.cacheTime == 300
+        !second.personal
+        handler.queries == ['micro#', 'micro#10', 'micronaut#']
+        handler.cacheStatistics == new CacheStatistics(1, 3, 0)
+    }
+
+    void "answers expire after the cache time"() {
+        given:
+        SearchHandler handler = new SearchHandler(configuration(Duration.ofSeconds(60), 10), () -> now, false)
+
+        when:
+        handler.handle(bot, update('1', 7L, 'micro', ''))
+        now += Duration.ofSeconds(59).toNanos()
+        handler.handle(bot, update('2', 7L, 'micro', ''))
+
+        then:
+        handler.queries.size() == 1
+
+        when:
+        now += Duration.ofSeconds(1).toNanos()
+        handler.handle(bot, update('3', 7L, 'micro', ''))
+
+        then:
+        handler.queries.size() == 2
+        handler.cacheStatistics == new CacheStatistics(1, 2, 1)
+    }
+
+    void "personal answers are cached per user"() {
+        given:
+        SearchHandler handler = new SearchHandler(configuration(Duration.ofMinutes(5), 10), () -> now, true)
+
+        when:
+        AnswerInlineQuery answer = handler.handle(bot, update('1', 7L, 'micro', '')).get()
+        handler.handle(bot, update('2', 8L, 'micro', ''))
+        handler.handle(bot, update('3', 7L, 'micro', ''))
+
+        then:
+        answer.personal
+        handler.queries.size() == 2
+    }
+
+    void "the cache is bounded and a zero cache time disables it"() {
+        given:
+        SearchHandler bounded = new SearchHandler(configuration(Duration.ofMinutes(5), 5), () -> now, false)
+        SearchHandler uncached = new SearchHandler(configuration(Duration.ZERO, 5), () -> now, false)
+
+        when:
+        100.times { bounded.handle(bot, update("$it", 7L, "q$it", '')) }
+        2.times { uncached.handle(bot, update("$it", 7L, 'micro', '')) }
+
+        then:
+        bounded.cacheStatistics.evictionCount() >= 95
+        uncached.queries.size() == 2
+        uncached.handle(bot, update('1', 7L, 'micro', '')).get().cacheTime == 0
+    }
+
+    void "only inline queries are handled"() {
+        given:
+        SearchHandler handler = new SearchHandler(configuration(Duration.ofMinutes(5), 10), () -> now, false)
+        Update message = new Update(message: new Message(text: 'micro'))
+
+        expect:
+        handler.canHandle(bot, update('1', 7L, 'micro', ''))
+        !handler.canHandle(bot, message)
+        !handler.handle(bot, message).isPresent()
+    }
+
+    private static InlineQueryConfiguration configuration(Duration cacheTime, int maximumSize) {
+        new InlineQueryConfigurationProperties(cacheTime: cacheTime, cacheMaximumSize: maximumSize)
+    }
+
+    private static Update update(String id, Long userId, String query, String offset) {
+        new Update(inlineQuery: new InlineQuery(id: id, from: new User(id: userId), query: query, offset: offset))
+    }
+
+    static class SearchHandler extends InlineQueryHandler {
+
+        final List<String> queries = []
+        private final boolean personal
+
+        SearchHandler(InlineQueryConfiguration configuration, LongSupplier nanoTime, boolean personal) {
+            super(configuration, nanoTime)
+            this.personal = personal
+        }
+
+        @Override
+        protected boolean isPersonal() {
+            personal
+        }
+
+        @Override
+        protected InlineQueryAnswer answer(DispatchContext<TelegramBotConfiguration, Update> context, InlineQuery inlineQuery) {
+            String title = "${inlineQuery.query}#${inlineQuery.offset}"
+            queries << title
+            InlineQueryAnswer.of([new InlineQueryResultArticle(id: '1', title: title,
+                inputMessageContent: new InputTextMessageContent(messageText: title))])
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package io.micronaut.chatbots.telegram.core
+
+import spock.lang.Specification
+
+import javax.sql.DataSource
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.ResultSet
+import java.sql.ResultSetMetaData
+import java.sql.SQLException
+
+class JdbcTelegramBotRegistrySpec extends Specification {
+
+    void "bots are selected with the configured query"() {
+        given:
+        List<Map<String, Object>> rows = [
+                [name: 'c3po', token: 'ZZZ', at_username: '@c3po_bot', enabled: true],
+                [name: 'r2d2', token: 'XXX', at_username: '@r2d2_bot', enabled: false]
+        ]
+        int row = -1
+        ResultSetMetaData metaData = Stub {
+            getColumnCount() >> 4
+            getColumnLabel(_ as Integer) >> { int i -> ['NAME', 'TOKEN', 'AT_USERNAME', 'ENABLED'][i - 1] }
+        }
+        ResultSet resultSet = Stub {
+            getMetaData() >> metaData
+            next() >> { ++row < rows.size() }
+            getString(_ as String) >> { String column -> rows[row][column] }
+            getBoolean(_ as String) >> { String column -> rows[row][column] }
+        }
+        PreparedStatement statement = Stub {
+            executeQuery() >> resultSet
+        }
+        Connection connection = Mock()
+        DataSource dataSource = Stub {
+            getConnection() >> connection
+        }
+        TelegramBotRegistryConfigurationProperties configuration = new TelegramBotRegistryConfigurationProperties()
+        configuration.sql = 'SELECT name, token, at_username, enabled FROM bot'
+
+        when:
+        List<TelegramBotConfiguration> bots = new JdbcTelegramBotRegistry(dataSource, configuration).getBots()
+
+        then:
+        1 * connection.prepareStatement('SELECT name, token, at_username, enabled FROM bot') >> statement
+        1 * connection.close()
+        bots*.name == ['c3po', 'r2d2']
+        bots*.token == ['ZZZ', 'XXX']
+        bots*.atUsername == ['@c3po_bot', '@r2d2_bot']
+        bots*.enabled == [true, false]
+    }
+
+    void "SQL errors are wrapped"() {
+        given:
+        DataSource dataSource = Stub {
+            getConnection() >> { throw new SQLException("connection refused") }
+        }
+        TelegramBotRegistryConfigurationProperties configuration = new TelegramBotRegistryConfigurationProperties()
+        configuration.sql = 'SELECT name, token, at_username FROM bot'
+
+        when:
+        new JdbcTelegramBotRegistry(dataSource, configuration).getBots()
+
+        then:
+        IllegalStateException e = thrown()
+        e.cause instanceof SQLException
+    }
+}
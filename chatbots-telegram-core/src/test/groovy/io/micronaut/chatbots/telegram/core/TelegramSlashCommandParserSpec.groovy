@@ -1,6 +1,9 @@
 package io.micronaut.chatbots.telegram.core
 
+import io.micronaut.chatbots.core.SlashCommand
 import io.micronaut.chatbots.core.SlashCommandParser
+import io.micronaut.chatbots.telegram.api.Message
+import io.micronaut.chatbots.telegram.api.MessageEntity
 import io.micronaut.chatbots.telegram.api.Update
 import io.micronaut.serde.ObjectMapper
 import io.micronaut.test.extensions.spock.annotation.MicronautTest
@@ -67,4 +70,77 @@ class TelegramSlashCommandParserSpec extends Specification {
         where:
         fileName << ['text.json']
     }
+
+    @Unroll
+    void "command is located with the bot_command entity: #text"(String text, Integer offset, Integer length, String command, String arguments) {
+        given:
+        Update update = update(text, offset, length, false)
+
+        when:
+        Optional<SlashCommand> result = slashCommandParser.parseCommand(bot('@MnBot'), update)
+
+        then:
+        result.isPresent()
+        command == result.get().getCommand().toString()
+        arguments == result.get().getArguments().toString()
+
+        where:
+        text                      | offset | length | command  | arguments
+        '/help@MnBot  me please ' | 0      | 11     | '/help'  | 'me please'
+        '/help@mnbot'             | 0      | 11     | '/help'  | ''
+        'hey @MnBot /start now'   | 11     | 6      | '/start' | 'now'
+        '/echo a/b@c'             | 0      | 5      | '/echo'  | 'a/b@c'
+        'and/or /about'           | null   | null   | '/about' | ''
+    }
+
+    void "command of a caption is parsed"() {
+        given:
+        Update update = update('/echo nice picture', 0, 5, true)
+
+        expect:
+        slashCommandParser.parseCommand(bot('@MnBot'), update).get().toString() == '/echo nice picture'
+        slashCommandParser.parse(update).get() == '/echo nice picture'
+    }
+
+    void "command addressed to another bot is discarded"() {
+        given:
+        Update update = update('/help@OtherBot me', 0, 14, false)
+
+        expect:
+        !slashCommandParser.parseCommand(bot('@MnBot'), update).isPresent()
+        slashCommandParser.parseCommand(null, update).get().toString() == '/help me'
+    }
+
+    void "message without entities nor a word starting with a slash has no command"() {
+        expect:
+        !slashCommandParser.parseCommand(null, update('hello and/or bye', null, null, false)).isPresent()
+    }
+
+    private static Update update(String text, Integer offset, Integer length, boolean caption) {
+        List<MessageEntity> entities = null
+        if (offset != null) {
+            MessageEntity entity = new MessageEntity()
+            entity.type = 'bot_command'
+            entity.offset = offset
+            entity.length = length
+            entities = [entity]
+        }
+        Message message = new Message()
+        if (caption) {
+            message.caption = text
+            message.captionEntities = entities
+        } else {
+            message.text = text
+            message.entities = entities
+        }
+        Update update = new Update()
+        update.message = message
+        update
+    }
+
+    private static TelegramBotConfiguration bot(String atUsername) {
+        TelegramBotConfigurationProperties bot = new TelegramBotConfigurationProperties('mnbot')
+        bot.atUsername = atUsername
+        bot
+    }
 }
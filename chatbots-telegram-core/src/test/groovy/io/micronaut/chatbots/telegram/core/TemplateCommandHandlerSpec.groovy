@@ -0,0 +1,125 @@
+package io.micronaut.chatbots.telegram.core
+
+import io.micronaut.chatbots.core.CommandResponse
+import io.micronaut.chatbots.core.DispatchContext
+import io.micronaut.chatbots.core.FileExtension
+import io.micronaut.chatbots.core.TextResourceLoader
+import io.micronaut.chatbots.telegram.api.Chat
+import io.micronaut.chatbots.telegram.api.Message
+import io.micronaut.chatbots.telegram.api.MessageEntity
+import io.micronaut.chatbots.telegram.api.Update
+import io.micronaut.chatbots.telegram.api.send.ParseMode
+import io.micronaut.chatbots.telegram.api.send.SendMessage
+import io.micronaut.core.annotation.Introspected
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TemplateCommandHandlerSpec extends Specification {
+
+    void "placeholders are rendered with a map model"() {
+        given:
+        TasksHandler handler = new TasksHandler(loader(FileExtension.TXT, 'Hi {first_name}, you have {n} tasks'), [first_name: 'Sergio', n: 3])
+
+        when:
+        SendMessage message = handler.handle(null, update('/tasks')).get()
+
+        then:
+        message.text == 'Hi Sergio, you have 3 tasks'
+        message.chatId == 7L
+    }
+
+    void "placeholders are rendered with an introspected model"() {
+        given:
+        TasksHandler handler = new TasksHandler(loader(FileExtension.MARKDOWN, '*{firstName}* has {tasks} tasks'), new Model(firstName: 'Sergio', tasks: 2))
+
+        expect:
+        handler.handle(null, update('/tasks')).get().text == '*Sergio* has 2 tasks'
+    }
+
+    @Unroll
+    void "values are escaped for the parse mode of a #extension response"(FileExtension extension, String text, String parseMode, String expected) {
+        given:
+        TasksHandler handler = new TasksHandler(loader(extension, text), [name: '<b>_snake_case_ & *[x]*</b>'])
+
+        when:
+        SendMessage message = handler.handle(null, update('/tasks')).get()
+
+        then:
+        message.parseMode == parseMode
+        message.text == expected
+
+        where:
+        extension              | text               | parseMode                     | expected
+        FileExtension.HTML     | '<i>{name}</i>'    | ParseMode.HTML.toString()     | '<i>&lt;b&gt;_snake_case_ &amp; *[x]*&lt;/b&gt;</i>'
+        FileExtension.MARKDOWN | '_{name}_'         | ParseMode.MARKDOWN.toString() | '_<b>\\_snake\\_case\\_ & \\*\\[x]\\*</b>_'
+        FileExtension.TXT      | '{{name} = {name}' | ParseMode.MARKDOWN.toString() | '{name} = <b>\\_snake\\_case\\_ & \\*\\[x]\\*</b>'
+    }
+
+    void "the escaping can be overridden"() {
+        given:
+        TasksHandler handler = new TasksHandler(loader(FileExtension.HTML, 'Hi {name}'), [name: '<b>Sergio</b>']) {
+            @Override
+            protected String escape(ParseMode parseMode, String value) {
+                value
+            }
+        }
+
+        expect:
+        handler.handle(null, update('/tasks')).get().text == 'Hi <b>Sergio</b>'
+    }
+
+    void "other commands are not handled"() {
+        given:
+        TasksHandler handler = new TasksHandler(loader(FileExtension.TXT, 'Hi {name}'), [name: 'Sergio'])
+
+        expect:
+        !handler.canHandle(null, update('/about'))
+        handler.canHandle(null, update('/tasks'))
+    }
+
+    private static TextResourceLoader loader(FileExtension extension, String text) {
+        { String command -> command == '/tasks' ? Optional.of(new CommandResponse(extension, text)) : Optional.empty() } as TextResourceLoader
+    }
+
+    private static Update update(String text) {
+        MessageEntity entity = new MessageEntity()
+        entity.type = TelegramSlashCommandParser.TYPE_BOT_COMMAND
+        entity.offset = 0
+        entity.length = text.length()
+        Chat chat = new Chat()
+        chat.id = 7L
+        Message message = new Message()
+        message.text = text
+        message.entities = [entity]
+        message.chat = chat
+        Update update = new Update()
+        update.message = message
+        update
+    }
+
+    static class TasksHandler extends TemplateCommandHandler {
+
+        private final Object model
+
+        TasksHandler(TextResourceLoader textResourceLoader, Object model) {
+            super(new TelegramSlashCommandParser(), textResourceLoader, new TelegramSpaceParser())
+            this.model = model
+        }
+
+        @Override
+        String getCommand() {
+            '/tasks'
+        }
+
+        @Override
+        protected Object model(DispatchContext<TelegramBotConfiguration, Update> context) {
+            model
+        }
+    }
+
+    @Introspected
+    static class Model {
+        String firstName
+        int tasks
+    }
+}
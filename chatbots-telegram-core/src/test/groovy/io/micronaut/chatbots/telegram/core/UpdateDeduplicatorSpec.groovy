@@ -0,0 +1,112 @@
+package io.micronaut.chatbots.telegram.core
+
+import io.micronaut.chatbots.telegram.api.Update
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+
+class UpdateDeduplicatorSpec extends Specification {
+
+    TelegramBotConfiguration bot = Stub(TelegramBotConfiguration) {
+        getName() >> 'mn-bot'
+    }
+
+    TelegramBotConfiguration otherBot = Stub(TelegramBotConfiguration) {
+        getName() >> 'other-bot'
+    }
+
+    void "deduplication is disabled by default"() {
+        given:
+        UpdateDeduplicationConfigurationProperties configuration = new UpdateDeduplicationConfigurationProperties()
+        UpdateDeduplicator deduplicator = new UpdateDeduplicator(configuration, new InMemoryUpdateIdStore(configuration))
+
+        expect:
+        !deduplicator.isDuplicate(bot, update(1))
+        !deduplicator.isDuplicate(bot, update(1))
+    }
+
+    void "updates are deduplicated per bot"() {
+        given:
+        UpdateDeduplicator deduplicator = deduplicator(4)
+
+        expect:
+        !deduplicator.isDuplicate(bot, update(1))
+        deduplicator.isDuplicate(bot, update(1))
+        !deduplicator.isDuplicate(otherBot, update(1))
+        !deduplicator.isDuplicate(null, update(1))
+        !deduplicator.isDuplicate(bot, new Update())
+    }
+
+    void "the most recent update ids are remembered"() {
+        given:
+        UpdateDeduplicator deduplicator = deduplicator(4)
+        (1..6).each { deduplicator.isDuplicate(bot, update(it)) }
+
+        expect:
+        (3..6).every { deduplicator.isDuplicate(bot, update(it)) }
+
+        and: 'ids older than the window are forgotten'
+        !deduplicator.isDuplicate(bot, update(2))
+    }
+
+    void "a window is restarted when Telegram resets the update ids of a bot"() {
+        given:
+        UpdateDeduplicator deduplicator = deduplicator(4)
+        (1001..1006).each { deduplicator.isDuplicate(bot, update(it)) }
+        deduplicator.isDuplicate(otherBot, update(1006))
+
+        expect:
+        (7..12).every { !deduplicator.isDuplicate(bot, update(it)) }
+        (9..12).every { deduplicator.isDuplicate(bot, update(it)) }
+
+        and: 'the ids of other bots are kept'
+        deduplicator.isDuplicate(otherBot, update(1006))
+    }
+
+    void "a forgotten update is dispatched when it is delivered again"() {
+        given:
+        UpdateDeduplicator deduplicator = deduplicator(4)
+
+        expect:
+        !deduplicator.isDuplicate(bot, update(1))
+        !deduplicator.isDuplicate(bot, update(2))
+
+        when:
+        deduplicator.forget(bot, update(1))
+        deduplicator.forget(otherBot, update(2))
+
+        then:
+        !deduplicator.isDuplicate(bot, update(1))
+        deduplicator.isDuplicate(bot, update(1))
+        deduplicator.isDuplicate(bot, update(2))
+    }
+
+    void "a re-delivered update is dispatched once under concurrency"() {
+        given:
+        UpdateDeduplicator deduplicator = deduplicator(1024)
+        ExecutorService executor = Executors.newFixedThreadPool(8)
+
+        when:
+        List<Future<Boolean>> results = executor.invokeAll((1..64).collect { i -> { -> !deduplicator.isDuplicate(bot, update(i % 8)) } as Callable<Boolean> })
+
+        then:
+        results.count { it.get() } == 8
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    private static UpdateDeduplicator deduplicator(int windowSize) {
+        UpdateDeduplicationConfigurationProperties configuration = new UpdateDeduplicationConfigurationProperties()
+        configuration.enabled = true
+        configuration.windowSize = windowSize
+        new UpdateDeduplicator(configuration, new InMemoryUpdateIdStore(configuration))
+    }
+
+    private static Update update(int updateId) {
+        new Update().tap { it.updateId = updateId }
+    }
+}
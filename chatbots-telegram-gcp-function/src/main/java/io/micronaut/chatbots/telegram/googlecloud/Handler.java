@@ -20,9 +20,12 @@ import com.google.cloud.functions.HttpRequest;
 import com.google.cloud.functions.HttpResponse;
 import io.micronaut.chatbots.core.Dispatcher;
 import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.chatbots.telegram.api.send.PreSerializedSendMessage;
 import io.micronaut.chatbots.telegram.api.send.Send;
 import io.micronaut.chatbots.telegram.core.TelegramBotConfiguration;
 import io.micronaut.chatbots.telegram.core.TokenValidator;
+import io.micronaut.chatbots.telegram.core.UpdateDecoder;
+import io.micronaut.chatbots.telegram.core.UpdateDeduplicator;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.function.executor.FunctionInitializer;
 import io.micronaut.http.HttpStatus;
@@ -55,6 +58,12 @@ public class Handler extends FunctionInitializer implements HttpFunction {
     @Inject
     ObjectMapper objectMapper;
 
+    @Inject
+    UpdateDeduplicator updateDeduplicator;
+
+    @Inject
+    UpdateDecoder updateDecoder;
+
     @Override
     public void service(HttpRequest request, HttpResponse response) throws Exception {
         Optional<List<String>> headerValues = parseHeader(request, TokenValidator.X_TELEGRAM_BOT_API_SECRET_TOKEN);
@@ -65,18 +74,34 @@ public class Handler extends FunctionInitializer implements HttpFunction {
                 if (botOptional.isPresent()) {
                     TelegramBotConfiguration bot = botOptional.get();
                     try {
-                        Update update = objectMapper.readValue(request.getInputStream(), Update.class);
+                        Update update = updateDecoder.decode(request.getInputStream().readAllBytes());
                         if (update == null) {
                             LOG.warn("could not serialize request to Update");
                             statusCode = HttpStatus.UNPROCESSABLE_ENTITY.getCode();
                             break;
                         }
-                        Optional<Send> sendOptional = dispatcher.dispatch(bot, update);
+                        if (updateDeduplicator.isDuplicate(bot, update)) {
+                            LOG.trace("update {} already dispatched", update.getUpdateId());
+                            statusCode = HttpStatus.OK.getCode();
+                            break;
+                        }
+                        Optional<Send> sendOptional;
+                        try {
+                            sendOptional = dispatcher.dispatchAsync(bot, update).toCompletableFuture().join();
+                        } catch (RuntimeException e) {
+                            updateDeduplicator.forget(bot, update);
+                            throw e;
+                        }
                         if (sendOptional.isPresent()) {
                             Send send = sendOptional.get();
                             response.setContentType(MediaType.APPLICATION_JSON);
                             OutputStream outputStream = response.getOutputStream();
-                            objectMapper.writeValue(outputStream, send);
+                            Optional<byte[]> json = send instanceof PreSerializedSendMessage message ? message.toJson() : Optional.empty();
+                            if (json.isPresent()) {
+                                outputStream.write(json.get());
+                            } else {
+                                objectMapper.writeValue(outputStream, send);
+                            }
                         }
                         statusCode = HttpStatus.OK.getCode();
                         break;
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.http;
+
+import io.micronaut.chatbots.telegram.api.LazyUpdates;
+import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.chatbots.telegram.core.LazyUpdatesConfiguration;
+import io.micronaut.chatbots.telegram.core.UpdateDecoder;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.type.Headers;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.body.TypedMessageBodyReader;
+import io.micronaut.http.codec.CodecException;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the body of requests bound to {@link Update} with {@link LazyUpdates}, so that {@link TelegramController} does not bind the whole message graph.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Requires(property = LazyUpdatesConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE)
+@Consumes(MediaType.APPLICATION_JSON)
+@Singleton
+public class LazyUpdateBodyReader implements TypedMessageBodyReader<Update> {
+
+    private static final Argument<Update> TYPE = Argument.of(Update.class);
+
+    private final UpdateDecoder updateDecoder;
+
+    /**
+     *
+     * @param updateDecoder Update decoder
+     */
+    public LazyUpdateBodyReader(UpdateDecoder updateDecoder) {
+        this.updateDecoder = updateDecoder;
+    }
+
+    @Override
+    @NonNull
+    public Argument<Update> getType() {
+        return TYPE;
+    }
+
+    @Override
+    public Update read(Argument<Update> type, MediaType mediaType, Headers httpHeaders, ByteBuffer<?> byteBuffer) throws CodecException {
+        return decode(byteBuffer.toByteArray());
+    }
+
+    @Override
+    public Update read(Argument<Update> type, MediaType mediaType, Headers httpHeaders, InputStream inputStream) throws CodecException {
+        try {
+            return decode(inputStream.readAllBytes());
+        } catch (IOException e) {
+            throw new CodecException("Error reading update: " + e.getMessage(), e);
+        }
+    }
+
+    private Update decode(byte[] json) throws CodecException {
+        try {
+            return updateDecoder.decode(json);
+        } catch (IOException e) {
+            throw new CodecException("Error decoding update: " + e.getMessage(), e);
+        }
+    }
+}
@@ -17,20 +17,31 @@ package io.micronaut.chatbots.telegram.http;
 
 import io.micronaut.chatbots.core.Dispatcher;
 import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.chatbots.telegram.api.send.PreSerializedSendMessage;
 import io.micronaut.chatbots.telegram.api.send.Send;
+import io.micronaut.chatbots.telegram.core.ChatLanes;
 import io.micronaut.chatbots.telegram.core.TelegramBotConfiguration;
 import io.micronaut.chatbots.telegram.core.TokenValidator;
+import io.micronaut.chatbots.telegram.core.UpdateDeduplicator;
 import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Header;
 import io.micronaut.http.annotation.Post;
+import jakarta.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Defines a route to handle the Telegram Chatbot webhook.
@@ -45,6 +56,12 @@ public class TelegramController {
     private final TokenValidator tokenValidator;
     private final Dispatcher<TelegramBotConfiguration, Update, Send> dispatcher;
 
+    @Nullable
+    private final UpdateDeduplicator updateDeduplicator;
+
+    @Nullable
+    private final ChatLanes chatLanes;
+
     /**
      *
      * @param tokenValidator TokenValidator
@@ -52,26 +69,100 @@ public class TelegramController {
      */
     public TelegramController(TokenValidator tokenValidator,
                               Dispatcher<TelegramBotConfiguration, Update, Send> dispatcher) {
+        this(tokenValidator, dispatcher, null);
+    }
+
+    /**
+     *
+     * @param tokenValidator TokenValidator
+     * @param dispatcher Message dispatcher
+     * @param updateDeduplicator Drops updates re-delivered by Telegram
+     * @since 1.3.0
+     */
+    public TelegramController(TokenValidator tokenValidator,
+                              Dispatcher<TelegramBotConfiguration, Update, Send> dispatcher,
+                              @Nullable UpdateDeduplicator updateDeduplicator) {
+        this(tokenValidator, dispatcher, updateDeduplicator, null);
+    }
+
+    /**
+     *
+     * @param tokenValidator TokenValidator
+     * @param dispatcher Message dispatcher
+     * @param updateDeduplicator Drops updates re-delivered by Telegram
+     * @param chatLanes Dispatches the updates of a chat in order
+     * @since 1.3.0
+     */
+    @Inject
+    public TelegramController(TokenValidator tokenValidator,
+                              Dispatcher<TelegramBotConfiguration, Update, Send> dispatcher,
+                              @Nullable UpdateDeduplicator updateDeduplicator,
+                              @Nullable ChatLanes chatLanes) {
         this.tokenValidator = tokenValidator;
         this.dispatcher = dispatcher;
+        this.updateDeduplicator = updateDeduplicator;
+        this.chatLanes = chatLanes;
     }
 
     /**
      * @see <a href="https://core.telegram.org/bots/api#setwebhook">setWebhook</a>
      * @param apiSecretToken A secret token to be sent in a header “X-Telegram-Bot-Api-Secret-Token” in every webhook request.
      * @param update Telegram Message
-     * @return HTTP Response. It could 200 OK with an empty body if the request is handle asynchronously or a 200 with the response payload if the request is handled synchronously.
+     * @return HTTP Response. It could 200 OK with an empty body if the request is handle asynchronously or a 200 with the response payload if the request is handled synchronously. The response completes once the handler completes without blocking the event loop. A {@link PreSerializedSendMessage} payload is written from its cached JSON encoding. If the lane of the update's chat is full, it responds 503 so that Telegram delivers the update again. An update whose dispatch fails or is rejected is forgotten by the deduplicator, so that its re-delivery is dispatched.
      */
     @Post
-    public HttpResponse<Send> callback(@Header(TokenValidator.X_TELEGRAM_BOT_API_SECRET_TOKEN) String apiSecretToken,
+    public CompletableFuture<HttpResponse<?>> callback(@Header(TokenValidator.X_TELEGRAM_BOT_API_SECRET_TOKEN) String apiSecretToken,
                                     @Body Update update) {
         Optional<TelegramBotConfiguration> botOptional = tokenValidator.validate(apiSecretToken);
         if (botOptional.isEmpty()) {
             LOG.trace("not bot with token that matches token");
-            return HttpResponse.unauthorized();
+            return CompletableFuture.completedFuture(HttpResponse.unauthorized());
+        }
+        if (updateDeduplicator != null && updateDeduplicator.isDuplicate(botOptional.get(), update)) {
+            LOG.trace("update {} already dispatched", update.getUpdateId());
+            return CompletableFuture.completedFuture(HttpResponse.ok());
+        }
+        TelegramBotConfiguration bot = botOptional.get();
+        CompletionStage<Optional<Send>> dispatched;
+        try {
+            dispatched = chatLanes != null
+                ? chatLanes.submit(update, () -> dispatcher.dispatchAsync(bot, update))
+                : dispatcher.dispatchAsync(bot, update);
+        } catch (RuntimeException e) {
+            forget(bot, update);
+            throw e;
+        }
+        return dispatched
+            .toCompletableFuture()
+            .handle((sendOptional, e) -> {
+                if (e != null) {
+                    forget(bot, update);
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof RejectedExecutionException) {
+                        LOG.warn("lane of update {} is full", update.getUpdateId());
+                        return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE);
+                    }
+                    throw e instanceof CompletionException completionException ? completionException : new CompletionException(e);
+                }
+                return sendOptional
+                    .<HttpResponse<?>>map(TelegramController::ok)
+                    .orElseGet(HttpResponse::ok);
+            });
+    }
+
+    private void forget(TelegramBotConfiguration bot, Update update) {
+        if (updateDeduplicator != null) {
+            updateDeduplicator.forget(bot, update);
+        }
+    }
+
+    private static HttpResponse<?> ok(Send send) {
+        if (send instanceof PreSerializedSendMessage message) {
+            Optional<byte[]> json = message.toJson();
+            if (json.isPresent()) {
+                return HttpResponse.ok(json.get()).contentType(MediaType.APPLICATION_JSON_TYPE);
+            }
         }
-        return dispatcher.dispatch(botOptional.get(), update)
-            .map(HttpResponse::ok)
-            .orElseGet(HttpResponse::ok);
+        return HttpResponse.ok(send);
     }
 }
@@ -0,0 +1,160 @@
+package io.micronaut.chatbots.telegram.http
+
+import io.micronaut.chatbots.core.SpaceParser
+import io.micronaut.chatbots.telegram.api.Chat
+import io.micronaut.chatbots.telegram.api.Update
+import io.micronaut.chatbots.telegram.api.send.SendMessage
+import io.micronaut.chatbots.telegram.core.ChatLanes
+import io.micronaut.chatbots.telegram.core.ChatLanesConfiguration
+import io.micronaut.chatbots.telegram.core.SendMessageUtils
+import io.micronaut.chatbots.telegram.core.TelegramBotConfiguration
+import io.micronaut.chatbots.telegram.core.TelegramHandler
+import io.micronaut.chatbots.telegram.core.TokenValidator
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Replaces
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.annotation.NonNull
+import io.micronaut.core.annotation.Nullable
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.client.BlockingHttpClient
+import io.micronaut.http.client.HttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.scheduling.TaskExecutors
+import jakarta.inject.Named
+import jakarta.inject.Singleton
+import jakarta.validation.constraints.NotNull
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Supplier
+
+class TelegramControllerDeduplicationSpec extends Specification {
+
+    void "re-delivered updates are acknowledged without being dispatched again"(boolean enabled, int expectedCalls) {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': 'TelegramControllerDeduplicationSpec',
+                'micronaut.chatbots.telegram.bots.mn-bot.token': 'xxx',
+                'micronaut.chatbots.telegram.bots.mn-bot.at-username': '@MnBot',
+                'micronaut.chatbots.telegram.deduplication.enabled': enabled
+        ])
+        HttpClient httpClient = server.applicationContext.createBean(HttpClient.class, server.URL)
+        BlockingHttpClient client = httpClient.toBlocking()
+        String update = new File('src/test/resources/text.json').text
+
+        when:
+        List<HttpResponse<String>> responses = (1..3).collect {
+            client.exchange(HttpRequest.POST('/telegram', update)
+                    .header(TokenValidator.X_TELEGRAM_BOT_API_SECRET_TOKEN, 'xxx'), String)
+        }
+
+        then:
+        responses.every { it.status() == HttpStatus.OK }
+        server.applicationContext.getBean(CountingHandler).calls.get() == expectedCalls
+
+        cleanup:
+        httpClient.close()
+        server.close()
+
+        where:
+        enabled | expectedCalls
+        true    | 1
+        false   | 3
+    }
+
+    void "an update rejected with 503 is dispatched when it is sent again"() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': 'TelegramControllerDeduplicationSpec',
+                'spec.lanes': 'rejecting',
+                'micronaut.chatbots.telegram.bots.mn-bot.token': 'xxx',
+                'micronaut.chatbots.telegram.bots.mn-bot.at-username': '@MnBot',
+                'micronaut.chatbots.telegram.deduplication.enabled': true
+        ])
+        HttpClient httpClient = server.applicationContext.createBean(HttpClient.class, server.URL)
+        BlockingHttpClient client = httpClient.toBlocking()
+        HttpRequest<String> request = HttpRequest.POST('/telegram', new File('src/test/resources/text.json').text)
+                .header(TokenValidator.X_TELEGRAM_BOT_API_SECRET_TOKEN, 'xxx')
+
+        when:
+        client.exchange(request, String)
+
+        then:
+        HttpClientResponseException e = thrown()
+        e.status == HttpStatus.SERVICE_UNAVAILABLE
+        server.applicationContext.getBean(CountingHandler).calls.get() == 0
+
+        when:
+        HttpResponse<String> response = client.exchange(request, String)
+
+        then:
+        response.status() == HttpStatus.OK
+        server.applicationContext.getBean(CountingHandler).calls.get() == 1
+
+        when:
+        response = client.exchange(request, String)
+
+        then:
+        response.status() == HttpStatus.OK
+        server.applicationContext.getBean(CountingHandler).calls.get() == 1
+
+        cleanup:
+        httpClient.close()
+        server.close()
+    }
+
+    @Requires(property = "spec.name", value = "TelegramControllerDeduplicationSpec")
+    @Requires(property = "spec.lanes", value = "rejecting")
+    @Replaces(ChatLanes)
+    @Singleton
+    static class RejectingChatLanes extends ChatLanes {
+
+        private final AtomicInteger rejections = new AtomicInteger(1)
+
+        RejectingChatLanes(ChatLanesConfiguration configuration,
+                           SpaceParser<Update, Chat> spaceParser,
+                           @Named(TaskExecutors.BLOCKING) ExecutorService executor) {
+            super(configuration, spaceParser, executor)
+        }
+
+        @Override
+        <T> CompletionStage<T> submit(@NonNull Update update, @NonNull Supplier<? extends CompletionStage<T>> work) {
+            rejections.getAndDecrement() > 0
+                    ? CompletableFuture.<T>failedFuture(new RejectedExecutionException('lane is full'))
+                    : super.submit(update, work)
+        }
+    }
+
+    @Requires(property = "spec.name", value = "TelegramControllerDeduplicationSpec")
+    @Singleton
+    static class CountingHandler implements TelegramHandler<SendMessage> {
+
+        final AtomicInteger calls = new AtomicInteger()
+
+        private final SpaceParser<Update, Chat> spaceParser
+
+        CountingHandler(SpaceParser<Update, Chat> spaceParser) {
+            this.spaceParser = spaceParser
+        }
+
+        @Override
+        boolean canHandle(@Nullable TelegramBotConfiguration telegramBotConfiguration,
+                          @NonNull @NotNull Update update) {
+            true
+        }
+
+        @Override
+        Optional<SendMessage> handle(@Nullable TelegramBotConfiguration telegramBotConfiguration,
+                                     @NonNull @NotNull Update update) {
+            calls.incrementAndGet()
+            SendMessageUtils.compose(spaceParser, update, "Hello World")
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.micronaut.chatbots.telegram.http
+
+import io.micronaut.chatbots.telegram.api.Update
+import io.micronaut.chatbots.telegram.api.send.SendMessage
+import io.micronaut.chatbots.telegram.core.TelegramBotConfiguration
+import io.micronaut.chatbots.telegram.core.TelegramHandler
+import io.micronaut.chatbots.telegram.core.TokenValidator
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.annotation.NonNull
+import io.micronaut.core.annotation.Nullable
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.client.BlockingHttpClient
+import io.micronaut.http.client.HttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import jakarta.inject.Singleton
+import jakarta.validation.constraints.NotNull
+import spock.lang.Specification
+
+class TelegramControllerLazyUpdatesSpec extends Specification {
+
+    void "updates are decoded lazily if enabled"(boolean enabled, String expectedMessageType) {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': 'TelegramControllerLazyUpdatesSpec',
+                'micronaut.chatbots.telegram.bots.mn-bot.token': 'xxx',
+                'micronaut.chatbots.telegram.bots.mn-bot.at-username': '@MnBot',
+                'micronaut.chatbots.telegram.lazy-updates.enabled': enabled
+        ])
+        HttpClient httpClient = server.applicationContext.createBean(HttpClient.class, server.URL)
+        BlockingHttpClient client = httpClient.toBlocking()
+        String update = new File('src/test/resources/text.json').text
+
+        when:
+        HttpResponse<String> response = client.exchange(HttpRequest.POST('/telegram', update)
+                .header(TokenValidator.X_TELEGRAM_BOT_API_SECRET_TOKEN, 'xxx'), String)
+        RecordingHandler handler = server.applicationContext.getBean(RecordingHandler)
+
+        then:
+        response.status() == HttpStatus.OK
+        handler.messageType == expectedMessageType
+        handler.text == 'hello world'
+
+        cleanup:
+        httpClient.close()
+        server.close()
+
+        where:
+        enabled | expectedMessageType
+        true    | 'LazyMessage'
+        false   | 'Message'
+    }
+
+    @Requires(property = "spec.name", value = "TelegramControllerLazyUpdatesSpec")
+    @Singleton
+    static class RecordingHandler implements TelegramHandler<SendMessage> {
+
+        String messageType
+
+        String text
+
+        @Override
+        boolean canHandle(@Nullable TelegramBotConfiguration telegramBotConfiguration,
+                          @NonNull @NotNull Update update) {
+            true
+        }
+
+        @Override
+        Optional<SendMessage> handle(@Nullable TelegramBotConfiguration telegramBotConfiguration,
+                                     @NonNull @NotNull Update update) {
+            messageType = update.message.class.simpleName
+            text = update.message.text
+            Optional.empty()
+        }
+    }
+}
@@ -23,13 +23,18 @@ import io.micronaut.chatbots.telegram.api.Update;
 import io.micronaut.chatbots.telegram.api.send.Send;
 import io.micronaut.chatbots.telegram.core.TelegramBotConfiguration;
 import io.micronaut.chatbots.telegram.core.TokenValidator;
+import io.micronaut.chatbots.telegram.core.UpdateDecoder;
+import io.micronaut.chatbots.telegram.core.UpdateDeduplicator;
 import io.micronaut.context.ApplicationContext;
 import io.micronaut.context.ApplicationContextBuilder;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.serde.ObjectMapper;
 import jakarta.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 /**
@@ -48,6 +53,12 @@ public class Handler extends AbstractHandler<TelegramBotConfiguration, Update, S
     @Inject
     Dispatcher<TelegramBotConfiguration, Update, Send> dispatcher;
 
+    @Inject
+    UpdateDeduplicator updateDeduplicator;
+
+    @Inject
+    UpdateDecoder updateDecoder;
+
     /**
      * Default constructor; will initialize a suitable ApplicationContext for Lambda deployment.
      */
@@ -98,6 +109,21 @@ public class Handler extends AbstractHandler<TelegramBotConfiguration, Update, S
         return botOptional;
     }
 
+    @Override
+    protected boolean isDuplicate(@Nullable TelegramBotConfiguration bot, @NonNull Update input) {
+        return updateDeduplicator.isDuplicate(bot, input);
+    }
+
+    @Override
+    protected void forget(@Nullable TelegramBotConfiguration bot, @NonNull Update input) {
+        updateDeduplicator.forget(bot, input);
+    }
+
+    @Override
+    protected Update readInput(String body) throws IOException {
+        return updateDecoder.decode(body.getBytes(StandardCharsets.UTF_8));
+    }
+
     @NonNull
     @Override
     protected APIGatewayProxyResponseEvent okSerializer(@NonNull Object body) {
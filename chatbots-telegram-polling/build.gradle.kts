@@ -0,0 +1,10 @@
+plugins {
+    id("io.micronaut.build.internal.chatbots-module")
+}
+
+dependencies {
+    annotationProcessor(mnSerde.micronaut.serde.processor)
+    api(projects.micronautChatbotsTelegramCore)
+    implementation(mn.micronaut.http.client)
+    testImplementation(mn.micronaut.http.server.netty)
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.polling;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link UpdateOffsetStore} which keeps offsets in memory and, if {@link TelegramPollingConfiguration#getOffsetDirectory()} is set, writes the offset of each bot to the file {@code <bot name>.offset} in that folder.
+ * Files are replaced atomically, thus a crash leaves either the previous or the new offset.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Singleton
+public class FileUpdateOffsetStore implements UpdateOffsetStore {
+
+    private static final String EXTENSION = ".offset";
+
+    private final Map<String, Long> offsets = new ConcurrentHashMap<>();
+
+    @Nullable
+    private final Path directory;
+
+    /**
+     *
+     * @param configuration Telegram polling configuration
+     */
+    public FileUpdateOffsetStore(TelegramPollingConfiguration configuration) {
+        this.directory = configuration.getOffsetDirectory() != null ? Path.of(configuration.getOffsetDirectory()) : null;
+    }
+
+    @Override
+    public long getOffset(@NonNull String botName) {
+        return offsets.computeIfAbsent(botName, this::read);
+    }
+
+    @Override
+    public void setOffset(@NonNull String botName, long offset) {
+        offsets.put(botName, offset);
+        if (directory != null) {
+            write(botName, offset);
+        }
+    }
+
+    private long read(@NonNull String botName) {
+        if (directory == null) {
+            return 0;
+        }
+        Path file = directory.resolve(botName + EXTENSION);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(Files.readString(file, StandardCharsets.UTF_8).trim());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading offset file " + file, e);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Offset file " + file + " does not contain a number", e);
+        }
+    }
+
+    private void write(@NonNull String botName, long offset) {
+        Path file = directory.resolve(botName + EXTENSION);
+        try {
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, botName, EXTENSION);
+            Files.writeString(temporary, Long.toString(offset), StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing offset file " + file, e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.polling;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+/**
+ * Response of the Telegram Bot API <a href="https://core.telegram.org/bots/api#getupdates">getUpdates</a> method.
+ * @param ok Whether the request was successful
+ * @param result Updates
+ * @param description Human-readable description of the error
+ * @param errorCode Error code
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Internal
+@Serdeable
+record GetUpdatesResponse(boolean ok,
+                          @Nullable List<Update> result,
+                          @Nullable String description,
+                          @Nullable @JsonProperty("error_code") Integer errorCode) {
+}
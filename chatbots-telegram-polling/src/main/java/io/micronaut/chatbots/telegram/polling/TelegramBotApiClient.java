@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.polling;
+
+import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.chatbots.telegram.api.send.PreSerializedSendMessage;
+import io.micronaut.chatbots.telegram.api.send.Send;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.client.BlockingHttpClient;
+import io.micronaut.http.client.DefaultHttpClientConfiguration;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.json.JsonMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Blocking client of the Telegram Bot API. Requests and responses are encoded with the application's {@link JsonMapper}, thus the HTTP client only exchanges bytes.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Internal
+final class TelegramBotApiClient implements Closeable {
+
+    private static final Duration READ_TIMEOUT_MARGIN = Duration.ofSeconds(10);
+    private static final String GET_UPDATES = "getUpdates";
+    private static final Argument<GetUpdatesResponse> GET_UPDATES_RESPONSE = Argument.of(GetUpdatesResponse.class);
+
+    private final HttpClient httpClient;
+    private final BlockingHttpClient blockingClient;
+    private final JsonMapper jsonMapper;
+
+    TelegramBotApiClient(@NonNull String apiUrl,
+                         @NonNull Duration pollingTimeout,
+                         @NonNull JsonMapper jsonMapper) {
+        DefaultHttpClientConfiguration configuration = new DefaultHttpClientConfiguration();
+        configuration.setReadTimeout(pollingTimeout.plus(READ_TIMEOUT_MARGIN));
+        try {
+            this.httpClient = HttpClient.create(new URL(apiUrl), configuration);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid Telegram Bot API URL " + apiUrl, e);
+        }
+        this.blockingClient = httpClient.toBlocking();
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Long polls the updates of a bot.
+     * @param token Bot token
+     * @param offset Identifier of the first update to be returned or 0 to start with the earliest unconfirmed update
+     * @param limit Maximum number of updates
+     * @param timeout Long polling timeout
+     * @return Updates
+     */
+    @NonNull
+    List<Update> getUpdates(@NonNull String token, long offset, int limit, @NonNull Duration timeout) {
+        Map<String, Object> parameters = new LinkedHashMap<>(4);
+        if (offset > 0) {
+            parameters.put("offset", offset);
+        }
+        parameters.put("limit", limit);
+        parameters.put("timeout", timeout.toSeconds());
+        byte[] body = post(token, GET_UPDATES, write(parameters));
+        GetUpdatesResponse response;
+        try {
+            response = jsonMapper.readValue(body, GET_UPDATES_RESPONSE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading getUpdates response", e);
+        }
+        if (!response.ok()) {
+            throw new IllegalStateException("getUpdates failed with error " + response.errorCode() + ": " + response.description());
+        }
+        return response.result() != null ? response.result() : Collections.emptyList();
+    }
+
+    /**
+     * Invokes the method of the supplied {@link Send}.
+     * @param token Bot token
+     * @param send The message to send
+     */
+    void send(@NonNull String token, @NonNull Send send) {
+        Optional<byte[]> json = send instanceof PreSerializedSendMessage message ? message.toJson() : Optional.empty();
+        post(token, send.getMethod(), json.isPresent() ? json.get() : write(send));
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+
+    @NonNull
+    private byte[] post(@NonNull String token, @NonNull String method, @NonNull byte[] body) {
+        HttpRequest<byte[]> request = HttpRequest.POST("/bot" + token + "/" + method, body)
+            .contentType(MediaType.APPLICATION_JSON_TYPE)
+            .accept(MediaType.APPLICATION_JSON_TYPE);
+        return blockingClient.retrieve(request, byte[].class);
+    }
+
+    @NonNull
+    private byte[] write(@NonNull Object value) {
+        try {
+            return jsonMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing Telegram Bot API request", e);
+        }
+    }
+}
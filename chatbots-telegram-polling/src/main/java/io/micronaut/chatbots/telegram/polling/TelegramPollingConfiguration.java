@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.polling;
+
+import io.micronaut.chatbots.core.ChatbotsConfiguration;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.Toggleable;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the ingestion of Telegram updates with <a href="https://core.telegram.org/bots/api#getupdates">getUpdates</a>.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+public interface TelegramPollingConfiguration extends Toggleable {
+    /**
+     * The prefix for Telegram polling configuration.
+     */
+    String PREFIX = ChatbotsConfiguration.PREFIX + ".telegram.polling";
+
+    /**
+     *
+     * @return The base URL of the Telegram Bot API.
+     */
+    @NonNull
+    String getApiUrl();
+
+    /**
+     *
+     * @return The maximum number of updates requested per call to getUpdates.
+     */
+    int getLimit();
+
+    /**
+     *
+     * @return How long Telegram holds a getUpdates call open while there are no updates.
+     */
+    @NonNull
+    Duration getTimeout();
+
+    /**
+     *
+     * @return The maximum number of updates being dispatched at once across every bot.
+     */
+    int getMaxInFlight();
+
+    /**
+     *
+     * @return How long to wait before calling getUpdates again after a failed call, or after an update is rejected or its handling fails.
+     */
+    @NonNull
+    Duration getRetryDelay();
+
+    /**
+     *
+     * @return How many times an update whose handling fails is dispatched before it is skipped.
+     */
+    int getMaxAttempts();
+
+    /**
+     *
+     * @return The folder where {@link FileUpdateOffsetStore} persists the offset of each bot or null to keep the offsets in memory.
+     */
+    @Nullable
+    String getOffsetDirectory();
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.polling;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.Duration;
+
+/**
+ * {@link ConfigurationProperties} implementation of {@link TelegramPollingConfiguration}.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@ConfigurationProperties(TelegramPollingConfiguration.PREFIX)
+public class TelegramPollingConfigurationProperties implements TelegramPollingConfiguration {
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default Telegram Bot API URL.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final String DEFAULT_API_URL = "https://api.telegram.org";
+
+    /**
+     * The default maximum number of updates per call to getUpdates.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_LIMIT = 100;
+
+    /**
+     * The default long polling timeout in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_TIMEOUT_SECONDS = 30;
+
+    /**
+     * The default maximum number of updates being dispatched at once.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MAX_IN_FLIGHT = 64;
+
+    /**
+     * The default delay in seconds after a failed call to getUpdates.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_RETRY_DELAY_SECONDS = 5;
+
+    /**
+     * The default number of times an update whose handling fails is dispatched.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    private boolean enabled = DEFAULT_ENABLED;
+
+    @NonNull
+    private String apiUrl = DEFAULT_API_URL;
+
+    private int limit = DEFAULT_LIMIT;
+
+    @NonNull
+    private Duration timeout = Duration.ofSeconds(DEFAULT_TIMEOUT_SECONDS);
+
+    private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+
+    @NonNull
+    private Duration retryDelay = Duration.ofSeconds(DEFAULT_RETRY_DELAY_SECONDS);
+
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+    @Nullable
+    private String offsetDirectory;
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether updates are fetched with getUpdates. Telegram rejects getUpdates calls while a webhook is set. Default value ({@value #DEFAULT_ENABLED}).
+     *
+     * @param enabled True if updates are polled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    @NonNull
+    public String getApiUrl() {
+        return apiUrl;
+    }
+
+    /**
+     * The base URL of the Telegram Bot API. Default value ({@value #DEFAULT_API_URL}).
+     *
+     * @param apiUrl Telegram Bot API URL
+     */
+    public void setApiUrl(@NonNull @NotBlank String apiUrl) {
+        this.apiUrl = apiUrl;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * The maximum number of updates requested per call to getUpdates, between 1 and 100. Default value ({@value #DEFAULT_LIMIT}).
+     *
+     * @param limit Maximum number of updates
+     */
+    public void setLimit(@Min(1) @Max(100) int limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    @NonNull
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * How long Telegram holds a getUpdates call open while there are no updates. Default value ({@value #DEFAULT_TIMEOUT_SECONDS} seconds).
+     *
+     * @param timeout Long polling timeout
+     */
+    public void setTimeout(@NonNull @NotNull Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * The maximum number of updates being dispatched at once across every bot. Default value ({@value #DEFAULT_MAX_IN_FLIGHT}).
+     *
+     * @param maxInFlight Maximum number of updates being dispatched
+     */
+    public void setMaxInFlight(@Positive int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    @NonNull
+    public Duration getRetryDelay() {
+        return retryDelay;
+    }
+
+    /**
+     * How long to wait before calling getUpdates again after a failed call, or after an update is rejected or its handling fails. Default value ({@value #DEFAULT_RETRY_DELAY_SECONDS} seconds).
+     *
+     * @param retryDelay Delay after a failure
+     */
+    public void setRetryDelay(@NonNull @NotNull Duration retryDelay) {
+        this.retryDelay = retryDelay;
+    }
+
+    @Override
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * How many times an update whose handling fails is dispatched before it is skipped. Updates rejected by a full chat lane are retried without limit. Default value ({@value #DEFAULT_MAX_ATTEMPTS}).
+     *
+     * @param maxAttempts Maximum number of attempts
+     */
+    public void setMaxAttempts(@Positive int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    @Nullable
+    public String getOffsetDirectory() {
+        return offsetDirectory;
+    }
+
+    /**
+     * The folder where the offset of each bot is persisted, so that polling resumes after a restart. If not set, offsets are kept in memory.
+     *
+     * @param offsetDirectory Offset folder
+     */
+    public void setOffsetDirectory(@Nullable String offsetDirectory) {
+        this.offsetDirectory = offsetDirectory;
+    }
+}
@@ -0,0 +1,430 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.polling;
+
+import io.micronaut.chatbots.core.DeadlineFuture;
+import io.micronaut.chatbots.core.Dispatcher;
+import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.chatbots.telegram.api.send.Send;
+import io.micronaut.chatbots.telegram.core.ChatLanes;
+import io.micronaut.chatbots.telegram.core.TelegramBotConfiguration;
+import io.micronaut.chatbots.telegram.core.TelegramBotRegistry;
+import io.micronaut.chatbots.telegram.core.TelegramBotRegistryConfiguration;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.runtime.context.scope.refresh.RefreshEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.TaskScheduler;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Fetches the updates of every enabled bot with <a href="https://core.telegram.org/bots/api#getupdates">getUpdates</a> and dispatches them. It is an alternative to the webhook for bots which Telegram cannot reach.
+ * Each bot is long polled by a dedicated daemon thread. The updates of a batch are dispatched on the blocking executor, with at most {@link TelegramPollingConfiguration#getMaxInFlight()} updates being dispatched at once across every bot, and the handlers' outputs are sent to the Telegram Bot API. If {@link ChatLanes} are enabled, the updates of a chat are dispatched and replied to one after another.
+ * The offset is stored once every update of the batch has been handled, so updates are handled at least once. An update whose handling fails is dispatched again on its own after {@link TelegramPollingConfiguration#getRetryDelay()}, and skipped once its handling failed {@link TelegramPollingConfiguration#getMaxAttempts()} times, so the other updates of the batch are not handled again. If a chat lane rejects an update, the offset stops at that update and the batch is fetched again from it after the retry delay. Thus, the updates of the batch which follow it may be handled more than once.
+ * Bots are read from the {@link TelegramBotRegistry} beans on startup, and read again on a {@link RefreshEvent} and, if {@link TelegramBotRegistryConfiguration#getRefreshInterval()} is set, once the interval elapses. Polling starts for the bots which were added or enabled and stops for the bots which were removed or disabled. A bot whose token changed is polled again with the new token.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@Requires(property = TelegramPollingConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE)
+@Singleton
+public class TelegramUpdatePoller implements ApplicationEventListener<RefreshEvent>, Ordered {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TelegramUpdatePoller.class);
+    private static final String THREAD_NAME_PREFIX = "chatbots-telegram-poller-";
+
+    private final List<TelegramBotRegistry> registries;
+    private final TelegramBotRegistryConfiguration registryConfiguration;
+    private final TaskScheduler scheduler;
+    private final Dispatcher<TelegramBotConfiguration, Update, Send> dispatcher;
+    private final UpdateOffsetStore offsetStore;
+    private final TelegramPollingConfiguration configuration;
+    private final JsonMapper jsonMapper;
+    private final ExecutorService executor;
+    private final ChatLanes chatLanes;
+    private final Semaphore inFlight;
+    private final Map<String, Poller> pollers = new HashMap<>();
+
+    @Nullable
+    private TelegramBotApiClient client;
+
+    @Nullable
+    private ScheduledFuture<?> refreshTask;
+
+    private volatile boolean running;
+
+    /**
+     *
+     * @param registries Telegram bot registries
+     * @param registryConfiguration Telegram bot registry configuration
+     * @param scheduler Scheduler which reads the bots again once the registry refresh interval elapses
+     * @param dispatcher Message dispatcher
+     * @param offsetStore Offset store
+     * @param configuration Telegram polling configuration
+     * @param jsonMapper JSON Mapper
+     * @param executor Executor where updates are dispatched
+     * @param chatLanes Dispatches the updates of a chat in order
+     */
+    public TelegramUpdatePoller(List<TelegramBotRegistry> registries,
+                                TelegramBotRegistryConfiguration registryConfiguration,
+                                @Named(TaskExecutors.SCHEDULED) TaskScheduler scheduler,
+                                Dispatcher<TelegramBotConfiguration, Update, Send> dispatcher,
+                                UpdateOffsetStore offsetStore,
+                                TelegramPollingConfiguration configuration,
+                                JsonMapper jsonMapper,
+                                @Named(TaskExecutors.BLOCKING) ExecutorService executor,
+                                ChatLanes chatLanes) {
+        this.registries = registries;
+        this.registryConfiguration = registryConfiguration;
+        this.scheduler = scheduler;
+        this.dispatcher = dispatcher;
+        this.offsetStore = offsetStore;
+        this.configuration = configuration;
+        this.jsonMapper = jsonMapper;
+        this.executor = executor;
+        this.chatLanes = chatLanes;
+        this.inFlight = new Semaphore(configuration.getMaxInFlight());
+    }
+
+    /**
+     * Starts polling on startup.
+     * @param event Startup event
+     */
+    @EventListener
+    public void onStartup(StartupEvent event) {
+        start();
+    }
+
+    @Override
+    public void onApplicationEvent(RefreshEvent event) {
+        refresh();
+    }
+
+    /**
+     * Runs after other listeners, so that refreshed registries are read.
+     * @return The lowest precedence
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    /**
+     * Starts polling the updates of every enabled bot. It does nothing if polling already started.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        client = new TelegramBotApiClient(configuration.getApiUrl(), configuration.getTimeout(), jsonMapper);
+        refresh();
+        Duration refreshInterval = registryConfiguration.getRefreshInterval();
+        if (refreshInterval != null) {
+            refreshTask = scheduler.scheduleWithFixedDelay(refreshInterval, refreshInterval, this::refresh);
+        }
+    }
+
+    /**
+     * Reads the bots of every registry, starts polling the enabled bots which are not polled yet and stops polling the bots which are no longer enabled. It does nothing if polling is not started. If reading the bots fails, the bots being polled are kept.
+     */
+    public synchronized void refresh() {
+        if (!running) {
+            return;
+        }
+        Map<String, TelegramBotConfiguration> bots = new LinkedHashMap<>();
+        try {
+            for (TelegramBotRegistry registry : registries) {
+                for (TelegramBotConfiguration bot : registry.getBots()) {
+                    if (bot.isEnabled() && StringUtils.isNotEmpty(bot.getToken())) {
+                        bots.putIfAbsent(bot.getName(), bot);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Error reading the Telegram bots, the bots being polled are kept", e);
+            return;
+        }
+        for (Iterator<Poller> it = pollers.values().iterator(); it.hasNext();) {
+            Poller poller = it.next();
+            TelegramBotConfiguration bot = bots.get(poller.bot.getName());
+            if (bot == null || !Objects.equals(bot.getToken(), poller.bot.getToken())) {
+                LOG.info("Stopping polling the updates of bot {}", poller.bot.getName());
+                poller.stop();
+                it.remove();
+            } else {
+                poller.bot = bot;
+            }
+        }
+        for (TelegramBotConfiguration bot : bots.values()) {
+            if (!pollers.containsKey(bot.getName())) {
+                Poller poller = new Poller(bot);
+                pollers.put(bot.getName(), poller);
+                poller.start();
+            }
+        }
+    }
+
+    /**
+     * Stops polling. Updates being dispatched are not awaited and their offset is not stored, thus they are fetched again after a restart.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        if (refreshTask != null) {
+            refreshTask.cancel(false);
+            refreshTask = null;
+        }
+        for (Poller poller : pollers.values()) {
+            poller.stop();
+        }
+        pollers.clear();
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+    }
+
+    private void poll(@NonNull TelegramBotApiClient apiClient, @NonNull Poller poller) {
+        while (poller.isRunning()) {
+            TelegramBotConfiguration bot = poller.bot;
+            try {
+                if (!pollOnce(apiClient, bot)) {
+                    Thread.sleep(configuration.getRetryDelay().toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                if (!poller.isRunning()) {
+                    return;
+                }
+                LOG.error("Error fetching the updates of bot {}, retrying in {}", bot.getName(), configuration.getRetryDelay(), e);
+                try {
+                    Thread.sleep(configuration.getRetryDelay().toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fetches a batch of updates, dispatches them and stores the offset.
+     * @param apiClient Telegram Bot API client
+     * @param bot Bot whose updates are fetched
+     * @return false if a chat lane rejected an update of the batch and the batch has to be fetched again from it once the retry delay elapses
+     * @throws InterruptedException if the thread is interrupted while waiting for the updates to be dispatched
+     */
+    private boolean pollOnce(@NonNull TelegramBotApiClient apiClient,
+                             @NonNull TelegramBotConfiguration bot) throws InterruptedException {
+        List<Update> updates = apiClient.getUpdates(bot.getToken(),
+            offsetStore.getOffset(bot.getName()),
+            configuration.getLimit(),
+            configuration.getTimeout());
+        if (updates.isEmpty()) {
+            return true;
+        }
+        LOG.trace("bot {} fetched {} updates", bot.getName(), updates.size());
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Outcome>[] dispatched = new CompletableFuture[updates.size()];
+        long nextOffset = 0;
+        for (int i = 0; i < updates.size(); i++) {
+            Update update = updates.get(i);
+            nextOffset = Math.max(nextOffset, update.getUpdateId() + 1L);
+            dispatched[i] = dispatchInFlight(apiClient, bot, update);
+        }
+        await(bot, CompletableFuture.allOf(dispatched));
+        for (int i = 0; i < updates.size(); i++) {
+            Update update = updates.get(i);
+            Outcome outcome = dispatched[i].join();
+            if (outcome == Outcome.FAILED) {
+                retry(apiClient, bot, update);
+            } else if (outcome == Outcome.REJECTED) {
+                LOG.warn("Update {} of bot {} was rejected, fetching the updates again from it in {}", update.getUpdateId(), bot.getName(), configuration.getRetryDelay());
+                offsetStore.setOffset(bot.getName(), update.getUpdateId());
+                return false;
+            }
+        }
+        offsetStore.setOffset(bot.getName(), nextOffset);
+        return true;
+    }
+
+    /**
+     * Dispatches an update whose handling failed on its own, once the retry delay elapses, until it is handled or its handling failed {@link TelegramPollingConfiguration#getMaxAttempts()} times.
+     * @param apiClient Telegram Bot API client
+     * @param bot Bot
+     * @param update The update whose handling failed
+     * @throws InterruptedException if the thread is interrupted while waiting for the retry delay or the update to be dispatched
+     */
+    private void retry(@NonNull TelegramBotApiClient apiClient,
+                       @NonNull TelegramBotConfiguration bot,
+                       @NonNull Update update) throws InterruptedException {
+        for (int attempt = 1; attempt < configuration.getMaxAttempts(); attempt++) {
+            LOG.warn("Update {} of bot {} was not handled, dispatching it again in {}", update.getUpdateId(), bot.getName(), configuration.getRetryDelay());
+            Thread.sleep(configuration.getRetryDelay().toMillis());
+            CompletableFuture<Outcome> dispatched = dispatchInFlight(apiClient, bot, update);
+            await(bot, dispatched);
+            if (dispatched.join() == Outcome.HANDLED) {
+                return;
+            }
+        }
+        LOG.error("Skipping update {} of bot {} after {} failed attempts", update.getUpdateId(), bot.getName(), configuration.getMaxAttempts());
+    }
+
+    @NonNull
+    private CompletableFuture<Outcome> dispatchInFlight(@NonNull TelegramBotApiClient apiClient,
+                                                        @NonNull TelegramBotConfiguration bot,
+                                                        @NonNull Update update) throws InterruptedException {
+        inFlight.acquire();
+        return dispatch(apiClient, bot, update).whenComplete((result, e) -> inFlight.release());
+    }
+
+    private static void await(@NonNull TelegramBotConfiguration bot,
+                              @NonNull CompletableFuture<?> dispatched) throws InterruptedException {
+        try {
+            dispatched.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error dispatching the updates of bot " + bot.getName(), e.getCause());
+        }
+    }
+
+    @NonNull
+    private CompletableFuture<Outcome> dispatch(@NonNull TelegramBotApiClient apiClient,
+                                             @NonNull TelegramBotConfiguration bot,
+                                             @NonNull Update update) {
+        CompletableFuture<Void> result;
+        try {
+            result = chatLanes.submit(update, () -> reply(apiClient, bot, update)).toCompletableFuture();
+        } catch (RejectedExecutionException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.handle((ignored, e) -> {
+            if (e == null) {
+                return Outcome.HANDLED;
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RejectedExecutionException) {
+                LOG.warn("Update {} of bot {} was rejected", update.getUpdateId(), bot.getName());
+                return Outcome.REJECTED;
+            }
+            LOG.error("Error handling update {} of bot {}", update.getUpdateId(), bot.getName(), cause);
+            return Outcome.FAILED;
+        });
+    }
+
+    /**
+     * Dispatches an update and sends the handler's output to the Telegram Bot API.
+     * @param apiClient Telegram Bot API client
+     * @param bot Bot
+     * @param update Update
+     * @return A future which completes once the output is sent. It settles once the handler completes too, which may be later if the dispatch deadline elapses, so that the chat's lane does not start the next update while the handler runs.
+     */
+    @NonNull
+    private DeadlineFuture<Void> reply(@NonNull TelegramBotApiClient apiClient,
+                                       @NonNull TelegramBotConfiguration bot,
+                                       @NonNull Update update) {
+        DeadlineFuture<Void> result = new DeadlineFuture<>();
+        CompletableFuture<CompletionStage<Optional<Send>>> dispatched = CompletableFuture.supplyAsync(() -> dispatcher.dispatchAsync(bot, update), executor);
+        CompletableFuture<Void> replied = dispatched
+            .thenCompose(Function.identity())
+            .thenAcceptAsync(output -> output.ifPresent(send -> apiClient.send(bot.getToken(), send)), executor);
+        replied.whenComplete((ignored, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+            } else {
+                result.complete(null);
+            }
+        });
+        CompletableFuture.allOf(replied, dispatched.thenCompose(DeadlineFuture::settled).toCompletableFuture())
+            .whenComplete((ignored, e) -> result.settle());
+        return result;
+    }
+
+    /**
+     * Outcome of dispatching an update.
+     */
+    private enum Outcome {
+        HANDLED, REJECTED, FAILED
+    }
+
+    /**
+     * Polls the updates of a bot on a dedicated daemon thread.
+     */
+    private final class Poller {
+
+        private volatile TelegramBotConfiguration bot;
+
+        private volatile boolean stopped;
+
+        @Nullable
+        private Thread thread;
+
+        private Poller(@NonNull TelegramBotConfiguration bot) {
+            this.bot = bot;
+        }
+
+        private void start() {
+            TelegramBotApiClient apiClient = client;
+            thread = new Thread(() -> poll(apiClient, this), THREAD_NAME_PREFIX + bot.getName());
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void stop() {
+            stopped = true;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        private boolean isRunning() {
+            return running && !stopped;
+        }
+    }
+}
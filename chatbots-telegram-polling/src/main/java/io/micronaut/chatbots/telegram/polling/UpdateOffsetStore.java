@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.chatbots.telegram.polling;
+
+import io.micronaut.context.annotation.DefaultImplementation;
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * Keeps the <a href="https://core.telegram.org/bots/api#getupdates">getUpdates</a> offset of each bot. The offset is the identifier of the first update not yet handled.
+ * @author Sergio del Amo
+ * @since 1.3.0
+ */
+@DefaultImplementation(FileUpdateOffsetStore.class)
+public interface UpdateOffsetStore {
+
+    /**
+     *
+     * @param botName Bot name
+     * @return The offset of the bot or 0 if none was stored.
+     */
+    long getOffset(@NonNull String botName);
+
+    /**
+     * Stores the offset of a bot.
+     * @param botName Bot name
+     * @param offset The identifier of the first update not yet handled
+     */
+    void setOffset(@NonNull String botName, long offset);
+}
@@ -0,0 +1,42 @@
+package io.micronaut.chatbots.telegram.polling
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Path
+
+class FileUpdateOffsetStoreSpec extends Specification {
+
+    @TempDir
+    Path offsetDirectory
+
+    void "offsets survive a restart if an offset directory is configured"() {
+        given:
+        TelegramPollingConfigurationProperties configuration = new TelegramPollingConfigurationProperties()
+        configuration.offsetDirectory = offsetDirectory.resolve('offsets').toString()
+        UpdateOffsetStore store = new FileUpdateOffsetStore(configuration)
+
+        expect:
+        store.getOffset('mn-bot') == 0
+
+        when:
+        store.setOffset('mn-bot', 805351388)
+
+        then:
+        store.getOffset('mn-bot') == 805351388
+        new FileUpdateOffsetStore(configuration).getOffset('mn-bot') == 805351388
+        new FileUpdateOffsetStore(configuration).getOffset('other-bot') == 0
+    }
+
+    void "offsets are kept in memory if no offset directory is configured"() {
+        given:
+        UpdateOffsetStore store = new FileUpdateOffsetStore(new TelegramPollingConfigurationProperties())
+
+        when:
+        store.setOffset('mn-bot', 805351388)
+
+        then:
+        store.getOffset('mn-bot') == 805351388
+        new FileUpdateOffsetStore(new TelegramPollingConfigurationProperties()).getOffset('mn-bot') == 0
+    }
+}
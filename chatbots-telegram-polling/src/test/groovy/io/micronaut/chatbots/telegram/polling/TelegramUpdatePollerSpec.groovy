@@ -0,0 +1,332 @@
+package io.micronaut.chatbots.telegram.polling
+
+import io.micronaut.chatbots.core.SpaceParser
+import io.micronaut.chatbots.telegram.api.Chat
+import io.micronaut.chatbots.telegram.api.Update
+import io.micronaut.chatbots.telegram.api.send.SendMessage
+import io.micronaut.chatbots.telegram.core.SendMessageUtils
+import io.micronaut.chatbots.telegram.core.TelegramBotConfiguration
+import io.micronaut.chatbots.telegram.core.TelegramBotRegistry
+import io.micronaut.chatbots.telegram.core.TelegramHandler
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.annotation.Value
+import io.micronaut.core.annotation.NonNull
+import io.micronaut.core.annotation.Nullable
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Post
+import io.micronaut.runtime.context.scope.refresh.RefreshEvent
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.scheduling.TaskExecutors
+import io.micronaut.scheduling.annotation.ExecuteOn
+import jakarta.inject.Singleton
+import jakarta.validation.constraints.NotNull
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.util.concurrent.PollingConditions
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicInteger
+
+class TelegramUpdatePollerSpec extends Specification {
+
+    @TempDir
+    Path offsetDirectory
+
+    void "updates are fetched with getUpdates, dispatched and replied to through the Bot API"() {
+        given:
+        EmbeddedServer botApi = ApplicationContext.run(EmbeddedServer, ['spec.name': 'TelegramUpdatePollerSpec.botApi'])
+        StubBotApi stub = botApi.applicationContext.getBean(StubBotApi)
+        ApplicationContext context = ApplicationContext.run([
+                'spec.name': 'TelegramUpdatePollerSpec',
+                'micronaut.chatbots.telegram.bots.mn-bot.token': 'xxx',
+                'micronaut.chatbots.telegram.bots.mn-bot.at-username': '@MnBot',
+                'micronaut.chatbots.telegram.polling.enabled': true,
+                'micronaut.chatbots.telegram.polling.api-url': botApi.URL.toString(),
+                'micronaut.chatbots.telegram.polling.timeout': '1s',
+                'micronaut.chatbots.telegram.polling.offset-directory': offsetDirectory.toString()
+        ])
+        PollingConditions conditions = new PollingConditions(timeout: 10)
+
+        expect:
+        conditions.eventually {
+            assert stub.sent.size() == 1
+            assert stub.sent[0].chat_id == 718265379
+            assert stub.sent[0].text == 'Hello World'
+            assert stub.getUpdatesRequests.any { it.offset == 805351388 }
+        }
+        stub.getUpdatesRequests[0].limit == 100
+        stub.getUpdatesRequests[0].timeout == 1
+        !stub.getUpdatesRequests[0].containsKey('offset')
+        Files.readString(offsetDirectory.resolve('mn-bot.offset')) == '805351388'
+
+        cleanup:
+        context.close()
+        botApi.close()
+    }
+
+    void "an update whose handling fails is dispatched again until it is handled or skipped"(int failures, int expectedCalls, int expectedSent) {
+        given:
+        EmbeddedServer botApi = ApplicationContext.run(EmbeddedServer, ['spec.name': 'TelegramUpdatePollerSpec.botApi'])
+        StubBotApi stub = botApi.applicationContext.getBean(StubBotApi)
+        ApplicationContext context = ApplicationContext.run([
+                'spec.name': 'TelegramUpdatePollerSpec.failing',
+                'spec.failures': failures,
+                'micronaut.chatbots.telegram.bots.mn-bot.token': 'xxx',
+                'micronaut.chatbots.telegram.bots.mn-bot.at-username': '@MnBot',
+                'micronaut.chatbots.telegram.polling.enabled': true,
+                'micronaut.chatbots.telegram.polling.api-url': botApi.URL.toString(),
+                'micronaut.chatbots.telegram.polling.timeout': '1s',
+                'micronaut.chatbots.telegram.polling.retry-delay': '100ms',
+                'micronaut.chatbots.telegram.polling.max-attempts': 2,
+                'micronaut.chatbots.telegram.polling.offset-directory': offsetDirectory.toString()
+        ])
+        FailingHandler handler = context.getBean(FailingHandler)
+        PollingConditions conditions = new PollingConditions(timeout: 10)
+
+        expect:
+        conditions.eventually {
+            assert Files.exists(offsetDirectory.resolve('mn-bot.offset'))
+            assert Files.readString(offsetDirectory.resolve('mn-bot.offset')) == '805351388'
+        }
+        handler.calls.get() == expectedCalls
+        stub.sent.size() == expectedSent
+
+        cleanup:
+        context.close()
+        botApi.close()
+
+        where:
+        failures | expectedCalls | expectedSent
+        1        | 2             | 1
+        5        | 2             | 0
+    }
+
+    void "an update whose handling fails is dispatched again on its own"() {
+        given:
+        EmbeddedServer botApi = ApplicationContext.run(EmbeddedServer, ['spec.name': 'TelegramUpdatePollerSpec.botApi'])
+        StubBotApi stub = botApi.applicationContext.getBean(StubBotApi)
+        ApplicationContext context = ApplicationContext.run([
+                'spec.name': 'TelegramUpdatePollerSpec.batch',
+                'micronaut.chatbots.telegram.bots.mn-bot.token': 'batch',
+                'micronaut.chatbots.telegram.bots.mn-bot.at-username': '@MnBot',
+                'micronaut.chatbots.telegram.polling.enabled': true,
+                'micronaut.chatbots.telegram.polling.api-url': botApi.URL.toString(),
+                'micronaut.chatbots.telegram.polling.timeout': '1s',
+                'micronaut.chatbots.telegram.polling.retry-delay': '100ms',
+                'micronaut.chatbots.telegram.polling.max-attempts': 3,
+                'micronaut.chatbots.telegram.polling.offset-directory': offsetDirectory.toString()
+        ])
+        FirstUpdateFailingHandler handler = context.getBean(FirstUpdateFailingHandler)
+        PollingConditions conditions = new PollingConditions(timeout: 10)
+
+        expect:
+        conditions.eventually {
+            assert Files.exists(offsetDirectory.resolve('mn-bot.offset'))
+            assert Files.readString(offsetDirectory.resolve('mn-bot.offset')) == '805351389'
+        }
+
+        and: 'the update which follows the failing one is handled once'
+        handler.calls[805351387].get() == 3
+        handler.calls[805351388].get() == 1
+        stub.sent.size() == 1
+
+        cleanup:
+        context.close()
+        botApi.close()
+    }
+
+    void "bots are polled once they are added to a registry and no longer once they are removed"() {
+        given:
+        EmbeddedServer botApi = ApplicationContext.run(EmbeddedServer, ['spec.name': 'TelegramUpdatePollerSpec.botApi'])
+        StubBotApi stub = botApi.applicationContext.getBean(StubBotApi)
+        ApplicationContext context = ApplicationContext.run([
+                'spec.name': 'TelegramUpdatePollerSpec.registry',
+                'micronaut.chatbots.telegram.polling.enabled': true,
+                'micronaut.chatbots.telegram.polling.api-url': botApi.URL.toString(),
+                'micronaut.chatbots.telegram.polling.timeout': '1s',
+                'micronaut.chatbots.telegram.polling.offset-directory': offsetDirectory.toString()
+        ])
+        MutableBotRegistry registry = context.getBean(MutableBotRegistry)
+        PollingConditions conditions = new PollingConditions(timeout: 10)
+
+        expect:
+        stub.getUpdatesTokens.empty
+
+        when:
+        registry.bots << bot('r2d2', 'yyy')
+        context.publishEvent(new RefreshEvent())
+
+        then:
+        conditions.eventually {
+            assert stub.getUpdatesTokens.contains('yyy')
+        }
+
+        when:
+        registry.bots.clear()
+        context.publishEvent(new RefreshEvent())
+
+        then:
+        conditions.eventually {
+            assert !Thread.getAllStackTraces().keySet().any { it.name == 'chatbots-telegram-poller-r2d2' }
+        }
+
+        cleanup:
+        context.close()
+        botApi.close()
+    }
+
+    void "the poller is disabled by default"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+
+        expect:
+        !context.containsBean(TelegramUpdatePoller)
+
+        cleanup:
+        context.close()
+    }
+
+    @Requires(property = "spec.name", value = "TelegramUpdatePollerSpec.botApi")
+    @Controller("/bot{token}")
+    static class StubBotApi {
+
+        private static final String UPDATE = new File('src/test/resources/text.json').text
+
+        private static final String NEXT_UPDATE = UPDATE.replace('805351387', '805351388')
+
+        final List<Map<String, Object>> getUpdatesRequests = new CopyOnWriteArrayList<>()
+        final List<String> getUpdatesTokens = new CopyOnWriteArrayList<>()
+        final List<Map<String, Object>> sent = new CopyOnWriteArrayList<>()
+
+        @ExecuteOn(TaskExecutors.BLOCKING)
+        @Post("/getUpdates")
+        String getUpdates(String token, @Body Map<String, Object> body) {
+            getUpdatesRequests << body
+            getUpdatesTokens << token
+            if (token == 'xxx' && (body.offset ?: 0) <= 805351387) {
+                return '{"ok":true,"result":[' + UPDATE + ']}'
+            }
+            if (token == 'batch' && (body.offset ?: 0) <= 805351387) {
+                return '{"ok":true,"result":[' + UPDATE + ',' + NEXT_UPDATE + ']}'
+            }
+            sleep(100)
+            '{"ok":true,"result":[]}'
+        }
+
+        @Post("/sendMessage")
+        String sendMessage(String token, @Body Map<String, Object> body) {
+            sent << body
+            '{"ok":true,"result":{}}'
+        }
+    }
+
+    @Requires(property = "spec.name", value = "TelegramUpdatePollerSpec.failing")
+    @Singleton
+    static class FailingHandler implements TelegramHandler<SendMessage> {
+
+        final AtomicInteger calls = new AtomicInteger()
+
+        private final SpaceParser<Update, Chat> spaceParser
+
+        private final int failures
+
+        FailingHandler(SpaceParser<Update, Chat> spaceParser,
+                       @Value('${spec.failures}') int failures) {
+            this.spaceParser = spaceParser
+            this.failures = failures
+        }
+
+        @Override
+        boolean canHandle(@Nullable TelegramBotConfiguration telegramBotConfiguration,
+                          @NonNull @NotNull Update update) {
+            true
+        }
+
+        @Override
+        Optional<SendMessage> handle(@Nullable TelegramBotConfiguration telegramBotConfiguration,
+                                     @NonNull @NotNull Update update) {
+            if (calls.incrementAndGet() <= failures) {
+                throw new IllegalStateException('handler failure')
+            }
+            SendMessageUtils.compose(spaceParser, update, "Hello World")
+        }
+    }
+
+    @Requires(property = "spec.name", value = "TelegramUpdatePollerSpec.batch")
+    @Singleton
+    static class FirstUpdateFailingHandler implements TelegramHandler<SendMessage> {
+
+        final Map<Integer, AtomicInteger> calls = new ConcurrentHashMap<>()
+
+        private final SpaceParser<Update, Chat> spaceParser
+
+        FirstUpdateFailingHandler(SpaceParser<Update, Chat> spaceParser) {
+            this.spaceParser = spaceParser
+        }
+
+        @Override
+        boolean canHandle(@Nullable TelegramBotConfiguration telegramBotConfiguration,
+                          @NonNull @NotNull Update update) {
+            true
+        }
+
+        @Override
+        Optional<SendMessage> handle(@Nullable TelegramBotConfiguration telegramBotConfiguration,
+                                     @NonNull @NotNull Update update) {
+            calls.computeIfAbsent(update.updateId, id -> new AtomicInteger()).incrementAndGet()
+            if (update.updateId == 805351387) {
+                throw new IllegalStateException('handler failure')
+            }
+            SendMessageUtils.compose(spaceParser, update, "Hello World")
+        }
+    }
+
+    @Requires(property = "spec.name", value = "TelegramUpdatePollerSpec.registry")
+    @Singleton
+    static class MutableBotRegistry implements TelegramBotRegistry {
+
+        final List<TelegramBotConfiguration> bots = new CopyOnWriteArrayList<>()
+
+        @Override
+        List<TelegramBotConfiguration> getBots() {
+            bots
+        }
+    }
+
+    private TelegramBotConfiguration bot(String name, String token) {
+        Stub(TelegramBotConfiguration) {
+            getName() >> name
+            getToken() >> token
+            getAtUsername() >> '@' + name
+            isEnabled() >> true
+        }
+    }
+
+    @Requires(property = "spec.name", value = "TelegramUpdatePollerSpec")
+    @Singleton
+    static class HelloWorldHandler implements TelegramHandler<SendMessage> {
+
+        private final SpaceParser<Update, Chat> spaceParser
+
+        HelloWorldHandler(SpaceParser<Update, Chat> spaceParser) {
+            this.spaceParser = spaceParser
+        }
+
+        @Override
+        boolean canHandle(@Nullable TelegramBotConfiguration telegramBotConfiguration,
+                          @NonNull @NotNull Update update) {
+            true
+        }
+
+        @Override
+        Optional<SendMessage> handle(@Nullable TelegramBotConfiguration telegramBotConfiguration,
+                                     @NonNull @NotNull Update update) {
+            SendMessageUtils.compose(spaceParser, update, "Hello World")
+        }
+    }
+}
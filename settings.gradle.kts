@@ -24,10 +24,14 @@ include("chatbots-telegram-core")
 include("chatbots-telegram-lambda")
 include("chatbots-telegram-azure-function")
 include("chatbots-telegram-gcp-function")
+include("chatbots-telegram-polling")
 include("chatbots-http")
 include("chatbots-lambda")
 include("chatbots-core")
+include("chatbots-micrometer")
+include("chatbots-processor")
 include("chatbots-bom")
+include("chatbots-benchmarks")
 include("test-suite")
 include("test-suite-groovy")
 include("test-suite-kotlin")
@@ -40,4 +44,5 @@ configure<io.micronaut.build.MicronautBuildSettingsExtension> {
     importMicronautCatalog("micronaut-azure")
     importMicronautCatalog("micronaut-gcp")
     importMicronautCatalog("micronaut-aws")
+    importMicronautCatalog("micronaut-micrometer")
 }
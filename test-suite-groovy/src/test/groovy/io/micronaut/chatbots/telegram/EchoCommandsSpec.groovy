@@ -0,0 +1,32 @@
+package io.micronaut.chatbots.telegram
+
+import io.micronaut.chatbots.core.Dispatcher
+import io.micronaut.chatbots.telegram.api.Update
+import io.micronaut.chatbots.telegram.api.send.Send
+import io.micronaut.chatbots.telegram.api.send.SendMessage
+import io.micronaut.chatbots.telegram.core.TelegramBotConfiguration
+import io.micronaut.context.annotation.Property
+import io.micronaut.json.JsonMapper
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import jakarta.inject.Inject
+import spock.lang.Specification
+
+@MicronautTest(startApplication = false)
+@Property(name = "spec.name", value = "telegram")
+class EchoCommandsSpec extends Specification {
+
+    @Inject
+    Dispatcher<TelegramBotConfiguration, Update, Send> dispatcher
+
+    @Inject
+    JsonMapper jsonMapper
+
+    void "echo command method is dispatched"() {
+        when:
+        def result = dispatcher.dispatch(null, jsonMapper.readValue(this.class.getResource("/echo.json").text, Update)).get()
+
+        then:
+        result instanceof SendMessage
+        result.text == 'Hello Micronaut'
+    }
+}
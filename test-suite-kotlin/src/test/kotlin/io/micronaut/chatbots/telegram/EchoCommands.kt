@@ -0,0 +1,27 @@
+package io.micronaut.chatbots.telegram
+
+import io.micronaut.chatbots.core.DispatchContext
+import io.micronaut.chatbots.core.OnCommand
+import io.micronaut.chatbots.core.SpaceParser
+import io.micronaut.chatbots.telegram.api.Chat
+import io.micronaut.chatbots.telegram.api.Update
+import io.micronaut.chatbots.telegram.api.send.SendMessage
+import io.micronaut.chatbots.telegram.core.SendMessageUtils
+import io.micronaut.chatbots.telegram.core.TelegramBotConfiguration
+import io.micronaut.chatbots.telegram.core.TelegramSlashCommandParser
+import io.micronaut.context.annotation.Requires
+import jakarta.inject.Singleton
+import java.util.*
+
+@Requires(property = "spec.name", value = "telegram")
+// tag::class[]
+@Singleton
+open class EchoCommands(private val slashCommandParser: TelegramSlashCommandParser,
+                        private val spaceParser: SpaceParser<Update, Chat>) {
+
+    @OnCommand("/echo")
+    open fun echo(context: DispatchContext<TelegramBotConfiguration, Update>): Optional<SendMessage> =
+        context.getCommandArguments(slashCommandParser)
+            .flatMap { text -> SendMessageUtils.compose(context, spaceParser, text, null) }
+}
+// end::class[]
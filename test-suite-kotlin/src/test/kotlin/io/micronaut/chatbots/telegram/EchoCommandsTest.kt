@@ -0,0 +1,34 @@
+package io.micronaut.chatbots.telegram
+
+import io.micronaut.chatbots.core.Dispatcher
+import io.micronaut.chatbots.telegram.api.Update
+import io.micronaut.chatbots.telegram.api.send.Send
+import io.micronaut.chatbots.telegram.api.send.SendMessage
+import io.micronaut.chatbots.telegram.core.TelegramBotConfiguration
+import io.micronaut.context.annotation.Property
+import io.micronaut.json.JsonMapper
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest
+import jakarta.inject.Inject
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+@MicronautTest(startApplication = false)
+@Property(name = "spec.name", value = "telegram")
+class EchoCommandsTest {
+
+    @Inject
+    lateinit var dispatcher: Dispatcher<TelegramBotConfiguration, Update, Send>
+
+    @Inject
+    lateinit var jsonMapper: JsonMapper
+
+    @Test
+    @Throws(Exception::class)
+    fun echoCommandMethodIsDispatched() {
+        val send = dispatcher.dispatch(null, jsonMapper.readValue(javaClass.getResourceAsStream("/echo.json"), Update::class.java)).get()
+
+        assertTrue(send is SendMessage)
+        Assertions.assertEquals("Hello Micronaut", (send as SendMessage).text)
+    }
+}
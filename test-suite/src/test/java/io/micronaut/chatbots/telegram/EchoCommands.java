@@ -0,0 +1,37 @@
+package io.micronaut.chatbots.telegram;
+
+import io.micronaut.chatbots.core.DispatchContext;
+import io.micronaut.chatbots.core.OnCommand;
+import io.micronaut.chatbots.core.SpaceParser;
+import io.micronaut.chatbots.telegram.api.Chat;
+import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.chatbots.telegram.api.send.SendMessage;
+import io.micronaut.chatbots.telegram.core.SendMessageUtils;
+import io.micronaut.chatbots.telegram.core.TelegramBotConfiguration;
+import io.micronaut.chatbots.telegram.core.TelegramSlashCommandParser;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+import java.util.Optional;
+
+@Requires(property = "spec.name", value = "telegram")
+// tag::class[]
+@Singleton
+class EchoCommands {
+
+    private final TelegramSlashCommandParser slashCommandParser;
+    private final SpaceParser<Update, Chat> spaceParser;
+
+    EchoCommands(TelegramSlashCommandParser slashCommandParser,
+                 SpaceParser<Update, Chat> spaceParser) {
+        this.slashCommandParser = slashCommandParser;
+        this.spaceParser = spaceParser;
+    }
+
+    @OnCommand("/echo")
+    Optional<SendMessage> echo(DispatchContext<TelegramBotConfiguration, Update> context) {
+        return context.getCommandArguments(slashCommandParser)
+            .flatMap(text -> SendMessageUtils.compose(context, spaceParser, text, null));
+    }
+}
+// end::class[]
@@ -0,0 +1,40 @@
+package io.micronaut.chatbots.telegram;
+
+import io.micronaut.chatbots.core.Dispatcher;
+import io.micronaut.chatbots.telegram.api.Update;
+import io.micronaut.chatbots.telegram.api.send.Send;
+import io.micronaut.chatbots.telegram.api.send.SendMessage;
+import io.micronaut.chatbots.telegram.core.TelegramBotConfiguration;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@MicronautTest(startApplication = false)
+@Property(name = "spec.name", value = "telegram")
+class EchoCommandsTest {
+
+    @Inject
+    Dispatcher<TelegramBotConfiguration, Update, Send> dispatcher;
+
+    @Inject
+    JsonMapper jsonMapper;
+
+    @Test
+    void echoCommandMethodIsDispatched() throws Exception {
+        Send send = dispatcher.dispatch(null, jsonMapper.readValue(getClass().getResourceAsStream("/echo.json"), Update.class)).get();
+        assertInstanceOf(SendMessage.class, send);
+        assertEquals("Hello Micronaut", ((SendMessage) send).getText());
+    }
+
+    @Test
+    void echoCommandMethodIsDispatchedAsynchronously() throws Exception {
+        Send send = dispatcher.dispatchAsync(null, jsonMapper.readValue(getClass().getResourceAsStream("/echo.json"), Update.class)).toCompletableFuture().join().get();
+        assertInstanceOf(SendMessage.class, send);
+        assertEquals("Hello Micronaut", ((SendMessage) send).getText());
+    }
+}